@@ -110,8 +110,38 @@ public interface Const {
      */
     String REQ_CHECK_MINUTE_LIMIT = "captcha.req.check.minute.limit";
 
+    /**
+     * 限流窗口算法 fixed/sliding
+     */
+    String REQ_FREQUENCY_LIMIT_ALGORITHM = "captcha.req.frequency.limit.algorithm";
+
     /***
      * 点选文字个数
      */
     String CAPTCHA_WORD_COUNT = "captcha.word.count";
+
+    /**
+     * 点选文字字形图集的旋转角度分档数，0禁用图集
+     */
+    String CAPTCHA_WORD_ATLAS_BUCKETS = "captcha.word.atlas.buckets";
+
+    /**
+     * 预渲染队列长度，0禁用
+     */
+    String CAPTCHA_PRERENDER_SIZE = "captcha.prerender.size";
+
+    /**
+     * 底图格式(png/jpeg)，滑块始终为png
+     */
+    String CAPTCHA_IMAGE_FORMAT = "captcha.image.format";
+
+    /**
+     * png 压缩级别(0-9)，-1使用默认
+     */
+    String CAPTCHA_IMAGE_PNG_COMPRESSION = "captcha.image.png.compression";
+
+    /**
+     * jpeg 质量(0-1)
+     */
+    String CAPTCHA_IMAGE_JPEG_QUALITY = "captcha.image.jpeg.quality";
 }
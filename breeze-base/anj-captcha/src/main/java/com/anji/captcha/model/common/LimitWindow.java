@@ -0,0 +1,102 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.model.common;
+
+/**
+ * 限流计数窗口
+ * <p>
+ * fixed: 首次请求开始计时，窗口内计数超过上限即拒绝，与原有规则一致。
+ * sliding: 按窗口长度对齐分段计数，估算值 = 当前段计数 + 上一段计数 × 上一段在滑动窗口内的剩余比例，
+ * 只需要两个计数器，避免固定窗口在边界处放过两倍请求。
+ */
+public final class LimitWindow {
+
+    public static final String FIXED = "fixed";
+    public static final String SLIDING = "sliding";
+
+    private final String currentKey;
+    private final String previousKey;
+    private final double previousWeight;
+    private final long limit;
+    private final long expireSeconds;
+
+    private LimitWindow(String currentKey, String previousKey, double previousWeight, long limit, long expireSeconds) {
+        this.currentKey = currentKey;
+        this.previousKey = previousKey;
+        this.previousWeight = previousWeight;
+        this.limit = limit;
+        this.expireSeconds = expireSeconds;
+    }
+
+    /**
+     * 按算法创建窗口
+     *
+     * @param algorithm     fixed/sliding
+     * @param key           计数 key
+     * @param limit         窗口内允许的请求数
+     * @param windowSeconds 窗口秒数
+     * @return 窗口
+     */
+    public static LimitWindow of(String algorithm, String key, long limit, long windowSeconds) {
+        if (SLIDING.equalsIgnoreCase(algorithm)) {
+            return sliding(key, limit, windowSeconds, System.currentTimeMillis());
+        }
+        return fixed(key, limit, windowSeconds);
+    }
+
+    public static LimitWindow fixed(String key, long limit, long windowSeconds) {
+        return new LimitWindow(key, key, 0D, limit, windowSeconds);
+    }
+
+    public static LimitWindow sliding(String key, long limit, long windowSeconds, long now) {
+        long windowMillis = windowSeconds * 1000;
+        long index = now / windowMillis;
+        double weight = 1D - (double) (now % windowMillis) / windowMillis;
+        // 当前段还要作为下一段的上一段参与计算，保留两个窗口
+        return new LimitWindow(key + ":" + index, key + ":" + (index - 1), weight, limit, windowSeconds * 2);
+    }
+
+    /**
+     * 当前段计数 key，计数器不存在时创建并设置 {@link #getExpireSeconds()}
+     */
+    public String getCurrentKey() {
+        return currentKey;
+    }
+
+    /**
+     * 上一段计数 key，fixed 与当前段相同
+     */
+    public String getPreviousKey() {
+        return previousKey;
+    }
+
+    /**
+     * 上一段计数的权重，fixed 为 0
+     */
+    public double getPreviousWeight() {
+        return previousWeight;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public long getExpireSeconds() {
+        return expireSeconds;
+    }
+
+    /**
+     * 窗口内的估算请求数
+     *
+     * @param current  当前段计数(已包含本次请求)
+     * @param previous 上一段计数
+     * @return 估算值
+     */
+    public long estimate(long current, long previous) {
+        return previousWeight > 0 ? current + (long) Math.floor(previous * previousWeight) : current;
+    }
+}
@@ -34,6 +34,7 @@ public enum RepCodeEnum {
     API_CAPTCHA_COORDINATE_ERROR("6111", "验证失败"),
     API_CAPTCHA_ERROR("6112", "获取验证码失败,请联系管理员"),
     API_CAPTCHA_BASEMAP_NULL("6113", "底图未初始化成功，请检查路径"),
+    API_CAPTCHA_BUSY("6114", "验证码服务繁忙，请稍后再试"),
 
     API_REQ_LIMIT_GET_ERROR("6201", "get接口请求次数超限，请稍后再试!"),
     API_REQ_INVALID("6206", "无效请求，请重新获取验证码"),
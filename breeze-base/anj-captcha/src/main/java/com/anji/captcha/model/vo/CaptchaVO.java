@@ -37,6 +37,11 @@ public class CaptchaVO implements Serializable {
      */
     private String originalImageBase64;
 
+    /**
+     * 原生图片格式(png/jpeg)
+     */
+    private String originalImageFormat;
+
     /**
      * 滑块点选坐标
      */
@@ -154,6 +159,14 @@ public class CaptchaVO implements Serializable {
         this.originalImageBase64 = originalImageBase64;
     }
 
+    public String getOriginalImageFormat() {
+        return originalImageFormat;
+    }
+
+    public void setOriginalImageFormat(String originalImageFormat) {
+        this.originalImageFormat = originalImageFormat;
+    }
+
     public PointVO getPoint() {
         return point;
     }
@@ -41,4 +41,29 @@ public interface CaptchaCacheService {
         return 0L;
     }
 
+    /**
+     * 取值并删除，验证码只能使用一次
+     * 默认实现分两步，并发时可能被重复取到，缓存实现应覆盖为原子操作
+     *
+     * @param key key
+     * @return 不存在时返回 null
+     */
+    default String getAndDelete(String key) {
+        String value = get(key);
+        if (value != null) {
+            delete(key);
+        }
+        return value;
+    }
+
+    /**
+     * 存在则删除，并发调用只有一个返回 true
+     *
+     * @param key key
+     * @return 删除前是否存在
+     */
+    default boolean existsAndDelete(String key) {
+        return getAndDelete(key) != null;
+    }
+
 }
@@ -0,0 +1,61 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.service;
+
+import com.anji.captcha.model.common.LimitWindow;
+
+/**
+ * 验证码接口限流计数
+ * <p>
+ * 锁定检查、窗口计数和失败次数检查在一次调用内完成，redis 实现为一次脚本调用。
+ * type 与缓存类型一致，没有对应实现时退回基于 {@link CaptchaCacheService} 的限流。
+ */
+public interface CaptchaLimitService {
+
+    /**
+     * 放行
+     */
+    int PASS = 0;
+
+    /**
+     * 失败次数过多，已锁定
+     */
+    int LOCKED = 1;
+
+    /**
+     * 窗口内请求次数超限
+     */
+    int LIMITED = 2;
+
+    /**
+     * 限流类型-local/redis/..，与缓存类型对应
+     *
+     * @return String
+     */
+    String type();
+
+    /**
+     * 计数并判断是否放行
+     *
+     * @param window      计数窗口
+     * @param lockKey     锁定 key，为 null 时不做锁定和失败次数检查
+     * @param failKey     失败计数 key
+     * @param failLimit   失败次数上限，超过后写入锁定 key
+     * @param lockSeconds 锁定秒数
+     * @return {@link #PASS}/{@link #LOCKED}/{@link #LIMITED}
+     */
+    int acquire(LimitWindow window, String lockKey, String failKey, long failLimit, long lockSeconds);
+
+    /**
+     * 失败计数加一，首次失败时开始计时
+     *
+     * @param failKey       失败计数 key
+     * @param windowSeconds 计数秒数
+     * @return 窗口内失败次数
+     */
+    long recordFail(String failKey, long windowSeconds);
+}
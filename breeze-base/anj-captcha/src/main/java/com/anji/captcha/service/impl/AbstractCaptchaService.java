@@ -11,6 +11,7 @@ import com.anji.captcha.model.common.RepCodeEnum;
 import com.anji.captcha.model.common.ResponseModel;
 import com.anji.captcha.model.vo.CaptchaVO;
 import com.anji.captcha.service.CaptchaCacheService;
+import com.anji.captcha.service.CaptchaLimitService;
 import com.anji.captcha.service.CaptchaService;
 import com.anji.captcha.util.*;
 import org.slf4j.Logger;
@@ -47,6 +48,7 @@ public abstract class AbstractCaptchaService implements CaptchaService {
     protected static int captchaInterferenceOptions = 0;
     private static FrequencyLimitHandler limitHandler;
     protected Logger logger = LoggerFactory.getLogger(getClass());
+    protected PrerenderedCaptchaQueue<RenderedCaptcha> prerenderQueue;//预渲染队列
     protected Font waterMarkFont;//水印字体
     protected Font clickWordFont;//点选文字字体
 
@@ -126,6 +128,9 @@ public abstract class AbstractCaptchaService implements CaptchaService {
         cacheType = config.getProperty(Const.CAPTCHA_CACHETYPE, "local");
         captchaInterferenceOptions = Integer.parseInt(
                 config.getProperty(Const.CAPTCHA_INTERFERENCE_OPTIONS, "0"));
+        ImageEncoder.configure(config.getProperty(Const.CAPTCHA_IMAGE_FORMAT, ImageEncoder.PNG),
+                Integer.parseInt(config.getProperty(Const.CAPTCHA_IMAGE_PNG_COMPRESSION, "-1")),
+                Float.parseFloat(config.getProperty(Const.CAPTCHA_IMAGE_JPEG_QUALITY, "0.8")));
 
         // 部署在linux中，如果没有安装中文字段，水印和点选文字，中文无法显示，
         // 通过加载resources下的font字体解决，无需在linux中安装字体
@@ -148,9 +153,61 @@ public abstract class AbstractCaptchaService implements CaptchaService {
         if (config.getProperty(Const.REQ_FREQUENCY_LIMIT_ENABLE, "0").equals("1")) {
             if (limitHandler == null) {
                 logger.info("接口分钟内限流开关...开启...");
-                limitHandler = new FrequencyLimitHandler.DefaultLimitHandler(config, getCacheService(cacheType));
+                CaptchaLimitService limitService = CaptchaServiceFactory.getLimitService(cacheType);
+                limitHandler = limitService != null
+                        ? new FrequencyLimitHandler.AtomicLimitHandler(config, limitService)
+                        : new FrequencyLimitHandler.DefaultLimitHandler(config, getCacheService(cacheType));
             }
         }
+        int prerenderSize = Integer.parseInt(config.getProperty(Const.CAPTCHA_PRERENDER_SIZE, "0"));
+        if (prerenderSize > 0 && supportPrerender() && prerenderQueue == null) {
+            prerenderQueue = new PrerenderedCaptchaQueue<>(captchaType(), prerenderSize, this::render);
+            prerenderQueue.start();
+        }
+    }
+
+    /**
+     * 是否支持预渲染，支持时需要实现 {@link #render()}
+     */
+    protected boolean supportPrerender() {
+        return false;
+    }
+
+    /**
+     * 渲染一个验证码，不生成 token，也不写缓存
+     *
+     * @return 渲染失败时返回 null
+     */
+    protected RenderedCaptcha render() {
+        return null;
+    }
+
+    /**
+     * 优先从预渲染队列取，队列未开启或为空时同步渲染
+     */
+    protected RenderedCaptcha nextRendered() {
+        if (prerenderQueue != null) {
+            RenderedCaptcha rendered = prerenderQueue.poll();
+            if (rendered != null) {
+                return rendered;
+            }
+        }
+        return render();
+    }
+
+    /**
+     * 生成 token 并把坐标信息存入缓存
+     *
+     * @param rendered 渲染结果
+     * @return 返回前端的数据
+     */
+    protected CaptchaVO publish(RenderedCaptcha rendered) {
+        CaptchaVO dataVO = rendered.getData();
+        dataVO.setToken(RandomUtils.getUUID());
+        String codeKey = String.format(REDIS_CAPTCHA_KEY, dataVO.getToken());
+        CaptchaServiceFactory.getCache(cacheType).set(codeKey, rendered.getPointJson(), EXPIRESIN_SECONDS);
+        logger.debug("token：{},point:{}", dataVO.getToken(), rendered.getPointJson());
+        return dataVO;
     }
 
     protected CaptchaCacheService getCacheService(String cacheType) {
@@ -159,7 +216,14 @@ public abstract class AbstractCaptchaService implements CaptchaService {
 
     @Override
     public void destroy(Properties config) {
+        stopPrerender();
+    }
 
+    protected void stopPrerender() {
+        if (prerenderQueue != null) {
+            prerenderQueue.stop();
+            prerenderQueue = null;
+        }
     }
 
     @Override
@@ -219,12 +283,7 @@ public abstract class AbstractCaptchaService implements CaptchaService {
     protected void afterValidateFail(CaptchaVO data) {
         if (limitHandler != null) {
             // 验证失败 分钟内计数
-            String fails = String.format(FrequencyLimitHandler.LIMIT_KEY, "FAIL", data.getClientUid());
-            CaptchaCacheService cs = getCacheService(cacheType);
-            if (!cs.exists(fails)) {
-                cs.set(fails, "1", 60);
-            }
-            cs.increment(fails, 1);
+            limitHandler.afterValidateFail(data);
         }
     }
 
@@ -249,5 +308,27 @@ public abstract class AbstractCaptchaService implements CaptchaService {
         }
     }
 
+    /**
+     * 渲染好的验证码，图片和坐标已生成，token 在出队时生成
+     */
+    protected static class RenderedCaptcha {
+
+        private final CaptchaVO data;
+
+        private final String pointJson;
+
+        public RenderedCaptcha(CaptchaVO data, String pointJson) {
+            this.data = data;
+            this.pointJson = pointJson;
+        }
+
+        public CaptchaVO getData() {
+            return data;
+        }
+
+        public String getPointJson() {
+            return pointJson;
+        }
+    }
 
 }
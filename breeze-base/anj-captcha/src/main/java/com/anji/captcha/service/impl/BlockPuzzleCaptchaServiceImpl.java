@@ -6,6 +6,7 @@
  */
 package com.anji.captcha.service.impl;
 
+import com.anji.captcha.model.common.CaptchaBaseMapEnum;
 import com.anji.captcha.model.common.CaptchaTypeEnum;
 import com.anji.captcha.model.common.RepCodeEnum;
 import com.anji.captcha.model.common.ResponseModel;
@@ -13,11 +14,8 @@ import com.anji.captcha.model.vo.CaptchaVO;
 import com.anji.captcha.model.vo.PointVO;
 import com.anji.captcha.util.*;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.util.Base64;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Random;
@@ -60,149 +58,6 @@ public class BlockPuzzleCaptchaServiceImpl extends AbstractCaptchaService {
         return new PointVO(x, y, key);
     }
 
-    /**
-     * @param oriImage      原图
-     * @param templateImage 模板图
-     * @param newImage      新抠出的小图
-     * @param x             随机扣取坐标X
-     * @param y             随机扣取坐标y
-     * @throws Exception
-     */
-    private static void cutByTemplate(BufferedImage oriImage, BufferedImage templateImage, BufferedImage newImage, int x, int y) {
-        //临时数组遍历用于高斯模糊存周边像素值
-        int[][] martrix = new int[3][3];
-        int[] values = new int[9];
-
-        int xLength = templateImage.getWidth();
-        int yLength = templateImage.getHeight();
-        // 模板图像宽度
-        for (int i = 0; i < xLength; i++) {
-            // 模板图片高度
-            for (int j = 0; j < yLength; j++) {
-                // 如果模板图像当前像素点不是透明色 copy源文件信息到目标图片中
-                int rgb = templateImage.getRGB(i, j);
-                if (rgb < 0) {
-                    newImage.setRGB(i, j, oriImage.getRGB(x + i, y + j));
-
-                    //抠图区域高斯模糊
-                    readPixel(oriImage, x + i, y + j, values);
-                    fillMatrix(martrix, values);
-                    oriImage.setRGB(x + i, y + j, avgMatrix(martrix));
-                }
-
-                //防止数组越界判断
-                if (i == (xLength - 1) || j == (yLength - 1)) {
-                    continue;
-                }
-                int rightRgb = templateImage.getRGB(i + 1, j);
-                int downRgb = templateImage.getRGB(i, j + 1);
-                //描边处理，,取带像素和无像素的界点，判断该点是不是临界轮廓点,如果是设置该坐标像素是白色
-                if ((rgb >= 0 && rightRgb < 0) || (rgb < 0 && rightRgb >= 0) || (rgb >= 0 && downRgb < 0) || (rgb < 0 && downRgb >= 0)) {
-                    newImage.setRGB(i, j, Color.white.getRGB());
-                    oriImage.setRGB(x + i, y + j, Color.white.getRGB());
-                }
-            }
-        }
-
-    }
-
-    /**
-     * 干扰抠图处理
-     *
-     * @param oriImage      原图
-     * @param templateImage 模板图
-     * @param x             随机扣取坐标X
-     * @param y             随机扣取坐标y
-     * @throws Exception
-     */
-    private static void interferenceByTemplate(BufferedImage oriImage, BufferedImage templateImage, int x, int y) {
-        //临时数组遍历用于高斯模糊存周边像素值
-        int[][] martrix = new int[3][3];
-        int[] values = new int[9];
-
-        int xLength = templateImage.getWidth();
-        int yLength = templateImage.getHeight();
-        // 模板图像宽度
-        for (int i = 0; i < xLength; i++) {
-            // 模板图片高度
-            for (int j = 0; j < yLength; j++) {
-                // 如果模板图像当前像素点不是透明色 copy源文件信息到目标图片中
-                int rgb = templateImage.getRGB(i, j);
-                if (rgb < 0) {
-                    //抠图区域高斯模糊
-                    readPixel(oriImage, x + i, y + j, values);
-                    fillMatrix(martrix, values);
-                    oriImage.setRGB(x + i, y + j, avgMatrix(martrix));
-                }
-                //防止数组越界判断
-                if (i == (xLength - 1) || j == (yLength - 1)) {
-                    continue;
-                }
-                int rightRgb = templateImage.getRGB(i + 1, j);
-                int downRgb = templateImage.getRGB(i, j + 1);
-                //描边处理，,取带像素和无像素的界点，判断该点是不是临界轮廓点,如果是设置该坐标像素是白色
-                if ((rgb >= 0 && rightRgb < 0) || (rgb < 0 && rightRgb >= 0) || (rgb >= 0 && downRgb < 0) || (rgb < 0 && downRgb >= 0)) {
-                    oriImage.setRGB(x + i, y + j, Color.white.getRGB());
-                }
-            }
-        }
-
-    }
-
-    private static void readPixel(BufferedImage img, int x, int y, int[] pixels) {
-        int xStart = x - 1;
-        int yStart = y - 1;
-        int current = 0;
-        for (int i = xStart; i < 3 + xStart; i++) {
-            for (int j = yStart; j < 3 + yStart; j++) {
-                int tx = i;
-                if (tx < 0) {
-                    tx = -tx;
-
-                } else if (tx >= img.getWidth()) {
-                    tx = x;
-                }
-                int ty = j;
-                if (ty < 0) {
-                    ty = -ty;
-                } else if (ty >= img.getHeight()) {
-                    ty = y;
-                }
-                pixels[current++] = img.getRGB(tx, ty);
-
-            }
-        }
-    }
-
-    private static void fillMatrix(int[][] matrix, int[] values) {
-        int filled = 0;
-        for (int i = 0; i < matrix.length; i++) {
-            int[] x = matrix[i];
-            for (int j = 0; j < x.length; j++) {
-                x[j] = values[filled++];
-            }
-        }
-    }
-
-    private static int avgMatrix(int[][] matrix) {
-        int r = 0;
-        int g = 0;
-        int b = 0;
-        for (int i = 0; i < matrix.length; i++) {
-            int[] x = matrix[i];
-            for (int j = 0; j < x.length; j++) {
-                if (j == 1) {
-                    continue;
-                }
-                Color c = new Color(x[j]);
-                r += c.getRed();
-                g += c.getGreen();
-                b += c.getBlue();
-            }
-        }
-        return new Color(r / 8, g / 8, b / 8).getRGB();
-    }
-
     @Override
     public void init(Properties config) {
         super.init(config);
@@ -211,6 +66,7 @@ public class BlockPuzzleCaptchaServiceImpl extends AbstractCaptchaService {
     @Override
     public void destroy(Properties config) {
         logger.info("start-clear-history-data-", captchaType());
+        stopPrerender();
     }
 
     @Override
@@ -224,12 +80,48 @@ public class BlockPuzzleCaptchaServiceImpl extends AbstractCaptchaService {
         if (!validatedReq(r)) {
             return r;
         }
-        //原生图片
+        RenderedCaptcha rendered = prerenderQueue == null ? null : prerenderQueue.poll();
+        if (rendered == null) {
+            //原生图片
+            BufferedImage originalImage = ImageUtils.getOriginal();
+            if (null == originalImage) {
+                logger.error("滑动底图未初始化成功，请检查路径");
+                return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_BASEMAP_NULL);
+            }
+            //抠图图片
+            String jigsawName = ImageUtils.getRandomFileName(CaptchaBaseMapEnum.SLIDING_BLOCK);
+            BufferedImage jigsawImage = ImageUtils.getDecodedImage(CaptchaBaseMapEnum.SLIDING_BLOCK, jigsawName);
+            if (null == jigsawImage) {
+                logger.error("滑动底图未初始化成功，请检查路径");
+                return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_BASEMAP_NULL);
+            }
+            rendered = render(originalImage, jigsawImage, jigsawName);
+        }
+        if (rendered == null
+                || StringUtils.isBlank(rendered.getData().getJigsawImageBase64())
+                || StringUtils.isBlank(rendered.getData().getOriginalImageBase64())) {
+            return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_ERROR);
+        }
+        return ResponseModel.successData(publish(rendered));
+    }
+
+    @Override
+    protected boolean supportPrerender() {
+        return true;
+    }
+
+    @Override
+    protected RenderedCaptcha render() {
         BufferedImage originalImage = ImageUtils.getOriginal();
-        if (null == originalImage) {
-            logger.error("滑动底图未初始化成功，请检查路径");
-            return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_BASEMAP_NULL);
+        String jigsawName = ImageUtils.getRandomFileName(CaptchaBaseMapEnum.SLIDING_BLOCK);
+        BufferedImage jigsawImage = ImageUtils.getDecodedImage(CaptchaBaseMapEnum.SLIDING_BLOCK, jigsawName);
+        if (null == originalImage || null == jigsawImage) {
+            return null;
         }
+        return render(originalImage, jigsawImage, jigsawName);
+    }
+
+    private RenderedCaptcha render(BufferedImage originalImage, BufferedImage jigsawImage, String jigsawName) {
         //设置水印
         Graphics backgroundGraphics = originalImage.getGraphics();
         int width = originalImage.getWidth();
@@ -237,21 +129,8 @@ public class BlockPuzzleCaptchaServiceImpl extends AbstractCaptchaService {
         backgroundGraphics.setFont(waterMarkFont);
         backgroundGraphics.setColor(Color.white);
         backgroundGraphics.drawString(waterMark, width - getEnOrChLength(waterMark), height - (HAN_ZI_SIZE / 2) + 7);
-
-        //抠图图片
-        String jigsawImageBase64 = ImageUtils.getslidingBlock();
-        BufferedImage jigsawImage = ImageUtils.getBase64StrToImage(jigsawImageBase64);
-        if (null == jigsawImage) {
-            logger.error("滑动底图未初始化成功，请检查路径");
-            return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_BASEMAP_NULL);
-        }
-        CaptchaVO captcha = pictureTemplatesCut(originalImage, jigsawImage, jigsawImageBase64);
-        if (captcha == null
-                || StringUtils.isBlank(captcha.getJigsawImageBase64())
-                || StringUtils.isBlank(captcha.getOriginalImageBase64())) {
-            return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_ERROR);
-        }
-        return ResponseModel.successData(captcha);
+        backgroundGraphics.dispose();
+        return pictureTemplatesCut(originalImage, jigsawImage, jigsawName);
     }
 
     @Override
@@ -262,12 +141,11 @@ public class BlockPuzzleCaptchaServiceImpl extends AbstractCaptchaService {
         }
         //取坐标信息
         String codeKey = String.format(REDIS_CAPTCHA_KEY, captchaVO.getToken());
-        if (!CaptchaServiceFactory.getCache(cacheType).exists(codeKey)) {
+        //验证码只用一次，取出即失效
+        String s = CaptchaServiceFactory.getCache(cacheType).getAndDelete(codeKey);
+        if (s == null) {
             return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_INVALID);
         }
-        String s = CaptchaServiceFactory.getCache(cacheType).get(codeKey);
-        //验证码只用一次，即刻失效
-        CaptchaServiceFactory.getCache(cacheType).delete(codeKey);
         PointVO point = null;
         PointVO point1 = null;
         String pointJson = null;
@@ -312,11 +190,10 @@ public class BlockPuzzleCaptchaServiceImpl extends AbstractCaptchaService {
         }
         try {
             String codeKey = String.format(REDIS_SECOND_CAPTCHA_KEY, captchaVO.getCaptchaVerification());
-            if (!CaptchaServiceFactory.getCache(cacheType).exists(codeKey)) {
+            //二次校验取值后，即刻失效
+            if (!CaptchaServiceFactory.getCache(cacheType).existsAndDelete(codeKey)) {
                 return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_INVALID);
             }
-            //二次校验取值后，即刻失效
-            CaptchaServiceFactory.getCache(cacheType).delete(codeKey);
         } catch (Exception e) {
             logger.error("验证码坐标解析失败", e);
             return ResponseModel.errorMsg(e.getMessage());
@@ -324,12 +201,17 @@ public class BlockPuzzleCaptchaServiceImpl extends AbstractCaptchaService {
         return ResponseModel.success();
     }
 
+    private static TemplateMask templateMask(String jigsawName, BufferedImage jigsawImage) {
+        TemplateMask mask = ImageUtils.getTemplateMask(CaptchaBaseMapEnum.SLIDING_BLOCK, jigsawName);
+        return mask != null ? mask : TemplateMask.of(Objects.requireNonNull(jigsawImage));
+    }
+
     /**
      * 根据模板切图
      *
      * @throws Exception
      */
-    public CaptchaVO pictureTemplatesCut(BufferedImage originalImage, BufferedImage jigsawImage, String jigsawImageBase64) {
+    public RenderedCaptcha pictureTemplatesCut(BufferedImage originalImage, BufferedImage jigsawImage, String jigsawName) {
         try {
             CaptchaVO dataVO = new CaptchaVO();
 
@@ -343,15 +225,10 @@ public class BlockPuzzleCaptchaServiceImpl extends AbstractCaptchaService {
             int x = point.getX();
             int y = point.getY();
 
-            //生成新的拼图图像
-            BufferedImage newJigsawImage = new BufferedImage(jigsawWidth, jigsawHeight, jigsawImage.getType());
-            Graphics2D graphics = newJigsawImage.createGraphics();
-
-            int bold = 5;
-            //如果需要生成RGB格式，需要做如下配置,Transparency 设置透明
-            newJigsawImage = graphics.getDeviceConfiguration().createCompatibleImage(jigsawWidth, jigsawHeight, Transparency.TRANSLUCENT);
+            //生成新的拼图图像，透明背景
+            BufferedImage newJigsawImage = new BufferedImage(jigsawWidth, jigsawHeight, BufferedImage.TYPE_INT_ARGB);
             // 新建的图像根据模板颜色赋值,源图生成遮罩
-            cutByTemplate(originalImage, jigsawImage, newJigsawImage, x, 0);
+            RasterUtils.cutByTemplate(originalImage, templateMask(jigsawName, jigsawImage), newJigsawImage, x, 0);
             if (captchaInterferenceOptions > 0) {
                 int position = 0;
                 if (originalWidth - x - 5 > jigsawWidth * 2) {
@@ -362,54 +239,37 @@ public class BlockPuzzleCaptchaServiceImpl extends AbstractCaptchaService {
                     position = RandomUtils.getRandomInt(100, x - jigsawWidth - 5);
                 }
                 while (true) {
-                    String s = ImageUtils.getslidingBlock();
-                    if (!jigsawImageBase64.equals(s)) {
-                        interferenceByTemplate(originalImage, Objects.requireNonNull(ImageUtils.getBase64StrToImage(s)), position, 0);
+                    String s = ImageUtils.getRandomFileName(CaptchaBaseMapEnum.SLIDING_BLOCK);
+                    if (!jigsawName.equals(s)) {
+                        RasterUtils.cutByTemplate(originalImage, templateMask(s,
+                                ImageUtils.getDecodedImage(CaptchaBaseMapEnum.SLIDING_BLOCK, s)), null, position, 0);
                         break;
                     }
                 }
             }
             if (captchaInterferenceOptions > 1) {
                 while (true) {
-                    String s = ImageUtils.getslidingBlock();
-                    if (!jigsawImageBase64.equals(s)) {
+                    String s = ImageUtils.getRandomFileName(CaptchaBaseMapEnum.SLIDING_BLOCK);
+                    if (!jigsawName.equals(s)) {
                         Integer randomInt = RandomUtils.getRandomInt(jigsawWidth, 100 - jigsawWidth);
-                        interferenceByTemplate(originalImage, Objects.requireNonNull(ImageUtils.getBase64StrToImage(s)),
-                                randomInt, 0);
+                        RasterUtils.cutByTemplate(originalImage, templateMask(s,
+                                ImageUtils.getDecodedImage(CaptchaBaseMapEnum.SLIDING_BLOCK, s)), null, randomInt, 0);
                         break;
                     }
                 }
             }
 
 
-            // 设置“抗锯齿”的属性
-            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            graphics.setStroke(new BasicStroke(bold, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL));
-            graphics.drawImage(newJigsawImage, 0, 0, null);
-            graphics.dispose();
-
-            ByteArrayOutputStream os = new ByteArrayOutputStream();//新建流。
-            ImageIO.write(newJigsawImage, IMAGE_TYPE_PNG, os);//利用ImageIO类提供的write方法，将bi以png图片的数据模式写入流。
-            byte[] jigsawImages = os.toByteArray();
-
-            ByteArrayOutputStream oriImagesOs = new ByteArrayOutputStream();//新建流。
-            ImageIO.write(originalImage, IMAGE_TYPE_PNG, oriImagesOs);//利用ImageIO类提供的write方法，将bi以jpg图片的数据模式写入流。
-            byte[] oriCopyImages = oriImagesOs.toByteArray();
-            Base64.Encoder encoder = Base64.getEncoder();
-            dataVO.setOriginalImageBase64(encoder.encodeToString(oriCopyImages).replaceAll("\r|\n", ""));
+            //滑块需要透明通道，固定为png；底图按配置可使用jpeg
+            dataVO.setOriginalImageBase64(ImageEncoder.toBase64Background(originalImage));
+            dataVO.setOriginalImageFormat(ImageEncoder.backgroundFormat(originalImage));
             //point信息不传到前端，只做后端check校验
 //            dataVO.setPoint(point);
-            dataVO.setJigsawImageBase64(encoder.encodeToString(jigsawImages).replaceAll("\r|\n", ""));
-            dataVO.setToken(RandomUtils.getUUID());
+            dataVO.setJigsawImageBase64(ImageEncoder.toBase64(newJigsawImage, IMAGE_TYPE_PNG));
             dataVO.setSecretKey(point.getSecretKey());
-//            base64StrToImage(encoder.encodeToString(oriCopyImages), "D:\\原图.png");
-//            base64StrToImage(encoder.encodeToString(jigsawImages), "D:\\滑动.png");
 
-            //将坐标信息存入redis中
-            String codeKey = String.format(REDIS_CAPTCHA_KEY, dataVO.getToken());
-            CaptchaServiceFactory.getCache(cacheType).set(codeKey, JsonUtil.toJSONString(point), EXPIRESIN_SECONDS);
-            logger.debug("token：{},point:{}", dataVO.getToken(), JsonUtil.toJSONString(point));
-            return dataVO;
+            //坐标信息在 publish 时随 token 存入缓存
+            return new RenderedCaptcha(dataVO, JsonUtil.toJSONString(point));
         } catch (Exception e) {
             e.printStackTrace();
             return null;
@@ -33,11 +33,19 @@ public class CaptchaCacheServiceMemImpl implements CaptchaCacheService {
         return CacheUtil.get(key);
     }
 
+    @Override
+    public String getAndDelete(String key) {
+        return CacheUtil.getAndDelete(key);
+    }
+
+    @Override
+    public boolean existsAndDelete(String key) {
+        return CacheUtil.getAndDelete(key) != null;
+    }
+
     @Override
     public Long increment(String key, long val) {
-        Long ret = Long.valueOf(CacheUtil.get(key)) + val;
-        CacheUtil.set(key, ret + "", 0);
-        return ret;
+        return CacheUtil.increment(key, val);
     }
 
     @Override
@@ -0,0 +1,54 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.service.impl;
+
+import com.anji.captcha.model.common.LimitWindow;
+import com.anji.captcha.service.CaptchaLimitService;
+import com.anji.captcha.util.CacheUtil;
+
+/**
+ * 本地限流计数，与内存缓存共用 {@link CacheUtil}
+ * <p>
+ * 计数使用带过期时间的原子自增，不再 get/set/increment 分步操作，并发请求不会丢失计数。
+ */
+public class CaptchaLimitServiceMemImpl implements CaptchaLimitService {
+
+    @Override
+    public String type() {
+        return "local";
+    }
+
+    @Override
+    public int acquire(LimitWindow window, String lockKey, String failKey, long failLimit, long lockSeconds) {
+        if (lockKey != null && CacheUtil.exists(lockKey)) {
+            return LOCKED;
+        }
+        long current = CacheUtil.increment(window.getCurrentKey(), 1L, window.getExpireSeconds());
+        long previous = 0L;
+        if (window.getPreviousWeight() > 0) {
+            String value = CacheUtil.get(window.getPreviousKey());
+            previous = value == null ? 0L : Long.parseLong(value);
+        }
+        if (window.estimate(current, previous) > window.getLimit()) {
+            return LIMITED;
+        }
+        if (lockKey == null) {
+            return PASS;
+        }
+        String fails = CacheUtil.get(failKey);
+        if (fails != null && Long.parseLong(fails) > failLimit) {
+            CacheUtil.set(lockKey, "1", lockSeconds);
+            return LOCKED;
+        }
+        return PASS;
+    }
+
+    @Override
+    public long recordFail(String failKey, long windowSeconds) {
+        return CacheUtil.increment(failKey, 1L, windowSeconds);
+    }
+}
@@ -2,6 +2,7 @@ package com.anji.captcha.service.impl;
 
 import com.anji.captcha.model.common.Const;
 import com.anji.captcha.service.CaptchaCacheService;
+import com.anji.captcha.service.CaptchaLimitService;
 import com.anji.captcha.service.CaptchaService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +19,7 @@ public class CaptchaServiceFactory {
 
     public volatile static Map<String, CaptchaService> instances = new HashMap();
     public volatile static Map<String, CaptchaCacheService> cacheService = new HashMap();
+    public volatile static Map<String, CaptchaLimitService> limitService = new HashMap<>();
     private static final Logger logger = LoggerFactory.getLogger(CaptchaServiceFactory.class);
 
     static {
@@ -26,6 +28,11 @@ public class CaptchaServiceFactory {
             cacheService.put(item.type(), item);
         }
         logger.info("supported-captchaCache-service:{}", cacheService.keySet());
+        ServiceLoader<CaptchaLimitService> limitServices = ServiceLoader.load(CaptchaLimitService.class);
+        for (CaptchaLimitService item : limitServices) {
+            limitService.put(item.type(), item);
+        }
+        logger.info("supported-captchaLimit-service:{}", limitService.keySet());
         ServiceLoader<CaptchaService> services = ServiceLoader.load(CaptchaService.class);
         for (CaptchaService item : services) {
             instances.put(item.captchaType(), item);
@@ -55,4 +62,20 @@ public class CaptchaServiceFactory {
     public static CaptchaCacheService getCache(String cacheType) {
         return cacheService.get(cacheType);
     }
+
+    public static CaptchaLimitService getLimitService(String cacheType) {
+        return limitService.get(cacheType);
+    }
+
+    /**
+     * 注册由容器创建的限流实现，需在 {@link #getInstance(Properties)} 之前调用
+     *
+     * @param service 限流实现
+     */
+    public static synchronized void registerLimitService(CaptchaLimitService service) {
+        Map<String, CaptchaLimitService> services = new HashMap<>(limitService);
+        services.put(service.type(), service);
+        limitService = services;
+        logger.info("register-captchaLimit-service:{}", service.type());
+    }
 }
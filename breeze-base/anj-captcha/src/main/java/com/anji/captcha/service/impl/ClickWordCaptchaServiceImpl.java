@@ -31,7 +31,14 @@ public class ClickWordCaptchaServiceImpl extends AbstractCaptchaService {
 
     protected static String clickWordFontStr = "NotoSerif-Light.ttf";
 
+    /**
+     * 文字随机旋转角度范围
+     */
+    private static final int MIN_ANGLE = -45;
+    private static final int MAX_ANGLE = 45;
+
     protected Font clickWordFont;//点选文字字体
+    protected GlyphAtlas glyphAtlas;//点选文字字形图集
     /**
      * 点选文字 字体总个数
      */
@@ -92,11 +99,18 @@ public class ClickWordCaptchaServiceImpl extends AbstractCaptchaService {
             logger.error("load font error:{}", ex);
         }
         this.wordTotalCount = Integer.valueOf(config.getProperty(Const.CAPTCHA_WORD_COUNT, "4"));
+        int buckets = Integer.parseInt(config.getProperty(Const.CAPTCHA_WORD_ATLAS_BUCKETS, "19"));
+        if (buckets > 1 && clickWordFont != null && glyphAtlas == null) {
+            long start = System.currentTimeMillis();
+            glyphAtlas = GlyphAtlas.build(clickWordFont, HAN_ZI, MIN_ANGLE, MAX_ANGLE, buckets);
+            logger.info("点选文字字形图集:{}字 x {}档, 耗时{}ms", glyphAtlas.size(), buckets, System.currentTimeMillis() - start);
+        }
     }
 
     @Override
     public void destroy(Properties config) {
         logger.info("start-clear-history-data-", captchaType());
+        stopPrerender();
     }
 
     @Override
@@ -105,17 +119,34 @@ public class ClickWordCaptchaServiceImpl extends AbstractCaptchaService {
         if (!validatedReq(r)) {
             return r;
         }
-        BufferedImage bufferedImage = ImageUtils.getPicClick();
-        if (null == bufferedImage) {
-            logger.error("滑动底图未初始化成功，请检查路径");
-            return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_BASEMAP_NULL);
+        RenderedCaptcha rendered = prerenderQueue == null ? null : prerenderQueue.poll();
+        if (rendered == null) {
+            BufferedImage bufferedImage = ImageUtils.getPicClick();
+            if (null == bufferedImage) {
+                logger.error("滑动底图未初始化成功，请检查路径");
+                return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_BASEMAP_NULL);
+            }
+            rendered = getImageData(bufferedImage);
         }
-        CaptchaVO imageData = getImageData(bufferedImage);
-        if (imageData == null
-                || StringUtils.isBlank(imageData.getOriginalImageBase64())) {
+        if (rendered == null
+                || StringUtils.isBlank(rendered.getData().getOriginalImageBase64())) {
             return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_ERROR);
         }
-        return ResponseModel.successData(imageData);
+        return ResponseModel.successData(publish(rendered));
+    }
+
+    @Override
+    protected boolean supportPrerender() {
+        return true;
+    }
+
+    @Override
+    protected RenderedCaptcha render() {
+        BufferedImage bufferedImage = ImageUtils.getPicClick();
+        if (null == bufferedImage) {
+            return null;
+        }
+        return getImageData(bufferedImage);
     }
 
     @Override
@@ -126,12 +157,11 @@ public class ClickWordCaptchaServiceImpl extends AbstractCaptchaService {
         }
         //取坐标信息
         String codeKey = String.format(REDIS_CAPTCHA_KEY, captchaVO.getToken());
-        if (!CaptchaServiceFactory.getCache(cacheType).exists(codeKey)) {
+        //验证码只用一次，取出即失效
+        String s = CaptchaServiceFactory.getCache(cacheType).getAndDelete(codeKey);
+        if (s == null) {
             return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_INVALID);
         }
-        String s = CaptchaServiceFactory.getCache(cacheType).get(codeKey);
-        //验证码只用一次，即刻失效
-        CaptchaServiceFactory.getCache(cacheType).delete(codeKey);
         List<PointVO> point = null;
         List<PointVO> point1 = null;
         String pointJson = null;
@@ -201,11 +231,10 @@ public class ClickWordCaptchaServiceImpl extends AbstractCaptchaService {
         }
         try {
             String codeKey = String.format(REDIS_SECOND_CAPTCHA_KEY, captchaVO.getCaptchaVerification());
-            if (!CaptchaServiceFactory.getCache(cacheType).exists(codeKey)) {
+            //二次校验取值后，即刻失效
+            if (!CaptchaServiceFactory.getCache(cacheType).existsAndDelete(codeKey)) {
                 return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_INVALID);
             }
-            //二次校验取值后，即刻失效
-            CaptchaServiceFactory.getCache(cacheType).delete(codeKey);
         } catch (Exception e) {
             logger.error("验证码坐标解析失败", e);
             return ResponseModel.errorMsg(e.getMessage());
@@ -229,7 +258,7 @@ public class ClickWordCaptchaServiceImpl extends AbstractCaptchaService {
         this.fontColorRandom = fontColorRandom;
     }
 
-    private CaptchaVO getImageData(BufferedImage backgroundImage) {
+    private RenderedCaptcha getImageData(BufferedImage backgroundImage) {
         CaptchaVO dataVO = new CaptchaVO();
         List<String> wordList = new ArrayList<String>();
         List<PointVO> pointList = new ArrayList();
@@ -258,18 +287,25 @@ public class ClickWordCaptchaServiceImpl extends AbstractCaptchaService {
             PointVO point = randomWordPoint(width, height, i, wordCount);
             point.setSecretKey(secretKey);
             //随机字体颜色
+            Color color;
             if (isFontColorRandom()) {
-                backgroundGraphics.setColor(new Color(RandomUtils.getRandomInt(1, 255),
-                        RandomUtils.getRandomInt(1, 255), RandomUtils.getRandomInt(1, 255)));
+                color = new Color(RandomUtils.getRandomInt(1, 255),
+                        RandomUtils.getRandomInt(1, 255), RandomUtils.getRandomInt(1, 255));
             } else {
-                backgroundGraphics.setColor(Color.BLACK);
+                color = Color.BLACK;
             }
             //设置角度
-            AffineTransform affineTransform = new AffineTransform();
-            affineTransform.rotate(Math.toRadians(RandomUtils.getRandomInt(-45, 45)), 0, 0);
-            Font rotatedFont = clickWordFont.deriveFont(affineTransform);
-            backgroundGraphics.setFont(rotatedFont);
-            backgroundGraphics.drawString(word, point.getX(), point.getY());
+            int angle = RandomUtils.getRandomInt(MIN_ANGLE, MAX_ANGLE);
+            if (glyphAtlas != null) {
+                GlyphAtlas.draw(backgroundImage, glyphAtlas.glyph(word.charAt(0), angle), point.getX(), point.getY(), color);
+            } else {
+                AffineTransform affineTransform = new AffineTransform();
+                affineTransform.rotate(Math.toRadians(angle), 0, 0);
+                Font rotatedFont = clickWordFont.deriveFont(affineTransform);
+                backgroundGraphics.setColor(color);
+                backgroundGraphics.setFont(rotatedFont);
+                backgroundGraphics.drawString(word, point.getX(), point.getY());
+            }
 
             if ((num - 1) != i) {
                 wordList.add(word);
@@ -287,17 +323,15 @@ public class ClickWordCaptchaServiceImpl extends AbstractCaptchaService {
         Graphics combinedGraphics = combinedImage.getGraphics();
         combinedGraphics.drawImage(backgroundImage, 0, 0, null);
 
-        dataVO.setOriginalImageBase64(ImageUtils.getImageToBase64Str(backgroundImage).replaceAll("\r|\n", ""));
+        dataVO.setOriginalImageBase64(ImageEncoder.toBase64Background(backgroundImage));
+        dataVO.setOriginalImageFormat(ImageEncoder.backgroundFormat(backgroundImage));
         //pointList信息不传到前端，只做后端check校验
         //dataVO.setPointList(pointList);
         dataVO.setWordList(wordList);
-        dataVO.setToken(RandomUtils.getUUID());
         dataVO.setSecretKey(secretKey);
-        //将坐标信息存入redis中
-        String codeKey = String.format(REDIS_CAPTCHA_KEY, dataVO.getToken());
-        CaptchaServiceFactory.getCache(cacheType).set(codeKey, JsonUtil.toJSONString(pointList), EXPIRESIN_SECONDS);
+        //坐标信息在 publish 时随 token 存入缓存
 //        base64StrToImage(getImageToBase64Str(backgroundImage), "D:\\点击.png");
-        return dataVO;
+        return new RenderedCaptcha(dataVO, JsonUtil.toJSONString(pointList));
     }
 
     private Set<String> getRandomWords(int wordCount) {
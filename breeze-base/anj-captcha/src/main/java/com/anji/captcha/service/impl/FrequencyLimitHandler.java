@@ -1,10 +1,12 @@
 package com.anji.captcha.service.impl;
 
 import com.anji.captcha.model.common.Const;
+import com.anji.captcha.model.common.LimitWindow;
 import com.anji.captcha.model.common.RepCodeEnum;
 import com.anji.captcha.model.common.ResponseModel;
 import com.anji.captcha.model.vo.CaptchaVO;
 import com.anji.captcha.service.CaptchaCacheService;
+import com.anji.captcha.service.CaptchaLimitService;
 import com.anji.captcha.util.StringUtils;
 
 import java.util.Objects;
@@ -42,6 +44,12 @@ public interface FrequencyLimitHandler {
      */
     ResponseModel validateVerify(CaptchaVO captchaVO);
 
+    /**
+     * 验证失败计数，1分钟内失败次数过多时锁定get接口
+     *
+     * @param captchaVO
+     */
+    void afterValidateFail(CaptchaVO captchaVO);
 
     /***
      * 验证码接口限流:
@@ -149,6 +157,102 @@ public interface FrequencyLimitHandler {
             }
             return null;
         }
+
+        @Override
+        public void afterValidateFail(CaptchaVO d) {
+            String fails = getClientCId(d, "FAIL");
+            if (!cacheService.exists(fails)) {
+                cacheService.set(fails, "1", 60);
+            }
+            cacheService.increment(fails, 1);
+        }
+    }
+
+    /***
+     * 基于 {@link CaptchaLimitService} 的限流，规则与 DefaultLimitHandler 相同:
+     *      每次校验只调用一次限流实现，redis 下为一次脚本调用；计数使用原子自增，并发请求不会丢失计数。
+     *      key 中的客户端标识用 {} 包裹，同一客户端的 key 在 redis 集群中落在同一个 slot，可在一个脚本中操作。
+     *      窗口算法由 {@link Const#REQ_FREQUENCY_LIMIT_ALGORITHM} 指定，默认 fixed。
+     */
+    class AtomicLimitHandler implements FrequencyLimitHandler {
+
+        private static final String SLOT_LIMIT_KEY = "AJ.CAPTCHA.REQ.LIMIT-%s-{%s}";
+
+        /**
+         * 计数窗口，秒
+         */
+        private static final long WINDOW_SECONDS = 60L;
+
+        private final CaptchaLimitService limitService;
+        private final String algorithm;
+        private final long getLimit;
+        private final long checkLimit;
+        private final long verifyLimit;
+        private final long failLimit;
+        private final long lockSeconds;
+
+        public AtomicLimitHandler(Properties config, CaptchaLimitService limitService) {
+            this.limitService = limitService;
+            this.algorithm = config.getProperty(Const.REQ_FREQUENCY_LIMIT_ALGORITHM, LimitWindow.FIXED);
+            this.getLimit = Long.parseLong(config.getProperty(Const.REQ_GET_MINUTE_LIMIT, "120"));
+            this.checkLimit = Long.parseLong(config.getProperty(Const.REQ_CHECK_MINUTE_LIMIT, "600"));
+            this.verifyLimit = Long.parseLong(config.getProperty(Const.REQ_VALIDATE_MINUTE_LIMIT, "600"));
+            this.failLimit = Long.parseLong(config.getProperty(Const.REQ_GET_LOCK_LIMIT, "5"));
+            this.lockSeconds = Long.parseLong(config.getProperty(Const.REQ_GET_LOCK_SECONDS, "300"));
+        }
+
+        private String getClientCId(CaptchaVO input, String type) {
+            return String.format(SLOT_LIMIT_KEY, type, input.getClientUid());
+        }
+
+        private LimitWindow window(CaptchaVO input, String type, long limit) {
+            return LimitWindow.of(algorithm, getClientCId(input, type), limit, WINDOW_SECONDS);
+        }
+
+        @Override
+        public ResponseModel validateGet(CaptchaVO d) {
+            // 无客户端身份标识，不限制
+            if (StringUtils.isEmpty(d.getClientUid())) {
+                return null;
+            }
+            int result = limitService.acquire(window(d, "GET", getLimit),
+                    getClientCId(d, "LOCK"), getClientCId(d, "FAIL"), failLimit, lockSeconds);
+            if (result == CaptchaLimitService.LOCKED) {
+                return ResponseModel.errorMsg(RepCodeEnum.API_REQ_LOCK_GET_ERROR);
+            }
+            if (result == CaptchaLimitService.LIMITED) {
+                return ResponseModel.errorMsg(RepCodeEnum.API_REQ_LIMIT_GET_ERROR);
+            }
+            return null;
+        }
+
+        @Override
+        public ResponseModel validateCheck(CaptchaVO d) {
+            // 无客户端身份标识，不限制
+            if (StringUtils.isEmpty(d.getClientUid())) {
+                return null;
+            }
+            if (limitService.acquire(window(d, "CHECK", checkLimit), null, null, 0L, 0L) != CaptchaLimitService.PASS) {
+                return ResponseModel.errorMsg(RepCodeEnum.API_REQ_LIMIT_CHECK_ERROR);
+            }
+            return null;
+        }
+
+        @Override
+        public ResponseModel validateVerify(CaptchaVO d) {
+            if (limitService.acquire(window(d, "VERIFY", verifyLimit), null, null, 0L, 0L) != CaptchaLimitService.PASS) {
+                return ResponseModel.errorMsg(RepCodeEnum.API_REQ_LIMIT_VERIFY_ERROR);
+            }
+            return null;
+        }
+
+        @Override
+        public void afterValidateFail(CaptchaVO d) {
+            if (StringUtils.isEmpty(d.getClientUid())) {
+                return;
+            }
+            limitService.recordFail(getClientCId(d, "FAIL"), WINDOW_SECONDS);
+        }
     }
 
 }
@@ -0,0 +1,101 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 预渲染验证码队列
+ * <p>
+ * 后台线程提前渲染验证码图片放入有界队列，get 请求直接出队，队列为空时由调用方同步渲染。
+ * 队列只保存图片和坐标，token 和缓存在出队后才生成，所以队列里的数据不会过期。
+ */
+public class PrerenderedCaptchaQueue<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrerenderedCaptchaQueue.class);
+
+    /**
+     * 渲染失败后的重试间隔，毫秒
+     */
+    private static final long RETRY_INTERVAL = 1000L;
+
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final Supplier<T> renderer;
+    private volatile Thread worker;
+
+    public PrerenderedCaptchaQueue(String name, int capacity, Supplier<T> renderer) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.renderer = renderer;
+    }
+
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        worker = new Thread(this::refill, "captcha-prerender-" + name);
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("验证码预渲染队列启动:{} capacity={}", name, queue.remainingCapacity());
+    }
+
+    public synchronized void stop() {
+        if (worker == null) {
+            return;
+        }
+        worker.interrupt();
+        worker = null;
+        queue.clear();
+    }
+
+    /**
+     * 取一个预渲染的验证码
+     *
+     * @return 队列为空时返回 null
+     */
+    public T poll() {
+        return queue.poll();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    private void refill() {
+        Thread current = Thread.currentThread();
+        while (worker == current) {
+            try {
+                T item = renderer.get();
+                if (item == null) {
+                    TimeUnit.MILLISECONDS.sleep(RETRY_INTERVAL);
+                    continue;
+                }
+                // 队列满时阻塞，出队后立即补充
+                queue.put(item);
+            } catch (InterruptedException e) {
+                current.interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("验证码预渲染失败:{}", name, e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(RETRY_INTERVAL);
+                } catch (InterruptedException ie) {
+                    current.interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.anji.captcha.service.impl;
 
+import com.anji.captcha.model.common.CaptchaBaseMapEnum;
 import com.anji.captcha.model.common.CaptchaTypeEnum;
 import com.anji.captcha.model.common.RepCodeEnum;
 import com.anji.captcha.model.common.ResponseModel;
@@ -52,8 +53,8 @@ public class RotatePuzzleCaptchaServiceImpl extends AbstractCaptchaService {
         }
 
         //抠图图片
-        String rotateBlockImageBase64 = ImageUtils.getRotateBlock();
-        BufferedImage rotateBlockImage = ImageUtils.getBase64StrToImage(rotateBlockImageBase64);
+        BufferedImage rotateBlockImage = ImageUtils.getDecodedImage(CaptchaBaseMapEnum.ROTATE_BLOCK,
+                ImageUtils.getRandomFileName(CaptchaBaseMapEnum.ROTATE_BLOCK));
         if (null == rotateBlockImage) {
             logger.error("旋转拼图旋转块底图未初始化成功，请检查路径");
             return ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_BASEMAP_NULL);
@@ -9,57 +9,40 @@ package com.anji.captcha.util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public final class CacheUtil {
     private static final Logger logger = LoggerFactory.getLogger(CacheUtil.class);
 
-    private static final Map<String, Object> CACHE_MAP = new ConcurrentHashMap<String, Object>();
-
     /**
-     * 缓存最大个数
+     * 本地缓存，超出容量时淘汰最久未使用的 key
      */
-    private static Integer CACHE_MAX_NUMBER = 1000;
+    private static final ExpiringLruCache CACHE = new ExpiringLruCache(1000);
     private static ScheduledExecutorService scheduledExecutor;
 
     /**
-     * 初始化
+     * 初始化，多个验证码服务共用一个缓存，重复调用只更新容量
      *
      * @param cacheMaxNumber 缓存最大个数
      * @param second         定时任务 秒执行清除过期缓存
      */
-    public static void init(int cacheMaxNumber, long second) {
-        CACHE_MAX_NUMBER = cacheMaxNumber;
-        if (second > 0L) {
-            /*Timer timer = new Timer();
-            timer.schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    refresh();
-                }
-            }, 0, second * 1000);*/
-            scheduledExecutor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
-                @Override
-                public Thread newThread(Runnable r) {
-                    return new Thread(r, "thd-captcha-cache-clean");
-                }
-            }, new ThreadPoolExecutor.CallerRunsPolicy());
-            scheduledExecutor.scheduleAtFixedRate(new Runnable() {
-                @Override
-                public void run() {
-                    refresh();
-                }
-            }, 10, second, TimeUnit.SECONDS);
+    public static synchronized void init(int cacheMaxNumber, long second) {
+        CACHE.setMaximumSize(cacheMaxNumber);
+        if (second > 0L && scheduledExecutor == null) {
+            scheduledExecutor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "thd-captcha-cache-clean");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduledExecutor.scheduleAtFixedRate(CacheUtil::refresh, 10, second, TimeUnit.SECONDS);
 
-            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
-                @Override
-                public void run() {
-                    if (Objects.nonNull(scheduledExecutor)) {
-                        clear();
-                        scheduledExecutor.shutdownNow();
-                    }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (Objects.nonNull(scheduledExecutor)) {
+                    clear();
+                    scheduledExecutor.shutdownNow();
                 }
             }));
         }
@@ -70,47 +53,56 @@ public final class CacheUtil {
      */
     public static void refresh() {
         logger.debug("local缓存刷新,清除过期数据");
-        for (String key : CACHE_MAP.keySet()) {
-            exists(key);
-        }
+        CACHE.purgeExpired();
     }
 
-
     public static void set(String key, String value, long expiresInSeconds) {
-        //设置阈值，达到即clear缓存
-        if (CACHE_MAP.size() > CACHE_MAX_NUMBER * 2) {
-            logger.info("CACHE_MAP达到阈值，clear map");
-            clear();
-        }
-        CACHE_MAP.put(key, value);
-        if (expiresInSeconds > 0) {
-            CACHE_MAP.put(key + "_HoldTime", System.currentTimeMillis() + expiresInSeconds * 1000);//缓存失效时间
-        }
+        CACHE.set(key, value, expiresInSeconds);
     }
 
     public static void delete(String key) {
-        CACHE_MAP.remove(key);
-        CACHE_MAP.remove(key + "_HoldTime");
+        CACHE.delete(key);
     }
 
-    public static boolean exists(String key) {
-        Long cacheHoldTime = (Long) CACHE_MAP.get(key + "_HoldTime");
-        if (cacheHoldTime == null || cacheHoldTime == 0L) {
-            return false;
-        }
-        if (cacheHoldTime < System.currentTimeMillis()) {
-            delete(key);
-            return false;
-        }
-        return true;
+    /**
+     * 原子取值并删除
+     *
+     * @param key key
+     * @return 不存在时返回 null
+     */
+    public static String getAndDelete(String key) {
+        return CACHE.getAndDelete(key);
     }
 
+    public static boolean exists(String key) {
+        return CACHE.exists(key);
+    }
 
     public static String get(String key) {
-        if (exists(key)) {
-            return (String) CACHE_MAP.get(key);
-        }
-        return null;
+        return CACHE.get(key);
+    }
+
+    /**
+     * 原子自增，保留原有过期时间
+     *
+     * @param key key
+     * @param val 增量
+     * @return 自增后的值
+     */
+    public static long increment(String key, long val) {
+        return CACHE.increment(key, val);
+    }
+
+    /**
+     * 原子自增，key 不存在时按 expiresInSeconds 开始计时
+     *
+     * @param key              key
+     * @param val              增量
+     * @param expiresInSeconds 新建 key 的过期秒数
+     * @return 自增后的值
+     */
+    public static long increment(String key, long val, long expiresInSeconds) {
+        return CACHE.increment(key, val, expiresInSeconds);
     }
 
     /**
@@ -118,6 +110,6 @@ public final class CacheUtil {
      */
     public static void clear() {
         logger.debug("have clean all key !");
-        CACHE_MAP.clear();
+        CACHE.clear();
     }
 }
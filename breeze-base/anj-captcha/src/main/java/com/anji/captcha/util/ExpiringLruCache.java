@@ -0,0 +1,299 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 本地过期缓存
+ * <p>
+ * 每个 key 只有一个条目，过期时间保存在条目上；按 key 分段加锁，段内 LinkedHashMap 按访问顺序淘汰最久未使用的条目，
+ * 过期条目放在按过期时间排序的小顶堆里，清理时只弹出堆顶已过期的部分，不再遍历全部 key。
+ */
+public class ExpiringLruCache {
+
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final Segment[] segments;
+
+    private final int mask;
+
+    public ExpiringLruCache(int maximumSize) {
+        this(maximumSize, 16);
+    }
+
+    public ExpiringLruCache(int maximumSize, int concurrency) {
+        int size = 1;
+        while (size < concurrency) {
+            size <<= 1;
+        }
+        this.segments = new Segment[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.segments[i] = new Segment();
+        }
+        setMaximumSize(maximumSize);
+    }
+
+    /**
+     * 调整容量，超出的条目在下次写入时淘汰
+     *
+     * @param maximumSize 最大条目数
+     */
+    public void setMaximumSize(int maximumSize) {
+        int perSegment = Math.max(1, (maximumSize + segments.length - 1) / segments.length);
+        for (Segment segment : segments) {
+            segment.maximumSize = perSegment;
+        }
+    }
+
+    /**
+     * 写入
+     *
+     * @param key              key
+     * @param value            value
+     * @param expiresInSeconds 过期秒数，小于等于 0 不过期
+     */
+    public void set(String key, String value, long expiresInSeconds) {
+        long expireAt = expiresInSeconds > 0 ? System.currentTimeMillis() + expiresInSeconds * 1000 : NEVER;
+        segment(key).put(key, value, expireAt);
+    }
+
+    public String get(String key) {
+        return segment(key).get(key, System.currentTimeMillis());
+    }
+
+    public boolean exists(String key) {
+        return get(key) != null;
+    }
+
+    public void delete(String key) {
+        segment(key).remove(key);
+    }
+
+    /**
+     * 原子取值并删除
+     *
+     * @param key key
+     * @return 不存在或已过期时返回 null
+     */
+    public String getAndDelete(String key) {
+        return segment(key).remove(key, System.currentTimeMillis());
+    }
+
+    /**
+     * 原子自增，保留原有过期时间；不存在时从 0 开始且不过期
+     *
+     * @param key   key
+     * @param delta 增量
+     * @return 自增后的值
+     */
+    public long increment(String key, long delta) {
+        return increment(key, delta, 0);
+    }
+
+    /**
+     * 原子自增，保留原有过期时间；不存在时从 0 开始并按 expiresInSeconds 设置过期
+     *
+     * @param key              key
+     * @param delta            增量
+     * @param expiresInSeconds 新建条目的过期秒数，小于等于 0 不过期
+     * @return 自增后的值
+     */
+    public long increment(String key, long delta, long expiresInSeconds) {
+        long now = System.currentTimeMillis();
+        long expireAt = expiresInSeconds > 0 ? now + expiresInSeconds * 1000 : NEVER;
+        return segment(key).increment(key, delta, now, expireAt);
+    }
+
+    /**
+     * 清除已过期条目
+     */
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.purge(now);
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.map.clear();
+                segment.expiryQueue.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Segment segment(String key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & mask];
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        private final String key;
+
+        private final long expireAt;
+
+        private String value;
+
+        private Entry(String key, String value, long expireAt) {
+            this.key = key;
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        private boolean isExpired(long now) {
+            return expireAt <= now;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            return Long.compare(expireAt, o.expireAt);
+        }
+    }
+
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final LinkedHashMap<String, Entry> map = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+
+        /**
+         * 只放有过期时间的条目；条目被覆盖或淘汰后留在堆里，弹出时与 map 中的实例比对后丢弃
+         */
+        private final PriorityQueue<Entry> expiryQueue = new PriorityQueue<>();
+
+        private volatile int maximumSize;
+
+        private void put(String key, String value, long expireAt) {
+            lock.lock();
+            try {
+                purge(System.currentTimeMillis());
+                Entry entry = new Entry(key, value, expireAt);
+                map.put(key, entry);
+                if (expireAt != NEVER) {
+                    expiryQueue.offer(entry);
+                    compactIfStale();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private String get(String key, long now) {
+            lock.lock();
+            try {
+                Entry entry = map.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.isExpired(now)) {
+                    map.remove(key);
+                    return null;
+                }
+                return entry.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(String key) {
+            lock.lock();
+            try {
+                map.remove(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private String remove(String key, long now) {
+            lock.lock();
+            try {
+                Entry entry = map.remove(key);
+                return entry == null || entry.isExpired(now) ? null : entry.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long increment(String key, long delta, long now, long expireAt) {
+            lock.lock();
+            try {
+                Entry entry = map.get(key);
+                if (entry == null || entry.isExpired(now)) {
+                    entry = new Entry(key, String.valueOf(delta), expireAt);
+                    map.put(key, entry);
+                    if (expireAt != NEVER) {
+                        expiryQueue.offer(entry);
+                        compactIfStale();
+                    }
+                    return delta;
+                }
+                long value = Long.parseLong(entry.value) + delta;
+                entry.value = String.valueOf(value);
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void purge(long now) {
+            Entry head;
+            while ((head = expiryQueue.peek()) != null && head.isExpired(now)) {
+                expiryQueue.poll();
+                // remove(key, value) 不触发访问排序，失效的堆节点不会把同 key 的新条目提到最近使用；Entry 未重写 equals，按实例比较
+                map.remove(head.key, head);
+            }
+        }
+
+        /**
+         * 覆盖和淘汰留下的失效堆节点过多时按 map 重建
+         */
+        private void compactIfStale() {
+            if (expiryQueue.size() <= (map.size() << 1) + 64) {
+                return;
+            }
+            expiryQueue.clear();
+            for (Entry entry : map.values()) {
+                if (entry.expireAt != NEVER) {
+                    expiryQueue.offer(entry);
+                }
+            }
+        }
+    }
+}
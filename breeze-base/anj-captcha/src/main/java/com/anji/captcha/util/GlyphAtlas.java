@@ -0,0 +1,167 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.util;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 点选文字字形图集
+ * <p>
+ * 启动时把候选文字按固定的旋转角度分档预先栅格化为灰度遮罩，生成验证码时按角度取最近的一档直接混合到底图，
+ * 不再每个字 deriveFont 和走 Java2D 文字排版。栅格化使用 BufferedImage 默认的绘制参数(不抗锯齿)，
+ * 与 drawString 在同一角度下的像素一致，只是角度精度变为分档间隔。
+ */
+public final class GlyphAtlas {
+
+    /**
+     * 遮罩四周留白，避免旋转后的笔画被裁掉
+     */
+    private static final int PADDING = 2;
+
+    private final Font font;
+    private final int minAngle;
+    private final int maxAngle;
+    private final int buckets;
+    private final Map<Character, Glyph[]> glyphs;
+
+    private GlyphAtlas(Font font, int minAngle, int maxAngle, int buckets, Map<Character, Glyph[]> glyphs) {
+        this.font = font;
+        this.minAngle = minAngle;
+        this.maxAngle = maxAngle;
+        this.buckets = buckets;
+        this.glyphs = glyphs;
+    }
+
+    /**
+     * 预先栅格化候选文字
+     *
+     * @param font     字体
+     * @param chars    候选文字
+     * @param minAngle 最小旋转角度
+     * @param maxAngle 最大旋转角度
+     * @param buckets  角度分档数，至少为 2
+     * @return 图集
+     */
+    public static GlyphAtlas build(Font font, String chars, int minAngle, int maxAngle, int buckets) {
+        int count = Math.max(2, buckets);
+        Map<Character, Glyph[]> glyphs = new HashMap<>(chars.length() * 2);
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            if (glyphs.containsKey(c)) {
+                continue;
+            }
+            Glyph[] rotated = new Glyph[count];
+            for (int b = 0; b < count; b++) {
+                rotated[b] = rasterize(font, c, bucketAngle(minAngle, maxAngle, count, b));
+            }
+            glyphs.put(c, rotated);
+        }
+        return new GlyphAtlas(font, minAngle, maxAngle, count, glyphs);
+    }
+
+    /**
+     * 取字形，不在候选文字中的字临时栅格化
+     *
+     * @param c     文字
+     * @param angle 旋转角度
+     * @return 字形
+     */
+    public Glyph glyph(char c, int angle) {
+        int bucket = bucket(angle);
+        Glyph[] rotated = glyphs.get(c);
+        if (rotated != null) {
+            return rotated[bucket];
+        }
+        return rasterize(font, c, bucketAngle(minAngle, maxAngle, buckets, bucket));
+    }
+
+    /**
+     * 以基线起点(x, y)绘制，与 drawString(word, x, y) 的定位一致
+     *
+     * @param target 底图
+     * @param glyph  字形
+     * @param x      基线起点x
+     * @param y      基线起点y
+     * @param color  文字颜色
+     */
+    public static void draw(BufferedImage target, Glyph glyph, int x, int y, Color color) {
+        RasterUtils.drawMask(target, glyph.alpha, glyph.width, glyph.height,
+                x + glyph.offsetX, y + glyph.offsetY, color.getRGB());
+    }
+
+    public int size() {
+        return glyphs.size();
+    }
+
+    private int bucket(int angle) {
+        int clamped = Math.max(minAngle, Math.min(maxAngle, angle));
+        return Math.round((float) (clamped - minAngle) * (buckets - 1) / (maxAngle - minAngle));
+    }
+
+    private static double bucketAngle(int minAngle, int maxAngle, int buckets, int bucket) {
+        return minAngle + (double) (maxAngle - minAngle) * bucket / (buckets - 1);
+    }
+
+    private static Glyph rasterize(Font font, char c, double angle) {
+        AffineTransform affineTransform = new AffineTransform();
+        affineTransform.rotate(Math.toRadians(angle), 0, 0);
+        Font rotatedFont = font.deriveFont(affineTransform);
+        String word = String.valueOf(c);
+
+        BufferedImage probe = new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D probeGraphics = probe.createGraphics();
+        Rectangle bounds = rotatedFont.createGlyphVector(probeGraphics.getFontRenderContext(), word)
+                .getPixelBounds(probeGraphics.getFontRenderContext(), 0, 0);
+        probeGraphics.dispose();
+
+        int offsetX = bounds.x - PADDING;
+        int offsetY = bounds.y - PADDING;
+        int width = Math.max(1, bounds.width + PADDING * 2);
+        int height = Math.max(1, bounds.height + PADDING * 2);
+        BufferedImage mask = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = mask.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.setFont(rotatedFont);
+        graphics.drawString(word, -offsetX, -offsetY);
+        graphics.dispose();
+        byte[] alpha = ((DataBufferByte) mask.getRaster().getDataBuffer()).getData();
+        return new Glyph(offsetX, offsetY, width, height, alpha);
+    }
+
+    /**
+     * 单个字形的灰度遮罩，按行存放，0 为透明，255 为完全覆盖
+     */
+    public static final class Glyph {
+
+        private final int offsetX;
+        private final int offsetY;
+        private final int width;
+        private final int height;
+        private final byte[] alpha;
+
+        private Glyph(int offsetX, int offsetY, int width, int height, byte[] alpha) {
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.width = width;
+            this.height = height;
+            this.alpha = alpha;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+}
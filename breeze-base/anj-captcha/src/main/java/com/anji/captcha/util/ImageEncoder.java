@@ -0,0 +1,201 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.spi.ImageWriterSpi;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 验证码图片编码
+ * <p>
+ * 编码器直接写入 Base64 流，Base64 字符写进池化的缓冲区后一次生成字符串，
+ * 省去 toByteArray、encodeToString 和 trim 三次整图复制；缓冲区初始大小参考最近的输出大小。
+ * ImageIO 默认的磁盘缓存也不再使用，统一走内存流。
+ */
+public final class ImageEncoder {
+
+    public static final String PNG = "png";
+    public static final String JPEG = "jpeg";
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageEncoder.class);
+
+    /**
+     * 缓冲区池大小
+     */
+    private static final int POOL_SIZE = 32;
+
+    /**
+     * 缓冲区超过参考大小的倍数时不再回收
+     */
+    private static final int DISCARD_FACTOR = 4;
+
+    private static final BlockingQueue<PooledOutputStream> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final AtomicInteger sizeHint = new AtomicInteger(64 * 1024);
+    private static final Map<String, ImageWriterSpi> writerSpiMap = new ConcurrentHashMap<>();
+
+    /**
+     * 底图格式 png/jpeg，带透明通道的图片始终使用 png
+     */
+    private static volatile String backgroundFormat = PNG;
+
+    /**
+     * png 压缩级别 0-9，小于 0 使用编码器默认值
+     */
+    private static volatile int pngCompressionLevel = -1;
+
+    /**
+     * jpeg 质量 0-1
+     */
+    private static volatile float jpegQuality = 0.8f;
+
+    private ImageEncoder() {
+    }
+
+    public static void configure(String format, int compressionLevel, float quality) {
+        backgroundFormat = JPEG.equalsIgnoreCase(format) || "jpg".equalsIgnoreCase(format) ? JPEG : PNG;
+        pngCompressionLevel = Math.min(compressionLevel, 9);
+        jpegQuality = Math.max(0f, Math.min(quality, 1f));
+        logger.info("验证码图片编码:format={} pngCompressionLevel={} jpegQuality={}",
+                backgroundFormat, pngCompressionLevel, jpegQuality);
+    }
+
+    /**
+     * 底图实际使用的格式
+     *
+     * @param image 底图
+     * @return png/jpeg
+     */
+    public static String backgroundFormat(BufferedImage image) {
+        return image.getColorModel().hasAlpha() ? PNG : backgroundFormat;
+    }
+
+    /**
+     * 按配置的底图格式编码
+     *
+     * @param image 底图
+     * @return base64 字符串
+     */
+    public static String toBase64Background(BufferedImage image) {
+        return toBase64(image, backgroundFormat(image));
+    }
+
+    /**
+     * 编码为 base64 字符串
+     *
+     * @param image  图片
+     * @param format png/jpeg
+     * @return base64 字符串，编码失败时为 null
+     */
+    public static String toBase64(BufferedImage image, String format) {
+        PooledOutputStream buffer = borrow();
+        try {
+            OutputStream base64 = Base64.getEncoder().wrap(buffer);
+            write(image, format, base64);
+            //补齐 base64 结尾
+            base64.close();
+            int size = buffer.size();
+            // 参考大小缓慢回落，跟随最近的输出
+            sizeHint.updateAndGet(hint -> Math.max(size, hint - (hint >> 3)));
+            return new String(buffer.array(), 0, size, StandardCharsets.ISO_8859_1);
+        } catch (IOException e) {
+            logger.error("验证码图片编码失败:{}", format, e);
+            return null;
+        } finally {
+            release(buffer);
+        }
+    }
+
+    private static void write(BufferedImage image, String format, OutputStream out) throws IOException {
+        ImageWriter writer = writerSpi(format).createWriterInstance();
+        try (ImageOutputStream ios = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), writeParam(writer, format));
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static ImageWriteParam writeParam(ImageWriter writer, String format) {
+        if (PNG.equals(format) && pngCompressionLevel < 0) {
+            // 与 ImageIO.write 的默认参数一致
+            return null;
+        }
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if (!param.canWriteCompressed()) {
+            return null;
+        }
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        if (JPEG.equals(format)) {
+            param.setCompressionQuality(jpegQuality);
+        } else {
+            // png 的质量与 deflate 级别反向对应，1 为不压缩
+            param.setCompressionQuality(1f - pngCompressionLevel / 9f);
+        }
+        return param;
+    }
+
+    private static ImageWriterSpi writerSpi(String format) {
+        return writerSpiMap.computeIfAbsent(format, key -> {
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(key);
+            if (!writers.hasNext()) {
+                throw new IllegalArgumentException("unsupported image format:" + key);
+            }
+            return writers.next().getOriginatingProvider();
+        });
+    }
+
+    private static PooledOutputStream borrow() {
+        PooledOutputStream buffer = pool.poll();
+        return buffer != null ? buffer : new PooledOutputStream(sizeHint.get());
+    }
+
+    private static void release(PooledOutputStream buffer) {
+        if (buffer.capacity() > sizeHint.get() * DISCARD_FACTOR) {
+            return;
+        }
+        buffer.reset();
+        pool.offer(buffer);
+    }
+
+    /**
+     * 可复用缓冲区，直接暴露内部数组
+     */
+    private static final class PooledOutputStream extends ByteArrayOutputStream {
+
+        PooledOutputStream(int size) {
+            super(size);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
+}
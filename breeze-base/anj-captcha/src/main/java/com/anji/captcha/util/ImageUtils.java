@@ -11,7 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
+import java.awt.image.*;
 import java.io.*;
 import java.util.Arrays;
 import java.util.Base64;
@@ -28,6 +28,14 @@ public class ImageUtils {
     private static final Map<String, String> slidingBlockCacheMap = new ConcurrentHashMap(); //滑块
     private static final Map<String, String> picClickCacheMap = new ConcurrentHashMap(); //点选文字
     private static final Map<String, String[]> fileNameMap = new ConcurrentHashMap<>();
+    /**
+     * 预解码的底图，按 CaptchaBaseMapEnum 分类，文件名 -> 图片；只读，取用时复制像素
+     */
+    private static final Map<String, Map<String, BufferedImage>> decodedImageMap = new ConcurrentHashMap<>();
+    /**
+     * 滑块、旋转块的模板遮罩，文件名 -> 遮罩
+     */
+    private static final Map<String, Map<String, TemplateMask>> templateMaskMap = new ConcurrentHashMap<>();
 
     public static void cacheImage(String captchaOriginalPathJigsaw, String captchaOriginalPathClick, String captchaOriginalPathRotate) {
         // 旋转拼图
@@ -58,6 +66,11 @@ public class ImageUtils {
         fileNameMap.put(CaptchaBaseMapEnum.PIC_CLICK.getCodeValue(), picClickCacheMap.keySet().toArray(new String[0]));
         fileNameMap.put(CaptchaBaseMapEnum.ROTATE.getCodeValue(), originalRotateCacheMap.keySet().toArray(new String[0]));
         fileNameMap.put(CaptchaBaseMapEnum.ROTATE_BLOCK.getCodeValue(), rotateBlockCacheMap.keySet().toArray(new String[0]));
+        decodeImages(CaptchaBaseMapEnum.ORIGINAL, originalCacheMap);
+        decodeImages(CaptchaBaseMapEnum.SLIDING_BLOCK, slidingBlockCacheMap);
+        decodeImages(CaptchaBaseMapEnum.PIC_CLICK, picClickCacheMap);
+        decodeImages(CaptchaBaseMapEnum.ROTATE, originalRotateCacheMap);
+        decodeImages(CaptchaBaseMapEnum.ROTATE_BLOCK, rotateBlockCacheMap);
         logger.info("初始化底图:{}", JsonUtil.toJSONString(fileNameMap));
     }
 
@@ -68,17 +81,14 @@ public class ImageUtils {
         fileNameMap.put(CaptchaBaseMapEnum.ORIGINAL.getCodeValue(), originalCacheMap.keySet().toArray(new String[0]));
         fileNameMap.put(CaptchaBaseMapEnum.SLIDING_BLOCK.getCodeValue(), slidingBlockCacheMap.keySet().toArray(new String[0]));
         fileNameMap.put(CaptchaBaseMapEnum.PIC_CLICK.getCodeValue(), picClickCacheMap.keySet().toArray(new String[0]));
+        decodeImages(CaptchaBaseMapEnum.ORIGINAL, originalCacheMap);
+        decodeImages(CaptchaBaseMapEnum.SLIDING_BLOCK, slidingBlockCacheMap);
+        decodeImages(CaptchaBaseMapEnum.PIC_CLICK, picClickCacheMap);
         logger.info("自定义resource底图:{}", JsonUtil.toJSONString(fileNameMap));
     }
 
     public static BufferedImage getRotate() {
-        String[] strings = fileNameMap.get(CaptchaBaseMapEnum.ROTATE.getCodeValue());
-        if (null == strings || strings.length == 0) {
-            return null;
-        }
-        Integer randomInt = RandomUtils.getRandomInt(0, strings.length);
-        String s = originalRotateCacheMap.get(strings[randomInt]);
-        return getBase64StrToImage(s);
+        return copyImage(getDecodedImage(CaptchaBaseMapEnum.ROTATE, getRandomFileName(CaptchaBaseMapEnum.ROTATE)));
     }
 
     public static String getRotateBlock() {
@@ -92,13 +102,7 @@ public class ImageUtils {
     }
 
     public static BufferedImage getOriginal() {
-        String[] strings = fileNameMap.get(CaptchaBaseMapEnum.ORIGINAL.getCodeValue());
-        if (null == strings || strings.length == 0) {
-            return null;
-        }
-        Integer randomInt = RandomUtils.getRandomInt(0, strings.length);
-        String s = originalCacheMap.get(strings[randomInt]);
-        return getBase64StrToImage(s);
+        return copyImage(getDecodedImage(CaptchaBaseMapEnum.ORIGINAL, getRandomFileName(CaptchaBaseMapEnum.ORIGINAL)));
     }
 
     public static String getslidingBlock() {
@@ -112,13 +116,81 @@ public class ImageUtils {
     }
 
     public static BufferedImage getPicClick() {
-        String[] strings = fileNameMap.get(CaptchaBaseMapEnum.PIC_CLICK.getCodeValue());
+        return copyImage(getDecodedImage(CaptchaBaseMapEnum.PIC_CLICK, getRandomFileName(CaptchaBaseMapEnum.PIC_CLICK)));
+    }
+
+    /**
+     * 随机取一个底图文件名
+     *
+     * @param baseMap 底图分类
+     * @return 文件名，未初始化时为 null
+     */
+    public static String getRandomFileName(CaptchaBaseMapEnum baseMap) {
+        String[] strings = fileNameMap.get(baseMap.getCodeValue());
         if (null == strings || strings.length == 0) {
             return null;
         }
-        Integer randomInt = RandomUtils.getRandomInt(0, strings.length);
-        String s = picClickCacheMap.get(strings[randomInt]);
-        return getBase64StrToImage(s);
+        return strings[RandomUtils.getRandomInt(0, strings.length)];
+    }
+
+    /**
+     * 取预解码的图片，返回的是共享实例，只能读取像素，需要修改时先 {@link #copyImage(BufferedImage)}
+     *
+     * @param baseMap  底图分类
+     * @param fileName 文件名
+     * @return 图片，不存在时为 null
+     */
+    public static BufferedImage getDecodedImage(CaptchaBaseMapEnum baseMap, String fileName) {
+        Map<String, BufferedImage> images = decodedImageMap.get(baseMap.getCodeValue());
+        if (null == images || null == fileName) {
+            return null;
+        }
+        return images.get(fileName);
+    }
+
+    /**
+     * 取模板遮罩
+     *
+     * @param baseMap  模板分类，SLIDING_BLOCK 或 ROTATE_BLOCK
+     * @param fileName 文件名
+     * @return 遮罩，不存在时为 null
+     */
+    public static TemplateMask getTemplateMask(CaptchaBaseMapEnum baseMap, String fileName) {
+        Map<String, TemplateMask> masks = templateMaskMap.get(baseMap.getCodeValue());
+        if (null == masks || null == fileName) {
+            return null;
+        }
+        return masks.get(fileName);
+    }
+
+    /**
+     * 复制图片像素，同类型的单 bank 数据直接数组拷贝，不再经过 base64 和 png 解码
+     *
+     * @param source 源图片
+     * @return 可修改的副本
+     */
+    public static BufferedImage copyImage(BufferedImage source) {
+        if (null == source) {
+            return null;
+        }
+        ColorModel colorModel = source.getColorModel();
+        WritableRaster sourceRaster = source.getRaster();
+        WritableRaster raster = sourceRaster.createCompatibleWritableRaster();
+        DataBuffer from = sourceRaster.getDataBuffer();
+        DataBuffer to = raster.getDataBuffer();
+        if (from.getNumBanks() == 1 && from.getDataType() == to.getDataType() && from.getSize() == to.getSize()
+                && from.getOffset() == 0 && sourceRaster.getParent() == null) {
+            if (from instanceof DataBufferInt) {
+                System.arraycopy(((DataBufferInt) from).getData(), 0, ((DataBufferInt) to).getData(), 0, from.getSize());
+            } else if (from instanceof DataBufferByte) {
+                System.arraycopy(((DataBufferByte) from).getData(), 0, ((DataBufferByte) to).getData(), 0, from.getSize());
+            } else {
+                raster.setRect(sourceRaster);
+            }
+        } else {
+            raster.setRect(sourceRaster);
+        }
+        return new BufferedImage(colorModel, raster, colorModel.isAlphaPremultiplied(), null);
     }
 
     /**
@@ -128,17 +200,7 @@ public class ImageUtils {
      * @return
      */
     public static String getImageToBase64Str(BufferedImage templateImage) {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try {
-            ImageIO.write(templateImage, "png", baos);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        byte[] bytes = baos.toByteArray();
-
-        Base64.Encoder encoder = Base64.getEncoder();
-
-        return encoder.encodeToString(bytes).trim();
+        return ImageEncoder.toBase64(templateImage, ImageEncoder.PNG);
     }
 
     /**
@@ -160,6 +222,28 @@ public class ImageUtils {
     }
 
 
+    private static void decodeImages(CaptchaBaseMapEnum baseMap, Map<String, String> base64Map) {
+        boolean template = baseMap == CaptchaBaseMapEnum.SLIDING_BLOCK || baseMap == CaptchaBaseMapEnum.ROTATE_BLOCK;
+        Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+        Map<String, TemplateMask> masks = new ConcurrentHashMap<>();
+        base64Map.forEach((fileName, base64) -> {
+            BufferedImage image = getBase64StrToImage(base64);
+            if (null == image) {
+                logger.error("底图解码失败:{} {}", baseMap.getCodeValue(), fileName);
+                return;
+            }
+            image = RasterUtils.toIntRaster(image);
+            images.put(fileName, image);
+            if (template) {
+                masks.put(fileName, TemplateMask.of(image));
+            }
+        });
+        decodedImageMap.put(baseMap.getCodeValue(), images);
+        if (template) {
+            templateMaskMap.put(baseMap.getCodeValue(), masks);
+        }
+    }
+
     private static Map<String, String> getResourcesImagesFile(String path) {
         //默认提供六张底图
         Map<String, String> imgMap = new HashMap<>();
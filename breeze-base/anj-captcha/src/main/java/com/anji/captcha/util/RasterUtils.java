@@ -0,0 +1,247 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.util;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+/**
+ * 验证码像素处理
+ * <p>
+ * TYPE_INT_RGB / TYPE_INT_ARGB 图片直接读写 DataBufferInt 的 int[]，其他类型退回 getRGB/setRGB，
+ * 两条路径的遍历顺序和取值规则完全一致，输出图片逐字节相同。
+ */
+public final class RasterUtils {
+
+    private static final int WHITE = Color.white.getRGB();
+
+    private RasterUtils() {
+    }
+
+    /**
+     * 无损转换为 int 像素图片：TYPE_3BYTE_BGR 转 TYPE_INT_RGB，TYPE_4BYTE_ABGR 转 TYPE_INT_ARGB，其他类型原样返回
+     *
+     * @param image 解码后的图片
+     * @return int 像素图片
+     */
+    public static BufferedImage toIntRaster(BufferedImage image) {
+        int type;
+        if (image.getType() == BufferedImage.TYPE_3BYTE_BGR) {
+            type = BufferedImage.TYPE_INT_RGB;
+        } else if (image.getType() == BufferedImage.TYPE_4BYTE_ABGR) {
+            type = BufferedImage.TYPE_INT_ARGB;
+        } else {
+            return image;
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        BufferedImage target = new BufferedImage(width, height, type);
+        target.setRGB(0, 0, width, height, image.getRGB(0, 0, width, height, null, 0, width), 0, width);
+        return target;
+    }
+
+    /**
+     * 根据模板抠图：不透明区域复制到新图并在原图做模糊，轮廓描白边
+     *
+     * @param oriImage 原图
+     * @param mask     模板遮罩
+     * @param newImage 新抠出的小图，为 null 时只处理原图(干扰块)
+     * @param x        随机扣取坐标X
+     * @param y        随机扣取坐标y
+     */
+    public static void cutByTemplate(BufferedImage oriImage, TemplateMask mask, BufferedImage newImage, int x, int y) {
+        if (isIntRaster(oriImage) && (newImage == null || isIntRaster(newImage))
+                && x >= 0 && y >= 0
+                && x + mask.getWidth() <= oriImage.getWidth() && y + mask.getHeight() <= oriImage.getHeight()) {
+            cutIntRaster(oriImage, mask, newImage, x, y);
+        } else {
+            cutRgb(oriImage, mask, newImage, x, y);
+        }
+    }
+
+    /**
+     * 按灰度遮罩把纯色混合到图片上，超出图片的部分裁掉
+     *
+     * @param target 目标图片
+     * @param alpha  遮罩，按行存放，0-255
+     * @param width  遮罩宽度
+     * @param height 遮罩高度
+     * @param x      遮罩左上角x
+     * @param y      遮罩左上角y
+     * @param rgb    颜色
+     */
+    public static void drawMask(BufferedImage target, byte[] alpha, int width, int height, int x, int y, int rgb) {
+        int fromX = Math.max(0, -x);
+        int fromY = Math.max(0, -y);
+        int toX = Math.min(width, target.getWidth() - x);
+        int toY = Math.min(height, target.getHeight() - y);
+        boolean intRaster = isIntRaster(target);
+        int[] data = intRaster ? data(target) : null;
+        int stride = intRaster ? stride(target) : 0;
+        int store = target.getType() == BufferedImage.TYPE_INT_RGB ? 0x00FFFFFF : 0xFFFFFFFF;
+        for (int j = fromY; j < toY; j++) {
+            int row = j * width;
+            for (int i = fromX; i < toX; i++) {
+                int a = alpha[row + i] & 0xFF;
+                if (a == 0) {
+                    continue;
+                }
+                if (intRaster) {
+                    int index = (y + j) * stride + x + i;
+                    data[index] = blend(data[index], rgb, a) & store;
+                } else {
+                    target.setRGB(x + i, y + j, blend(target.getRGB(x + i, y + j), rgb, a));
+                }
+            }
+        }
+    }
+
+    /**
+     * 不透明颜色按覆盖率 SrcOver 混合，完全覆盖时即为该颜色
+     */
+    private static int blend(int dst, int src, int a) {
+        if (a == 0xFF) {
+            return 0xFF000000 | src;
+        }
+        int na = 0xFF - a;
+        int da = dst >>> 24;
+        int outAlpha = a + (da * na + 127) / 0xFF;
+        int r = (((src >> 16) & 0xFF) * a + ((dst >> 16) & 0xFF) * na + 127) / 0xFF;
+        int g = (((src >> 8) & 0xFF) * a + ((dst >> 8) & 0xFF) * na + 127) / 0xFF;
+        int b = ((src & 0xFF) * a + (dst & 0xFF) * na + 127) / 0xFF;
+        return (outAlpha << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private static void cutIntRaster(BufferedImage oriImage, TemplateMask mask, BufferedImage newImage, int x, int y) {
+        int[] ori = data(oriImage);
+        int oriStride = stride(oriImage);
+        int oriWidth = oriImage.getWidth();
+        int oriHeight = oriImage.getHeight();
+        // TYPE_INT_RGB 没有 alpha，读取时补齐，写入时去掉，与 getRGB/setRGB 一致
+        int oriAlpha = oriImage.getType() == BufferedImage.TYPE_INT_RGB ? 0xFF000000 : 0;
+        int oriStore = oriImage.getType() == BufferedImage.TYPE_INT_RGB ? 0x00FFFFFF : 0xFFFFFFFF;
+        int[] dst = newImage == null ? null : data(newImage);
+        int dstStride = newImage == null ? 0 : stride(newImage);
+        int dstStore = newImage != null && newImage.getType() == BufferedImage.TYPE_INT_RGB ? 0x00FFFFFF : 0xFFFFFFFF;
+
+        byte[] flags = mask.flags();
+        int xLength = mask.getWidth();
+        int yLength = mask.getHeight();
+        // 先列后行，模糊会读到已处理过的相邻像素，顺序不能改
+        for (int i = 0; i < xLength; i++) {
+            int column = i * yLength;
+            for (int j = 0; j < yLength; j++) {
+                byte flag = flags[column + j];
+                if (flag == 0) {
+                    continue;
+                }
+                int px = x + i;
+                int py = y + j;
+                int index = py * oriStride + px;
+                if ((flag & TemplateMask.OPAQUE) != 0) {
+                    if (dst != null) {
+                        dst[j * dstStride + i] = (ori[index] | oriAlpha) & dstStore;
+                    }
+                    ori[index] = blur(ori, oriStride, oriWidth, oriHeight, px, py) & oriStore;
+                }
+                if ((flag & TemplateMask.EDGE) != 0) {
+                    if (dst != null) {
+                        dst[j * dstStride + i] = WHITE & dstStore;
+                    }
+                    ori[index] = WHITE & oriStore;
+                }
+            }
+        }
+    }
+
+    private static void cutRgb(BufferedImage oriImage, TemplateMask mask, BufferedImage newImage, int x, int y) {
+        byte[] flags = mask.flags();
+        int xLength = mask.getWidth();
+        int yLength = mask.getHeight();
+        for (int i = 0; i < xLength; i++) {
+            int column = i * yLength;
+            for (int j = 0; j < yLength; j++) {
+                byte flag = flags[column + j];
+                if ((flag & TemplateMask.OPAQUE) != 0) {
+                    if (newImage != null) {
+                        newImage.setRGB(i, j, oriImage.getRGB(x + i, y + j));
+                    }
+                    oriImage.setRGB(x + i, y + j, blur(oriImage, x + i, y + j));
+                }
+                if ((flag & TemplateMask.EDGE) != 0) {
+                    if (newImage != null) {
+                        newImage.setRGB(i, j, WHITE);
+                    }
+                    oriImage.setRGB(x + i, y + j, WHITE);
+                }
+            }
+        }
+    }
+
+    /**
+     * 抠图区域模糊：取左中右三列的上下两行共 6 个像素，各通道求和后除以 8，越界时按原实现镜像或取中心
+     */
+    private static int blur(int[] data, int stride, int width, int height, int x, int y) {
+        int r = 0;
+        int g = 0;
+        int b = 0;
+        for (int i = x - 1; i <= x + 1; i++) {
+            int tx = i < 0 ? -i : (i >= width ? x : i);
+            for (int j = y - 1; j <= y + 1; j += 2) {
+                int ty = j < 0 ? -j : (j >= height ? y : j);
+                int p = data[ty * stride + tx];
+                r += (p >> 16) & 0xFF;
+                g += (p >> 8) & 0xFF;
+                b += p & 0xFF;
+            }
+        }
+        return 0xFF000000 | ((r >> 3) << 16) | ((g >> 3) << 8) | (b >> 3);
+    }
+
+    private static int blur(BufferedImage img, int x, int y) {
+        int width = img.getWidth();
+        int height = img.getHeight();
+        int r = 0;
+        int g = 0;
+        int b = 0;
+        for (int i = x - 1; i <= x + 1; i++) {
+            int tx = i < 0 ? -i : (i >= width ? x : i);
+            for (int j = y - 1; j <= y + 1; j += 2) {
+                int ty = j < 0 ? -j : (j >= height ? y : j);
+                int p = img.getRGB(tx, ty);
+                r += (p >> 16) & 0xFF;
+                g += (p >> 8) & 0xFF;
+                b += p & 0xFF;
+            }
+        }
+        return 0xFF000000 | ((r >> 3) << 16) | ((g >> 3) << 8) | (b >> 3);
+    }
+
+    private static boolean isIntRaster(BufferedImage image) {
+        int type = image.getType();
+        if (type != BufferedImage.TYPE_INT_RGB && type != BufferedImage.TYPE_INT_ARGB) {
+            return false;
+        }
+        WritableRaster raster = image.getRaster();
+        return raster.getSampleModel() instanceof SinglePixelPackedSampleModel
+                && raster.getDataBuffer() instanceof DataBufferInt
+                && raster.getDataBuffer().getOffset() == 0
+                && raster.getSampleModelTranslateX() == 0
+                && raster.getSampleModelTranslateY() == 0;
+    }
+
+    private static int[] data(BufferedImage image) {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    private static int stride(BufferedImage image) {
+        return ((SinglePixelPackedSampleModel) image.getRaster().getSampleModel()).getScanlineStride();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.util;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * 抠图模板遮罩
+ * <p>
+ * 模板图片解码后预先计算每个像素是否不透明以及是否为轮廓点，抠图时不再逐像素 getRGB 读模板。
+ * 数组按列存放(index = i * height + j)，与抠图时先列后行的遍历顺序一致。
+ */
+public final class TemplateMask {
+
+    /**
+     * 不透明，需要抠图
+     */
+    public static final byte OPAQUE = 1;
+
+    /**
+     * 轮廓点，描白边
+     */
+    public static final byte EDGE = 2;
+
+    private final int width;
+    private final int height;
+    private final byte[] flags;
+
+    private TemplateMask(int width, int height, byte[] flags) {
+        this.width = width;
+        this.height = height;
+        this.flags = flags;
+    }
+
+    /**
+     * 根据模板图片计算遮罩，不透明的判断与原实现一致：getRGB 小于 0 即 alpha 最高位为 1
+     *
+     * @param template 模板图片
+     * @return 遮罩
+     */
+    public static TemplateMask of(BufferedImage template) {
+        int width = template.getWidth();
+        int height = template.getHeight();
+        int[] argb = template.getRGB(0, 0, width, height, null, 0, width);
+        byte[] flags = new byte[width * height];
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                boolean opaque = argb[j * width + i] < 0;
+                byte flag = opaque ? OPAQUE : 0;
+                //最后一行和最后一列不描边
+                if (i < width - 1 && j < height - 1) {
+                    boolean right = argb[j * width + i + 1] < 0;
+                    boolean down = argb[(j + 1) * width + i] < 0;
+                    if (opaque != right || opaque != down) {
+                        flag |= EDGE;
+                    }
+                }
+                flags[i * height + j] = flag;
+            }
+        }
+        return new TemplateMask(width, height, flags);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * 按列存放的像素标记，只读
+     */
+    byte[] flags() {
+        return flags;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.model.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimitWindowTest {
+
+    @Test
+    void fixedWindowCountsOnlyCurrent() {
+        LimitWindow window = LimitWindow.of("fixed", "limit:get:ip", 20, 60);
+
+        assertEquals("limit:get:ip", window.getCurrentKey());
+        assertEquals(window.getCurrentKey(), window.getPreviousKey());
+        assertEquals(0D, window.getPreviousWeight());
+        assertEquals(60, window.getExpireSeconds());
+        assertEquals(7, window.estimate(7, 100));
+    }
+
+    @Test
+    void unknownAlgorithmFallsBackToFixed() {
+        LimitWindow window = LimitWindow.of("token-bucket", "k", 20, 60);
+
+        assertEquals("k", window.getCurrentKey());
+        assertEquals(0D, window.getPreviousWeight());
+    }
+
+    @Test
+    void slidingWindowKeysAlignToWindowLength() {
+        long now = 10 * 60_000L + 15_000L;
+        LimitWindow window = LimitWindow.sliding("k", 20, 60, now);
+
+        assertEquals("k:10", window.getCurrentKey());
+        assertEquals("k:9", window.getPreviousKey());
+        // 当前段还要作为下一段的上一段
+        assertEquals(120, window.getExpireSeconds());
+        assertEquals(20, window.getLimit());
+    }
+
+    @Test
+    void slidingWindowWeightsPreviousSegmentByRemainingOverlap() {
+        long segmentStart = 10 * 60_000L;
+
+        LimitWindow atStart = LimitWindow.sliding("k", 20, 60, segmentStart);
+        assertEquals(1D, atStart.getPreviousWeight());
+        assertEquals(25, atStart.estimate(5, 20));
+
+        LimitWindow quarter = LimitWindow.sliding("k", 20, 60, segmentStart + 15_000L);
+        assertEquals(0.75D, quarter.getPreviousWeight());
+        assertEquals(20, quarter.estimate(5, 20));
+
+        LimitWindow nearEnd = LimitWindow.sliding("k", 20, 60, segmentStart + 59_999L);
+        assertTrue(nearEnd.getPreviousWeight() > 0D);
+        assertEquals(5, nearEnd.estimate(5, 20));
+    }
+
+    @Test
+    void slidingWindowRejectsBurstAcrossBoundary() {
+        long boundary = 10 * 60_000L;
+        // 上一段末尾已用满 20 次，刚跨过边界时固定窗口会再放过 20 次
+        LimitWindow window = LimitWindow.sliding("k", 20, 60, boundary + 1_000L);
+
+        assertTrue(window.estimate(2, 20) > window.getLimit());
+        // 过了大半个窗口后上一段的影响逐渐消失
+        LimitWindow later = LimitWindow.sliding("k", 20, 60, boundary + 45_000L);
+        assertTrue(later.estimate(10, 20) <= later.getLimit());
+    }
+
+}
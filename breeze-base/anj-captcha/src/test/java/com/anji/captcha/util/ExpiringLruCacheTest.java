@@ -0,0 +1,193 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringLruCacheTest {
+
+    @Test
+    void expiredEntryIsNotReturned() throws InterruptedException {
+        ExpiringLruCache cache = new ExpiringLruCache(16);
+        cache.set("short", "v", 1);
+        cache.set("forever", "v", 0);
+        assertEquals("v", cache.get("short"));
+
+        TimeUnit.MILLISECONDS.sleep(1100);
+
+        assertNull(cache.get("short"));
+        assertFalse(cache.exists("short"));
+        assertEquals("v", cache.get("forever"));
+    }
+
+    @Test
+    void purgeExpiredDropsOnlyExpiredEntries() throws InterruptedException {
+        ExpiringLruCache cache = new ExpiringLruCache(16, 1);
+        cache.set("a", "1", 1);
+        cache.set("b", "2", 60);
+        // 覆盖后旧的堆节点失效，不能把新条目一起清掉
+        cache.set("a", "3", 60);
+        cache.set("c", "4", 1);
+
+        TimeUnit.MILLISECONDS.sleep(1100);
+        cache.purgeExpired();
+
+        assertEquals(2, cache.size());
+        assertEquals("3", cache.get("a"));
+        assertEquals("2", cache.get("b"));
+        assertNull(cache.get("c"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        ExpiringLruCache cache = new ExpiringLruCache(3, 1);
+        cache.set("a", "1", 0);
+        cache.set("b", "2", 0);
+        cache.set("c", "3", 0);
+        // 访问 a 后 b 成为最久未使用
+        cache.get("a");
+        cache.set("d", "4", 0);
+
+        assertEquals(3, cache.size());
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+        assertEquals("4", cache.get("d"));
+    }
+
+    @Test
+    void purgingStaleHeapNodeDoesNotRefreshRecency() throws InterruptedException {
+        ExpiringLruCache cache = new ExpiringLruCache(2, 1);
+        cache.set("a", "1", 1);
+        // 覆盖后 a 的旧堆节点留在堆里
+        cache.set("a", "2", 60);
+        cache.set("b", "3", 60);
+
+        TimeUnit.MILLISECONDS.sleep(1100);
+        // 弹出 a 的旧堆节点，不能把 a 变成最近使用
+        cache.purgeExpired();
+        cache.set("c", "4", 60);
+
+        assertNull(cache.get("a"));
+        assertEquals("3", cache.get("b"));
+        assertEquals("4", cache.get("c"));
+    }
+
+    @Test
+    void shrinkingTakesEffectOnNextWrite() {
+        ExpiringLruCache cache = new ExpiringLruCache(4, 1);
+        cache.set("a", "1", 0);
+        cache.set("b", "2", 0);
+        cache.set("c", "3", 0);
+        cache.setMaximumSize(1);
+        cache.set("d", "4", 0);
+
+        assertEquals("4", cache.get("d"));
+        assertTrue(cache.size() < 4);
+    }
+
+    @Test
+    void incrementStartsFromZeroAndKeepsExpiry() throws InterruptedException {
+        ExpiringLruCache cache = new ExpiringLruCache(16);
+        assertEquals(1, cache.increment("count", 1, 1));
+        // 已存在的计数保留首次写入的过期时间
+        assertEquals(3, cache.increment("count", 2, 60));
+        assertEquals("3", cache.get("count"));
+
+        TimeUnit.MILLISECONDS.sleep(1100);
+
+        assertNull(cache.get("count"));
+        assertEquals(5, cache.increment("count", 5));
+    }
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws Exception {
+        ExpiringLruCache cache = new ExpiringLruCache(16);
+        int threads = 8;
+        int perThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < perThread; j++) {
+                        cache.increment("count", 1, 60);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(String.valueOf(threads * perThread), cache.get("count"));
+    }
+
+    @Test
+    void getAndDeleteReturnsValueOnce() throws InterruptedException {
+        ExpiringLruCache cache = new ExpiringLruCache(16);
+        cache.set("code", "1234", 60);
+
+        assertEquals("1234", cache.getAndDelete("code"));
+        assertNull(cache.getAndDelete("code"));
+        assertNull(cache.get("code"));
+
+        cache.set("expired", "1234", 1);
+        TimeUnit.MILLISECONDS.sleep(1100);
+        assertNull(cache.getAndDelete("expired"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void concurrentGetAndDeleteHandsOutValueOnce() throws Exception {
+        ExpiringLruCache cache = new ExpiringLruCache(16);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                cache.set("code", "1234", 60);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<String>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return cache.getAndDelete("code");
+                    }));
+                }
+                start.countDown();
+                int hits = 0;
+                for (Future<String> future : futures) {
+                    if (future.get(10, TimeUnit.SECONDS) != null) {
+                        hits++;
+                    }
+                }
+                assertEquals(1, hits);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
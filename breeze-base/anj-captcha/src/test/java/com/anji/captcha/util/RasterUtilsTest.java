@@ -0,0 +1,255 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class RasterUtilsTest {
+
+    private static final String[] BACKGROUNDS = {"1.png", "2.png", "3.png", "4.png", "5.png", "6.png", "bg8.png"};
+
+    private static final String[] TEMPLATES = {"1.png", "2.png", "3.png", "4.png", "5.png", "6.png"};
+
+    @Test
+    void cutMatchesReferenceImplementation() throws IOException {
+        for (String background : BACKGROUNDS) {
+            BufferedImage decoded = read("defaultImages/jigsaw/original/" + background);
+            for (Map.Entry<String, BufferedImage> entry : templates().entrySet()) {
+                String template = entry.getKey();
+                BufferedImage templateImage = entry.getValue();
+                TemplateMask mask = TemplateMask.of(templateImage);
+                for (Point point : positions(decoded, templateImage)) {
+                    String name = background + " / " + template + " @ " + point.x + "," + point.y;
+
+                    BufferedImage expectedOri = copy(decoded);
+                    BufferedImage expectedNew = newJigsaw(templateImage);
+                    referenceCutByTemplate(expectedOri, templateImage, expectedNew, point.x, point.y);
+
+                    // int 像素路径
+                    BufferedImage actualOri = RasterUtils.toIntRaster(copy(decoded));
+                    BufferedImage actualNew = newJigsaw(templateImage);
+                    RasterUtils.cutByTemplate(actualOri, mask, actualNew, point.x, point.y);
+                    assertPixelsEqual(expectedOri, actualOri, name);
+                    assertPixelsEqual(expectedNew, actualNew, name);
+
+                    // getRGB/setRGB 路径
+                    BufferedImage rgbOri = copy(decoded);
+                    BufferedImage rgbNew = newJigsaw(templateImage);
+                    RasterUtils.cutByTemplate(rgbOri, mask, rgbNew, point.x, point.y);
+                    assertPixelsEqual(expectedOri, rgbOri, name);
+                    assertPixelsEqual(expectedNew, rgbNew, name);
+                }
+            }
+        }
+    }
+
+    @Test
+    void interferenceMatchesReferenceImplementation() throws IOException {
+        for (String background : BACKGROUNDS) {
+            BufferedImage decoded = read("defaultImages/jigsaw/original/" + background);
+            for (Map.Entry<String, BufferedImage> entry : templates().entrySet()) {
+                String template = entry.getKey();
+                BufferedImage templateImage = entry.getValue();
+                TemplateMask mask = TemplateMask.of(templateImage);
+                for (Point point : positions(decoded, templateImage)) {
+                    BufferedImage expected = copy(decoded);
+                    referenceInterferenceByTemplate(expected, templateImage, point.x, point.y);
+
+                    BufferedImage actual = RasterUtils.toIntRaster(copy(decoded));
+                    RasterUtils.cutByTemplate(actual, mask, null, point.x, point.y);
+                    assertPixelsEqual(expected, actual, background + " / " + template + " @ " + point.x + "," + point.y);
+                }
+            }
+        }
+    }
+
+    /**
+     * 自带模板四周透明，另加一个贴边不透明的模板，让模糊取样真正越过图片边界
+     */
+    private static Map<String, BufferedImage> templates() throws IOException {
+        Map<String, BufferedImage> templates = new LinkedHashMap<>();
+        for (String template : TEMPLATES) {
+            templates.put(template, read("defaultImages/jigsaw/slidingBlock/" + template));
+        }
+        BufferedImage solid = new BufferedImage(24, 20, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < solid.getHeight(); y++) {
+            for (int x = 0; x < solid.getWidth(); x++) {
+                boolean hole = x >= 8 && x < 16 && y >= 6 && y < 14;
+                solid.setRGB(x, y, hole ? 0 : 0xFF808080);
+            }
+        }
+        templates.put("solid", solid);
+        return templates;
+    }
+
+    /**
+     * 四个角和中间，覆盖模糊取样越界的两种处理
+     */
+    private static List<Point> positions(BufferedImage background, BufferedImage template) {
+        int maxX = background.getWidth() - template.getWidth();
+        int maxY = background.getHeight() - template.getHeight();
+        List<Point> points = new ArrayList<>();
+        points.add(new Point(0, 0));
+        points.add(new Point(maxX, 0));
+        points.add(new Point(0, maxY));
+        points.add(new Point(maxX, maxY));
+        points.add(new Point(maxX / 2, maxY / 2));
+        return points;
+    }
+
+    private static BufferedImage read(String path) throws IOException {
+        try (InputStream in = RasterUtilsTest.class.getClassLoader().getResourceAsStream(path)) {
+            assertNotNull(in, path);
+            return ImageIO.read(in);
+        }
+    }
+
+    private static BufferedImage copy(BufferedImage image) {
+        return new BufferedImage(image.getColorModel(), image.copyData(null), image.isAlphaPremultiplied(), null);
+    }
+
+    private static BufferedImage newJigsaw(BufferedImage template) {
+        return new BufferedImage(template.getWidth(), template.getHeight(), BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static void assertPixelsEqual(BufferedImage expected, BufferedImage actual, String name) {
+        assertEquals(expected.getWidth(), actual.getWidth(), name);
+        assertEquals(expected.getHeight(), actual.getHeight(), name);
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                int e = expected.getRGB(x, y);
+                int a = actual.getRGB(x, y);
+                if (e != a) {
+                    assertEquals(Integer.toHexString(e), Integer.toHexString(a), name + " pixel " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    // 以下为改写前 BlockPuzzleCaptchaServiceImpl 中的实现，作为对照
+
+    private static void referenceCutByTemplate(BufferedImage oriImage, BufferedImage templateImage, BufferedImage newImage, int x, int y) {
+        int[][] martrix = new int[3][3];
+        int[] values = new int[9];
+
+        int xLength = templateImage.getWidth();
+        int yLength = templateImage.getHeight();
+        for (int i = 0; i < xLength; i++) {
+            for (int j = 0; j < yLength; j++) {
+                int rgb = templateImage.getRGB(i, j);
+                if (rgb < 0) {
+                    newImage.setRGB(i, j, oriImage.getRGB(x + i, y + j));
+
+                    readPixel(oriImage, x + i, y + j, values);
+                    fillMatrix(martrix, values);
+                    oriImage.setRGB(x + i, y + j, avgMatrix(martrix));
+                }
+
+                if (i == (xLength - 1) || j == (yLength - 1)) {
+                    continue;
+                }
+                int rightRgb = templateImage.getRGB(i + 1, j);
+                int downRgb = templateImage.getRGB(i, j + 1);
+                if ((rgb >= 0 && rightRgb < 0) || (rgb < 0 && rightRgb >= 0) || (rgb >= 0 && downRgb < 0) || (rgb < 0 && downRgb >= 0)) {
+                    newImage.setRGB(i, j, Color.white.getRGB());
+                    oriImage.setRGB(x + i, y + j, Color.white.getRGB());
+                }
+            }
+        }
+    }
+
+    private static void referenceInterferenceByTemplate(BufferedImage oriImage, BufferedImage templateImage, int x, int y) {
+        int[][] martrix = new int[3][3];
+        int[] values = new int[9];
+
+        int xLength = templateImage.getWidth();
+        int yLength = templateImage.getHeight();
+        for (int i = 0; i < xLength; i++) {
+            for (int j = 0; j < yLength; j++) {
+                int rgb = templateImage.getRGB(i, j);
+                if (rgb < 0) {
+                    readPixel(oriImage, x + i, y + j, values);
+                    fillMatrix(martrix, values);
+                    oriImage.setRGB(x + i, y + j, avgMatrix(martrix));
+                }
+                if (i == (xLength - 1) || j == (yLength - 1)) {
+                    continue;
+                }
+                int rightRgb = templateImage.getRGB(i + 1, j);
+                int downRgb = templateImage.getRGB(i, j + 1);
+                if ((rgb >= 0 && rightRgb < 0) || (rgb < 0 && rightRgb >= 0) || (rgb >= 0 && downRgb < 0) || (rgb < 0 && downRgb >= 0)) {
+                    oriImage.setRGB(x + i, y + j, Color.white.getRGB());
+                }
+            }
+        }
+    }
+
+    private static void readPixel(BufferedImage img, int x, int y, int[] pixels) {
+        int xStart = x - 1;
+        int yStart = y - 1;
+        int current = 0;
+        for (int i = xStart; i < 3 + xStart; i++) {
+            for (int j = yStart; j < 3 + yStart; j++) {
+                int tx = i;
+                if (tx < 0) {
+                    tx = -tx;
+                } else if (tx >= img.getWidth()) {
+                    tx = x;
+                }
+                int ty = j;
+                if (ty < 0) {
+                    ty = -ty;
+                } else if (ty >= img.getHeight()) {
+                    ty = y;
+                }
+                pixels[current++] = img.getRGB(tx, ty);
+            }
+        }
+    }
+
+    private static void fillMatrix(int[][] matrix, int[] values) {
+        int filled = 0;
+        for (int i = 0; i < matrix.length; i++) {
+            int[] x = matrix[i];
+            for (int j = 0; j < x.length; j++) {
+                x[j] = values[filled++];
+            }
+        }
+    }
+
+    private static int avgMatrix(int[][] matrix) {
+        int r = 0;
+        int g = 0;
+        int b = 0;
+        for (int i = 0; i < matrix.length; i++) {
+            int[] x = matrix[i];
+            for (int j = 0; j < x.length; j++) {
+                if (j == 1) {
+                    continue;
+                }
+                Color c = new Color(x[j]);
+                r += c.getRed();
+                g += c.getGreen();
+                b += c.getBlue();
+            }
+        }
+        return new Color(r / 8, g / 8, b / 8).getRGB();
+    }
+}
@@ -3,7 +3,10 @@ package com.breeze.boot.service;
 import com.anji.captcha.service.CaptchaCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -21,6 +24,16 @@ import java.util.concurrent.TimeUnit;
  */
 public class CaptchaCacheServiceRedis implements CaptchaCacheService {
 
+    /**
+     * 取值并删除，兼容不支持 GETDEL 的 redis 版本
+     */
+    private static final RedisScript<String> GET_AND_DELETE_SCRIPT = new DefaultRedisScript<>(
+            "local value = redis.call('GET', KEYS[1])\n" +
+            "if value then\n" +
+            "    redis.call('DEL', KEYS[1])\n" +
+            "end\n" +
+            "return value", String.class);
+
     /**
      * 字符串redis模板
      */
@@ -81,6 +94,28 @@ public class CaptchaCacheServiceRedis implements CaptchaCacheService {
         return stringRedisTemplate.opsForValue().get(key);
     }
 
+    /**
+     * 取值并删除，一次 EVALSHA 往返
+     *
+     * @param key KEY
+     * @return {@link String}
+     */
+    @Override
+    public String getAndDelete(String key) {
+        return stringRedisTemplate.execute(GET_AND_DELETE_SCRIPT, Collections.singletonList(key));
+    }
+
+    /**
+     * 存在则删除，DEL 的返回值即删除前是否存在
+     *
+     * @param key KEY
+     * @return boolean
+     */
+    @Override
+    public boolean existsAndDelete(String key) {
+        return Boolean.TRUE.equals(stringRedisTemplate.delete(key));
+    }
+
     /**
      * 增加
      *
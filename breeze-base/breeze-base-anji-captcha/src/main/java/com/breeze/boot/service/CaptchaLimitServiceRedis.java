@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.service;
+
+import com.anji.captcha.model.common.LimitWindow;
+import com.anji.captcha.service.CaptchaLimitService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 验证码限流计数
+ * <p>
+ * 锁定检查、窗口计数、失败次数检查在一个 lua 脚本中完成，每次校验只有一次 EVALSHA 往返，
+ * 计数使用 INCR，多节点并发请求也不会丢失计数。
+ * <p>
+ * 依赖 StringRedisTemplate，只能由容器创建，不通过 SPI 加载，由 AjCaptchaServiceAutoConfiguration 注册到 CaptchaServiceFactory。
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public class CaptchaLimitServiceRedis implements CaptchaLimitService {
+
+    /**
+     * KEYS: 当前段计数、上一段计数、锁定、失败计数(后两个可选)
+     * ARGV: 上限、当前段过期秒数、上一段权重、失败上限、锁定秒数
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "if #KEYS > 2 and redis.call('EXISTS', KEYS[3]) == 1 then\n" +
+            "    return 1\n" +
+            "end\n" +
+            "local current = redis.call('INCR', KEYS[1])\n" +
+            "if current == 1 then\n" +
+            "    redis.call('EXPIRE', KEYS[1], ARGV[2])\n" +
+            "end\n" +
+            "local weight = tonumber(ARGV[3])\n" +
+            "if weight > 0 then\n" +
+            "    current = current + math.floor(tonumber(redis.call('GET', KEYS[2]) or '0') * weight)\n" +
+            "end\n" +
+            "if current > tonumber(ARGV[1]) then\n" +
+            "    return 2\n" +
+            "end\n" +
+            "if #KEYS > 2 and tonumber(redis.call('GET', KEYS[4]) or '0') > tonumber(ARGV[4]) then\n" +
+            "    redis.call('SET', KEYS[3], '1', 'EX', ARGV[5])\n" +
+            "    return 1\n" +
+            "end\n" +
+            "return 0", Long.class);
+
+    /**
+     * KEYS: 失败计数
+     * ARGV: 计数秒数
+     */
+    private static final RedisScript<Long> FAIL_SCRIPT = new DefaultRedisScript<>(
+            "local fails = redis.call('INCR', KEYS[1])\n" +
+            "if fails == 1 then\n" +
+            "    redis.call('EXPIRE', KEYS[1], ARGV[1])\n" +
+            "end\n" +
+            "return fails", Long.class);
+
+    /**
+     * 字符串redis模板
+     */
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 类型
+     *
+     * @return {@link String}
+     */
+    @Override
+    public String type() {
+        return "redis";
+    }
+
+    /**
+     * 计数并判断是否放行
+     *
+     * @param window      计数窗口
+     * @param lockKey     锁定 key
+     * @param failKey     失败计数 key
+     * @param failLimit   失败次数上限
+     * @param lockSeconds 锁定秒数
+     * @return int
+     */
+    @Override
+    public int acquire(LimitWindow window, String lockKey, String failKey, long failLimit, long lockSeconds) {
+        List<String> keys = lockKey == null
+                ? Arrays.asList(window.getCurrentKey(), window.getPreviousKey())
+                : Arrays.asList(window.getCurrentKey(), window.getPreviousKey(), lockKey, failKey);
+        Long result = stringRedisTemplate.execute(ACQUIRE_SCRIPT, keys,
+                String.valueOf(window.getLimit()),
+                String.valueOf(window.getExpireSeconds()),
+                String.valueOf(window.getPreviousWeight()),
+                String.valueOf(failLimit),
+                String.valueOf(lockSeconds));
+        return result == null ? PASS : result.intValue();
+    }
+
+    /**
+     * 失败计数
+     *
+     * @param failKey       失败计数 key
+     * @param windowSeconds 计数秒数
+     * @return long
+     */
+    @Override
+    public long recordFail(String failKey, long windowSeconds) {
+        Long fails = stringRedisTemplate.execute(FAIL_SCRIPT, Collections.singletonList(failKey), String.valueOf(windowSeconds));
+        return fails == null ? 0L : fails;
+    }
+}
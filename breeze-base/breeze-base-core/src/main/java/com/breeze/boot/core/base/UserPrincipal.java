@@ -157,6 +157,12 @@ public class UserPrincipal implements Serializable {
 
     private Collection<Long> subDeptId;
 
+    /**
+     * 权限版本号，生成 authorities、userRoleCodes 时的全局权限版本号
+     */
+    @Schema(description = "权限版本号")
+    private Long permissionVersion;
+
     // @formatter:off
     /**
      * 用户主体
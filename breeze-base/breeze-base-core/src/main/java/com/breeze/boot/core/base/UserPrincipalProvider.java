@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.core.base;
+
+/**
+ * 当前登录用户
+ * <p>
+ * 由认证模块提供实现，mybatis、日志等模块只依赖该接口，不依赖具体的会话框架
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public interface UserPrincipalProvider {
+
+    /**
+     * 当前登录用户，未登录时抛出认证模块的未登录异常
+     *
+     * @return {@link UserPrincipal}
+     */
+    UserPrincipal get();
+
+    /**
+     * 当前登录用户
+     *
+     * @return {@link UserPrincipal} 未登录时为 null
+     */
+    UserPrincipal getIfLogin();
+
+}
@@ -40,4 +40,9 @@ public class CacheConstants {
      */
     public static final String ROW_PERMISSION = "satoken:row:permission:";
 
+    /**
+     * 用户授权快照缓存
+     */
+    public static final String USER_AUTHORIZATION = "satoken:user:authorization:";
+
 }
@@ -32,6 +32,11 @@ public class QuartzConstants {
      */
     public static final String JOB_DATA_KEY = "JOB_DATA";
 
+    /**
+     * 创建任务时的租户
+     */
+    public static final String JOB_TENANT_KEY = "JOB_TENANT";
+
     /**
      * 任务名
      */
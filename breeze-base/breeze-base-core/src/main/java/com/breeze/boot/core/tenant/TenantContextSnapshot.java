@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.core.tenant;
+
+import com.breeze.boot.core.utils.BreezeThreadLocal;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 租户上下文快照
+ * <p>
+ * 在提交任务的线程 {@link #capture()}，在执行任务的线程 {@link #apply()}，执行结束后恢复执行线程原有的租户，
+ * 线程池、虚拟线程、定时任务都按同样的方式传递租户
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public final class TenantContextSnapshot {
+
+    private static final TenantContextSnapshot EMPTY = new TenantContextSnapshot(null);
+
+    private final Long tenantId;
+
+    private TenantContextSnapshot(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    /**
+     * 捕获当前线程的租户
+     *
+     * @return {@link TenantContextSnapshot}
+     */
+    public static TenantContextSnapshot capture() {
+        return of(BreezeThreadLocal.get());
+    }
+
+    /**
+     * 指定租户的快照
+     *
+     * @param tenantId 租户ID
+     * @return {@link TenantContextSnapshot}
+     */
+    public static TenantContextSnapshot of(Long tenantId) {
+        return tenantId == null ? EMPTY : new TenantContextSnapshot(tenantId);
+    }
+
+    public Long getTenantId() {
+        return this.tenantId;
+    }
+
+    /**
+     * 把快照设置到当前线程
+     *
+     * @return {@link Scope} 关闭时恢复原租户
+     */
+    public Scope apply() {
+        Long previous = BreezeThreadLocal.get();
+        BreezeThreadLocal.set(this.tenantId);
+        return () -> BreezeThreadLocal.set(previous);
+    }
+
+    /**
+     * 包装任务，在快照的租户下执行
+     *
+     * @param runnable 任务
+     * @return {@link Runnable}
+     */
+    public Runnable wrap(Runnable runnable) {
+        return () -> {
+            try (Scope ignored = this.apply()) {
+                runnable.run();
+            }
+        };
+    }
+
+    /**
+     * 包装任务，在快照的租户下执行
+     *
+     * @param callable 任务
+     * @return {@link Callable}
+     */
+    public <T> Callable<T> wrap(Callable<T> callable) {
+        return () -> {
+            try (Scope ignored = this.apply()) {
+                return callable.call();
+            }
+        };
+    }
+
+    /**
+     * 租户作用域
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        /**
+         * 恢复原租户
+         */
+        @Override
+        void close();
+
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.core.tenant;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * 租户任务装饰器
+ * <p>
+ * 提交任务时捕获租户，执行时恢复，用于 {@code ThreadPoolTaskExecutor}、{@code SimpleAsyncTaskExecutor}（含虚拟线程）等
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public class TenantTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TenantContextSnapshot.capture().wrap(runnable);
+    }
+
+}
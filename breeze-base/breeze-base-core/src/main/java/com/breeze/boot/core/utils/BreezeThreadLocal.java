@@ -16,33 +16,50 @@
 
 package com.breeze.boot.core.utils;
 
-import lombok.extern.slf4j.Slf4j;
+import com.breeze.boot.core.tenant.TenantContextSnapshot;
 
 /**
  * 线程本地
+ * <p>
+ * 保存当前线程的租户ID；跨线程执行时使用 {@link TenantContextSnapshot} 传递
+ * </p>
  *
  * @author gaoweixuan
  * @since 2022-11-08
  */
-@Slf4j
 public class BreezeThreadLocal {
 
-
     private static final ThreadLocal<Long> threadLocal = new ThreadLocal<>();
 
     public static Long get() {
-        log.info(Thread.currentThread().getName());
         return threadLocal.get();
     }
 
     public static void remove() {
-        log.info(Thread.currentThread().getName());
         threadLocal.remove();
     }
 
     public static void set(Long value) {
-        log.info(Thread.currentThread().getName());
+        if (value == null) {
+            threadLocal.remove();
+            return;
+        }
         threadLocal.set(value);
     }
 
+    /**
+     * 切换到指定租户，关闭返回的 {@link TenantContextSnapshot.Scope} 时恢复原租户
+     * <pre>
+     * try (TenantContextSnapshot.Scope ignored = BreezeThreadLocal.with(tenantId)) {
+     *     ...
+     * }
+     * </pre>
+     *
+     * @param tenantId 租户ID
+     * @return {@link TenantContextSnapshot.Scope}
+     */
+    public static TenantContextSnapshot.Scope with(Long tenantId) {
+        return TenantContextSnapshot.of(tenantId).apply();
+    }
+
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.credential;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 密码校验配置
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "breeze.auth.credential")
+public class CredentialProperties {
+
+    /**
+     * bcrypt 计算线程数，小于等于 0 时使用 CPU 核数
+     */
+    private int threads = 0;
+
+    /**
+     * 等待计算的队列长度，队列满时直接返回繁忙
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * bcrypt 工作因子（log2 轮数），低于该值的密码在登录成功后重新加密
+     */
+    private int logRounds = 10;
+
+    /**
+     * 等待校验结果的最长时间
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+
+}
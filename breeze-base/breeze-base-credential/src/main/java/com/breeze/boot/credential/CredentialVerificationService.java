@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.credential;
+
+import cn.dev33.satoken.secure.BCrypt;
+import com.breeze.boot.core.tenant.TenantContextSnapshot;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * 密码校验服务
+ * <p>
+ * bcrypt 在独立的有界线程池中计算，线程数默认等于 CPU 核数，登录高峰时排队而不是把请求线程全部压在 CPU 上，队列满时直接返回繁忙。
+ * 同一用户名、同一密码的并发登录共用一次计算。
+ * 校验成功且存储的工作因子低于配置时，在线程池中用新工作因子重新加密并回写。
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+public class CredentialVerificationService {
+
+    private static final String BCRYPT_PREFIX = "{bcrypt}";
+
+    private final CredentialProperties properties;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 进行中的校验
+     */
+    private final Map<InFlightKey, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    public CredentialVerificationService(CredentialProperties properties) {
+        this.properties = properties;
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger index = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "breeze-credential-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("[密码校验] 线程数： {} 队列长度： {} 工作因子： {}", threads, properties.getQueueCapacity(), properties.getLogRounds());
+    }
+
+    /**
+     * 使用配置的工作因子加密
+     *
+     * @param rawPassword 明文密码
+     * @return {@link String}
+     */
+    public String encode(String rawPassword) {
+        return BCrypt.hashpw(rawPassword, BCrypt.gensalt(this.properties.getLogRounds()));
+    }
+
+    /**
+     * 校验密码
+     *
+     * @param username        用户名
+     * @param rawPassword     明文密码
+     * @param encodedPassword 存储的密码
+     * @return {@link Verification}
+     */
+    public Verification verify(String username, String rawPassword, String encodedPassword) {
+        if (Objects.isNull(rawPassword) || Objects.isNull(encodedPassword)) {
+            return Verification.MISMATCHED;
+        }
+        String hashed = encodedPassword.replace(BCRYPT_PREFIX, "");
+        InFlightKey key = new InFlightKey(username, rawPassword, hashed);
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        CompletableFuture<Boolean> future = this.inFlight.putIfAbsent(key, created);
+        if (Objects.isNull(future)) {
+            future = created;
+            try {
+                this.executor.execute(() -> {
+                    // 先移除再完成，已完成的结果不再被之后的调用复用
+                    try {
+                        boolean matched = BCrypt.checkpw(rawPassword, hashed);
+                        this.inFlight.remove(key, created);
+                        created.complete(matched);
+                    } catch (Throwable e) {
+                        this.inFlight.remove(key, created);
+                        created.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                this.inFlight.remove(key, created);
+                log.warn("[密码校验] 队列已满： {}", username);
+                return Verification.BUSY;
+            }
+        }
+        try {
+            return future.get(this.properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS) ? Verification.MATCHED : Verification.MISMATCHED;
+        } catch (TimeoutException e) {
+            log.warn("[密码校验] 等待超时： {}", username);
+            return Verification.BUSY;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Verification.BUSY;
+        } catch (ExecutionException e) {
+            // 存储的密码格式错误
+            log.warn("[密码校验] 校验失败： {}", username, e.getCause());
+            return Verification.MISMATCHED;
+        }
+    }
+
+    /**
+     * 存储的工作因子低于配置时，在线程池中重新加密并回写，失败或繁忙时忽略，下次登录再处理
+     *
+     * @param rawPassword     校验通过的明文密码
+     * @param encodedPassword 存储的密码
+     * @param updater         回写新密码，返回是否成功
+     */
+    public void upgradeIfNecessary(String rawPassword, String encodedPassword, Predicate<String> updater) {
+        if (!this.needsUpgrade(encodedPassword)) {
+            return;
+        }
+        Runnable task = TenantContextSnapshot.capture().wrap(() -> {
+            try {
+                if (updater.test(this.encode(rawPassword))) {
+                    log.debug("[密码校验] 已按工作因子 {} 重新加密", this.properties.getLogRounds());
+                }
+            } catch (Exception e) {
+                log.warn("[密码校验] 重新加密失败", e);
+            }
+        });
+        try {
+            this.executor.execute(task);
+        } catch (RejectedExecutionException ignored) {
+            // 繁忙时跳过
+        }
+    }
+
+    /**
+     * 存储的工作因子是否低于配置
+     *
+     * @param encodedPassword 存储的密码，格式 $2a$10$...
+     * @return boolean
+     */
+    public boolean needsUpgrade(String encodedPassword) {
+        if (Objects.isNull(encodedPassword)) {
+            return false;
+        }
+        String hashed = encodedPassword.replace(BCRYPT_PREFIX, "");
+        if (hashed.length() < 7 || hashed.charAt(0) != '$' || hashed.charAt(3) != '$' || hashed.charAt(6) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(hashed.substring(4, 6)) < this.properties.getLogRounds();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public int getQueueSize() {
+        return this.executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return this.executor.getActiveCount();
+    }
+
+    public int getInFlightCount() {
+        return this.inFlight.size();
+    }
+
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * 校验结果
+     */
+    public enum Verification {
+
+        /**
+         * 密码正确
+         */
+        MATCHED,
+
+        /**
+         * 密码错误
+         */
+        MISMATCHED,
+
+        /**
+         * 线程池繁忙或等待超时
+         */
+        BUSY
+
+    }
+
+    /**
+     * 进行中的校验，用户名、明文和存储的密码都相同时共用结果
+     */
+    private record InFlightKey(String username, String rawPassword, String encodedPassword) {
+
+        @Override
+        public String toString() {
+            return this.username;
+        }
+
+    }
+
+}
@@ -16,12 +16,16 @@
 
 package com.breeze.boot.log;
 
+import com.breeze.boot.core.base.UserPrincipalProvider;
 import com.breeze.boot.log.aspect.SysLogAspect;
+import com.breeze.boot.log.config.SysLogProperties;
 import com.breeze.boot.log.events.PublisherSaveSysLogEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
@@ -37,6 +41,7 @@ import org.springframework.context.annotation.EnableAspectJAutoProxy;
 @RequiredArgsConstructor
 @ConditionalOnWebApplication
 @ConditionalOnProperty(prefix = "breeze.log", value = "enable", havingValue = "true")
+@EnableConfigurationProperties(SysLogProperties.class)
 public class EnableSysLogConfiguration {
 
     /**
@@ -47,12 +52,14 @@ public class EnableSysLogConfiguration {
     /**
      * 系统日志AOP Bean
      *
+     * @param sysLogProperties      系统日志属性
+     * @param userPrincipalProvider 当前登录用户
      * @return {@link SysLogAspect}
      */
     @Bean
     @ConditionalOnMissingBean
-    public SysLogAspect sysLogAspect() {
-        return new SysLogAspect(publisherSaveSysLogEvent);
+    public SysLogAspect sysLogAspect(SysLogProperties sysLogProperties, ObjectProvider<UserPrincipalProvider> userPrincipalProvider) {
+        return new SysLogAspect(publisherSaveSysLogEvent, sysLogProperties, userPrincipalProvider);
     }
 
 }
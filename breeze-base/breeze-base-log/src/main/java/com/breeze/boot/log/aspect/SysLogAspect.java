@@ -17,12 +17,14 @@
 package com.breeze.boot.log.aspect;
 
 import cn.hutool.core.date.StopWatch;
+import com.breeze.boot.core.base.UserPrincipal;
+import com.breeze.boot.core.base.UserPrincipalProvider;
+import com.breeze.boot.core.utils.BreezeThreadLocal;
 import com.breeze.boot.log.annotation.BreezeSysLog;
 import com.breeze.boot.log.bo.SysLogBO;
+import com.breeze.boot.log.config.SysLogProperties;
 import com.breeze.boot.log.events.PublisherSaveSysLogEvent;
 import com.breeze.boot.log.events.SysLogSaveEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -30,9 +32,12 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.Objects;
+
 /**
  * 系统日志方面
  *
@@ -43,17 +48,33 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 @Aspect
 public class SysLogAspect {
 
-    private final ObjectMapper mapper = new ObjectMapper();
-
     /**
      * 发布保存系统的日志事件
      */
     private final PublisherSaveSysLogEvent publisherSaveSysLogEvent;
 
+    /**
+     * 入参序列化
+     */
+    private final SysLogParamSerializer paramSerializer;
+
+    /**
+     * 是否把入参保存到日志表
+     */
+    private final boolean captureParam;
+
+    /**
+     * 当前登录用户，没有认证模块时不记录操作人
+     */
+    private final ObjectProvider<UserPrincipalProvider> userPrincipalProvider;
 
-    public SysLogAspect(PublisherSaveSysLogEvent publisherSaveSysLogEvent) {
+    public SysLogAspect(PublisherSaveSysLogEvent publisherSaveSysLogEvent,
+                        SysLogProperties sysLogProperties,
+                        ObjectProvider<UserPrincipalProvider> userPrincipalProvider) {
         this.publisherSaveSysLogEvent = publisherSaveSysLogEvent;
-        mapper.registerModules(new JavaTimeModule());
+        this.userPrincipalProvider = userPrincipalProvider;
+        this.paramSerializer = new SysLogParamSerializer(sysLogProperties.getParam());
+        this.captureParam = sysLogProperties.getParam().isCapture();
     }
 
     /**
@@ -72,11 +93,10 @@ public class SysLogAspect {
         MethodSignature signature = (MethodSignature) point.getSignature();
         // 方法名称
         String methodName = signature.getDeclaringTypeName() + "." + signature.getName();
-        // 入参
-        Object[] param = point.getArgs();
-        String className = point.getTarget().getClass().getName();
-        log.debug("[类名]: {} , [方法]: {}", className, methodName);
-        SysLogBO sysLogBO = this.buildLog(sysLog, request, param);
+        log.debug("[类名]: {} , [方法]: {}", point.getTarget().getClass().getName(), methodName);
+        // 入参只在需要保存或打印时序列化一次
+        String paramContent = this.captureParam || log.isDebugEnabled() ? this.paramSerializer.write(point.getArgs()) : "";
+        SysLogBO sysLogBO = this.buildLog(sysLog, request, this.captureParam ? paramContent : "");
         Object obj;
         try {
             obj = point.proceed();
@@ -89,7 +109,7 @@ public class SysLogAspect {
             stopWatch.stop();
             sysLogBO.setTime(String.valueOf(stopWatch.getTotalTimeSeconds()));
             this.publisherSaveSysLogEvent.publisherEvent(new SysLogSaveEvent(sysLogBO));
-            this.printLog(methodName, this.write(param), stopWatch);
+            this.printLog(methodName, paramContent, stopWatch);
         }
         return obj;
     }
@@ -99,12 +119,13 @@ public class SysLogAspect {
      *
      * @param breezeSysLog 日志
      * @param request      请求
-     * @param param        参数
-     * @return
+     * @param paramContent 入参
+     * @return {@link SysLogBO}
      */
-    @SneakyThrows
-    private SysLogBO buildLog(BreezeSysLog breezeSysLog, HttpServletRequest request, Object[] param) {
+    private SysLogBO buildLog(BreezeSysLog breezeSysLog, HttpServletRequest request, String paramContent) {
         String userAgent = request.getHeader("User-Agent");
+        UserPrincipalProvider provider = this.userPrincipalProvider.getIfAvailable();
+        UserPrincipal userPrincipal = Objects.isNull(provider) ? null : provider.getIfLogin();
         return SysLogBO.builder()
                 .systemModule("通用权限系统")
                 .system(userAgent)
@@ -114,8 +135,11 @@ public class SysLogAspect {
                 .resultMsg("")
                 .ip(request.getRemoteAddr())
                 .requestType(request.getMethod())
-                .paramContent(this.write(param))
+                .paramContent(paramContent)
                 .result(1)
+                .tenantId(BreezeThreadLocal.get())
+                .createBy(Objects.isNull(userPrincipal) ? null : userPrincipal.getUserCode())
+                .createName(Objects.isNull(userPrincipal) ? null : userPrincipal.getUsername())
                 .build();
     }
 
@@ -125,7 +149,7 @@ public class SysLogAspect {
      * @param stopWatch 时间监听
      */
     private void printLog(String methodName, String jsonString, StopWatch stopWatch) {
-        log.info("[传入参数]：\n {}", jsonString);
+        log.debug("[传入参数]：\n {}", jsonString);
         log.trace("[方法名称]: {} [执行时间]: {}", methodName, stopWatch.getTotalTimeMillis());
     }
 
@@ -140,18 +164,4 @@ public class SysLogAspect {
         return attributes.getRequest();
     }
 
-    /**
-     * 写
-     *
-     * @param data 数据
-     * @return {@link String}
-     */
-    public String write(Object data) {
-        try {
-            return mapper.writeValueAsString(data);
-        } catch (Exception ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
-    }
-
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.log.aspect;
+
+import com.breeze.boot.log.config.SysLogProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.validation.Errors;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 系统日志入参序列化
+ * <p>
+ * 请求、响应、文件、流等参数只记录类型，作为 DTO 字段或集合元素出现时同样处理；
+ * 序列化结果超过字节上限时立即停止写出并截断，不会完整生成大对象的 JSON
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public class SysLogParamSerializer {
+
+    private static final String TRUNCATED = "...(truncated)";
+
+    /**
+     * 只记录类型的参数，子类和实现类同样适用
+     */
+    private static final Class<?>[] SKIP_TYPES = {
+            ServletRequest.class,
+            ServletResponse.class,
+            HttpSession.class,
+            InputStreamSource.class,
+            InputStream.class,
+            OutputStream.class,
+            Reader.class,
+            Writer.class,
+            Errors.class
+    };
+
+    private final ObjectMapper mapper;
+
+    private final int maxBytes;
+
+    public SysLogParamSerializer(SysLogProperties.Param param) {
+        // 小于等于 0 时不限制
+        this.maxBytes = param.getMaxBytes() > 0 ? param.getMaxBytes() : Integer.MAX_VALUE - 8;
+        this.mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(skipModule())
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SimpleModule skipModule() {
+        SimpleModule module = new SimpleModule("SysLogParamSkipModule");
+        TypeOnlySerializer typeOnlySerializer = new TypeOnlySerializer();
+        for (Class<?> skipType : SKIP_TYPES) {
+            module.addSerializer((Class<Object>) skipType, typeOnlySerializer);
+        }
+        module.addSerializer(MultipartFile.class, new MultipartFileSerializer());
+        module.addSerializer(byte[].class, new ByteArraySerializer());
+        return module;
+    }
+
+    /**
+     * 序列化入参
+     *
+     * @param args 入参
+     * @return {@link String}
+     */
+    public String write(Object[] args) {
+        if (args == null || args.length == 0) {
+            return "[]";
+        }
+        BoundedOutputStream out = new BoundedOutputStream(this.maxBytes);
+        try {
+            this.mapper.writeValue(out, args);
+        } catch (IOException | RuntimeException e) {
+            // jackson 会包装输出流的异常，通过标记判断是否为超长截断
+            if (out.isExceeded()) {
+                return out.toUtf8String() + TRUNCATED;
+            }
+            return "[unserializable: " + e.getMessage() + "]";
+        }
+        return out.toUtf8String();
+    }
+
+    /**
+     * 只写出类型名
+     */
+    private static class TypeOnlySerializer extends StdSerializer<Object> {
+
+        TypeOnlySerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString("<" + value.getClass().getSimpleName() + ">");
+        }
+
+    }
+
+    /**
+     * 只写出文件名和大小
+     */
+    private static class MultipartFileSerializer extends StdSerializer<MultipartFile> {
+
+        MultipartFileSerializer() {
+            super(MultipartFile.class);
+        }
+
+        @Override
+        public void serialize(MultipartFile value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString("<MultipartFile " + value.getOriginalFilename() + " " + value.getSize() + " bytes>");
+        }
+
+    }
+
+    /**
+     * 只写出长度，不做 base64
+     */
+    private static class ByteArraySerializer extends StdSerializer<byte[]> {
+
+        ByteArraySerializer() {
+            super(byte[].class);
+        }
+
+        @Override
+        public void serialize(byte[] value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString("<byte[" + value.length + "]>");
+        }
+
+    }
+
+    /**
+     * 超出上限时抛出异常中止序列化的输出流
+     */
+    private static class BoundedOutputStream extends OutputStream {
+
+        private final int limit;
+
+        private byte[] buf;
+
+        private int count;
+
+        private boolean exceeded;
+
+        BoundedOutputStream(int limit) {
+            this.limit = limit;
+            this.buf = new byte[Math.min(limit, 256)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int writable = Math.min(len, this.limit - this.count);
+            if (writable > 0) {
+                if (this.count + writable > this.buf.length) {
+                    this.buf = Arrays.copyOf(this.buf, Math.min(this.limit, Math.max(this.buf.length << 1, this.count + writable)));
+                }
+                System.arraycopy(b, off, this.buf, this.count, writable);
+                this.count += writable;
+            }
+            if (writable < len) {
+                this.exceeded = true;
+                throw new IOException("param content exceeds " + this.limit + " bytes");
+            }
+        }
+
+        boolean isExceeded() {
+            return this.exceeded;
+        }
+
+        /**
+         * 转为字符串，截断时去掉末尾不完整的 UTF-8 字符
+         */
+        String toUtf8String() {
+            int end = this.count;
+            if (this.exceeded) {
+                int start = end;
+                // 回退到最后一个字符的起始字节
+                while (start > 0 && (this.buf[start - 1] & 0xC0) == 0x80) {
+                    start--;
+                }
+                if (start > 0 && (this.buf[start - 1] & 0x80) != 0) {
+                    int lead = this.buf[start - 1] & 0xFF;
+                    int expected = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : 2;
+                    if (end - (start - 1) < expected) {
+                        end = start - 1;
+                    }
+                }
+            }
+            return new String(this.buf, 0, end, StandardCharsets.UTF_8);
+        }
+
+    }
+
+}
@@ -99,4 +99,19 @@ public class SysLogBO implements Serializable {
      */
     private String resultMsg;
 
+    /**
+     * 租户ID，异步写入时用于恢复租户上下文
+     */
+    private Long tenantId;
+
+    /**
+     * 操作人编码，写入线程没有会话，在请求线程记录
+     */
+    private String createBy;
+
+    /**
+     * 操作人名称
+     */
+    private String createName;
+
 }
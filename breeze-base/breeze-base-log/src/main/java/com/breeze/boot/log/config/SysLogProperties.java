@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.log.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 系统日志属性
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "breeze.log")
+public class SysLogProperties {
+
+    /**
+     * 日志拦截开关
+     */
+    private Boolean enable = Boolean.FALSE;
+
+    /**
+     * 批量写入
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * 入参记录
+     */
+    private Param param = new Param();
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * 缓冲队列容量，队列满时丢弃新日志
+         */
+        private int capacity = 4096;
+
+        /**
+         * 单批写入条数
+         */
+        private int size = 200;
+
+        /**
+         * 未凑满一批时的最长等待时间
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * 关闭时等待剩余日志写完的最长时间
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    }
+
+    @Getter
+    @Setter
+    public static class Param {
+
+        /**
+         * 是否把入参保存到日志表，关闭后仅在 DEBUG 级别打印时序列化
+         */
+        private boolean capture = true;
+
+        /**
+         * 入参序列化的最大字节数，超出截断，小于等于 0 不限制
+         */
+        private int maxBytes = 4096;
+
+    }
+
+}
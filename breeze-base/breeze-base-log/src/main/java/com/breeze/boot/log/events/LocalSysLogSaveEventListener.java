@@ -19,12 +19,14 @@ package com.breeze.boot.log.events;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 
 import java.util.function.Consumer;
 
 /**
  * 系统日志保存事件监听器
+ * <p>
+ * 在发布线程同步执行，消费者只负责把日志放入 {@link com.breeze.boot.log.writer.SysLogBatchWriter}，不占用业务线程池
+ * </p>
  *
  * @author gaoweixuan
  * @since 2022-10-19
@@ -45,10 +47,9 @@ public class LocalSysLogSaveEventListener {
      *
      * @param sysLogSaveEvent 事件
      */
-    @Async
     @EventListener(SysLogSaveEvent.class)
     public void onApplicationEvent(SysLogSaveEvent sysLogSaveEvent) {
-        log.info("[本地日志消息投递保存]");
+        log.debug("[本地日志消息投递保存]");
         consumer.accept(sysLogSaveEvent);
     }
 
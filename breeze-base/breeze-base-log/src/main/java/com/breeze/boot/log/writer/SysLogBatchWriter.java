@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.log.writer;
+
+import com.breeze.boot.log.bo.SysLogBO;
+import com.breeze.boot.log.config.SysLogProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 系统日志批量写入
+ * <p>
+ * 请求线程只把日志放入有界队列，由单个后台线程按条数或时间攒批后交给 sink 写库；
+ * 队列满时直接丢弃并计数，不阻塞请求线程，关闭时写完剩余日志
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+public class SysLogBatchWriter implements SmartLifecycle {
+
+    /**
+     * 每丢弃多少条打印一次告警
+     */
+    private static final long DROP_WARN_INTERVAL = 1000L;
+
+    /**
+     * 先于 web 容器启动、晚于 web 容器关闭，保证请求期间产生的日志都能写入；
+     * web 容器的优雅关闭和启停分别在 DEFAULT_PHASE - 1024、DEFAULT_PHASE - 2048，这里必须更小
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final BlockingQueue<SysLogBO> queue;
+
+    private final Consumer<List<SysLogBO>> sink;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final long shutdownTimeoutMillis;
+
+    private final LongAdder accepted = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    /**
+     * 系统日志批量写入
+     *
+     * @param batch 批量配置
+     * @param sink  批量写入逻辑，同步消费，不要持有传入的列表
+     */
+    public SysLogBatchWriter(SysLogProperties.Batch batch, Consumer<List<SysLogBO>> sink) {
+        this.queue = new ArrayBlockingQueue<>(batch.getCapacity());
+        this.sink = sink;
+        this.batchSize = Math.max(1, batch.getSize());
+        this.flushIntervalNanos = batch.getFlushInterval().toNanos();
+        this.shutdownTimeoutMillis = batch.getShutdownTimeout().toMillis();
+    }
+
+    /**
+     * 放入日志，队列已满或已关闭时丢弃
+     *
+     * @param sysLogBO 系统日志BO
+     * @return boolean 是否放入
+     */
+    public boolean offer(SysLogBO sysLogBO) {
+        if (this.running && this.queue.offer(sysLogBO)) {
+            this.accepted.increment();
+            return true;
+        }
+        this.dropped.increment();
+        if (this.dropped.sum() % DROP_WARN_INTERVAL == 1) {
+            log.warn("[系统日志队列已满，丢弃日志] 累计丢弃: {}, 待写入: {}", this.dropped.sum(), this.queue.size());
+        }
+        return false;
+    }
+
+    @Override
+    public void start() {
+        if (this.running) {
+            return;
+        }
+        this.running = true;
+        this.worker = new Thread(this::drain, "breeze-sys-log-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        try {
+            this.worker.join(this.shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.worker.isAlive()) {
+            log.warn("[系统日志关闭超时] 未写入: {}", this.queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drain() {
+        List<SysLogBO> batch = new ArrayList<>(this.batchSize);
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                this.fill(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.queue.drainTo(batch);
+                this.flush(batch);
+                return;
+            }
+            this.flush(batch);
+        }
+    }
+
+    /**
+     * 攒批，凑满一批或距第一条超过刷新间隔时返回
+     *
+     * @param batch 批
+     */
+    private void fill(List<SysLogBO> batch) throws InterruptedException {
+        SysLogBO first = this.queue.poll(this.flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + this.flushIntervalNanos;
+        while (batch.size() < this.batchSize) {
+            if (this.queue.drainTo(batch, this.batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !this.running) {
+                return;
+            }
+            SysLogBO next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<SysLogBO> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            this.sink.accept(batch);
+            this.written.add(batch.size());
+        } catch (Exception e) {
+            this.failed.add(batch.size());
+            log.error("[系统日志批量写入失败] 条数: {}", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * 待写入条数
+     */
+    public int getPendingCount() {
+        return this.queue.size();
+    }
+
+    /**
+     * 队列剩余容量，可用于判断背压
+     */
+    public int getRemainingCapacity() {
+        return this.queue.remainingCapacity();
+    }
+
+    public long getAcceptedCount() {
+        return this.accepted.sum();
+    }
+
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return this.written.sum();
+    }
+
+    public long getFailedCount() {
+        return this.failed.sum();
+    }
+
+}
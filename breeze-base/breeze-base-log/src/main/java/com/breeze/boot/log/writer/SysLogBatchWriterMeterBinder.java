@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.log.writer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 系统日志批量写入指标
+ * <p>
+ * 队列积压和剩余容量反映背压，丢弃数和写入失败数用于告警
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public class SysLogBatchWriterMeterBinder implements MeterBinder {
+
+    private final SysLogBatchWriter writer;
+
+    public SysLogBatchWriterMeterBinder(SysLogBatchWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("sys.log.queue.pending", this.writer, SysLogBatchWriter::getPendingCount)
+                .description("The number of system logs waiting to be written")
+                .register(registry);
+        Gauge.builder("sys.log.queue.remaining", this.writer, SysLogBatchWriter::getRemainingCapacity)
+                .description("The remaining capacity of the system log queue")
+                .register(registry);
+        FunctionCounter.builder("sys.log.accepted", this.writer, SysLogBatchWriter::getAcceptedCount)
+                .description("The number of system logs accepted into the queue")
+                .register(registry);
+        FunctionCounter.builder("sys.log.dropped", this.writer, SysLogBatchWriter::getDroppedCount)
+                .description("The number of system logs dropped because the queue was full or the writer was stopped")
+                .register(registry);
+        FunctionCounter.builder("sys.log.written", this.writer, SysLogBatchWriter::getWrittenCount)
+                .description("The number of system logs written by the sink")
+                .register(registry);
+        FunctionCounter.builder("sys.log.failed", this.writer, SysLogBatchWriter::getFailedCount)
+                .description("The number of system logs lost because a batch write failed")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.log.aspect;
+
+import com.breeze.boot.log.config.SysLogProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SysLogParamSerializerTest {
+
+    private static final String TRUNCATED = "...(truncated)";
+
+    @Test
+    void writesArgumentsAsJsonArray() {
+        SysLogParamSerializer serializer = serializer(4096);
+
+        assertEquals("[]", serializer.write(null));
+        assertEquals("[]", serializer.write(new Object[0]));
+        assertEquals("[1,\"a\",null,{\"k\":\"v\"},[2000,1,2]]",
+                serializer.write(new Object[]{1, "a", null, Map.of("k", "v"), LocalDate.of(2000, 1, 2)}));
+    }
+
+    @Test
+    void recordsOnlyTypeOfServletStreamAndFileArguments() {
+        SysLogParamSerializer serializer = serializer(4096);
+        MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", new byte[10]);
+
+        String json = serializer.write(new Object[]{new MockHttpServletRequest(), new MockHttpServletResponse(), file,
+                new byte[3], new ByteArrayInputStream(new byte[1])});
+
+        assertEquals("[\"<MockHttpServletRequest>\",\"<MockHttpServletResponse>\",\"<MultipartFile a.png 10 bytes>\","
+                + "\"<byte[3]>\",\"<ByteArrayInputStream>\"]", json);
+    }
+
+    @Test
+    void recordsOnlyTypeOfNestedServletStreamAndFileFields() {
+        SysLogParamSerializer serializer = serializer(4096);
+        MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", new byte[10]);
+        Upload upload = new Upload("avatar", file, new byte[4], List.of(new StringReader("x")),
+                Map.of("session", new MockHttpSession()), new BeanPropertyBindingResult(new Object(), "form"));
+
+        String json = serializer.write(new Object[]{upload});
+
+        assertEquals("[{\"name\":\"avatar\",\"file\":\"<MultipartFile a.png 10 bytes>\",\"content\":\"<byte[4]>\","
+                + "\"readers\":[\"<StringReader>\"],\"attributes\":{\"session\":\"<MockHttpSession>\"},"
+                + "\"errors\":\"<BeanPropertyBindingResult>\"}]", json);
+    }
+
+    @Test
+    void truncatesAtByteLimit() {
+        SysLogParamSerializer serializer = serializer(64);
+
+        String json = serializer.write(new Object[]{"x".repeat(100_000)});
+
+        assertTrue(json.endsWith(TRUNCATED));
+        String body = json.substring(0, json.length() - TRUNCATED.length());
+        assertEquals(64, body.getBytes(StandardCharsets.UTF_8).length);
+        assertTrue(body.startsWith("[\"xxx"));
+    }
+
+    @Test
+    void truncationDoesNotSplitMultiByteCharacters() {
+        // "[\"" 占 2 字节，每个汉字 3 字节，上限落在字符中间
+        SysLogParamSerializer serializer = serializer(10);
+
+        String json = serializer.write(new Object[]{"日志日志日志"});
+
+        String body = json.substring(0, json.length() - TRUNCATED.length());
+        assertEquals("[\"日志", body);
+        assertFalse(body.contains("�"));
+    }
+
+    @Test
+    void nonPositiveLimitDisablesTruncation() {
+        SysLogParamSerializer serializer = serializer(0);
+        String value = "x".repeat(20_000);
+
+        assertEquals("[\"" + value + "\"]", serializer.write(new Object[]{value}));
+    }
+
+    @Test
+    void reportsUnserializableArguments() {
+        SysLogParamSerializer serializer = serializer(4096);
+
+        String json = serializer.write(new Object[]{new Failing()});
+
+        assertTrue(json.startsWith("[unserializable: "));
+    }
+
+    private static SysLogParamSerializer serializer(int maxBytes) {
+        SysLogProperties.Param param = new SysLogProperties.Param();
+        param.setMaxBytes(maxBytes);
+        return new SysLogParamSerializer(param);
+    }
+
+    public record Upload(String name, MockMultipartFile file, byte[] content, List<StringReader> readers,
+                         Map<String, Object> attributes, BeanPropertyBindingResult errors) {
+
+    }
+
+    public static class Failing {
+
+        public String getValue() {
+            throw new IllegalStateException("boom");
+        }
+
+    }
+
+}
@@ -16,28 +16,34 @@
 
 package com.breeze.boot.mybatis;
 
-import cn.hutool.core.collection.CollUtil;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
-import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
-import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
-import com.breeze.boot.core.enums.ResultCode;
-import com.breeze.boot.core.exception.BreezeBizException;
-import com.breeze.boot.core.utils.BreezeThreadLocal;
+import com.breeze.boot.core.base.UserPrincipalProvider;
 import com.breeze.boot.mybatis.config.BreezeLogicSqlInjector;
+import com.breeze.boot.mybatis.config.SqlLogProperties;
 import com.breeze.boot.mybatis.filters.TenantProperties;
+import com.breeze.boot.mybatis.permission.DataPermissionMetadataIndex;
 import com.breeze.boot.mybatis.plugins.BreezeDataPermissionInterceptor;
 import com.breeze.boot.mybatis.plugins.BreezeSqlLogInnerInterceptor;
+import com.breeze.boot.mybatis.plugins.BreezeSqlTimingInterceptor;
+import com.breeze.boot.mybatis.plugins.BreezeTenantLineInnerInterceptor;
+import com.breeze.boot.mybatis.tenant.TenantTableRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.sf.jsqlparser.expression.Expression;
-import net.sf.jsqlparser.expression.LongValue;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
-import java.util.Objects;
-
-import static com.breeze.boot.core.constants.CoreConstants.TENANT_ID_COLUMN;
+import java.util.List;
 
 /**
  * mybatis +配置
@@ -47,7 +53,7 @@ import static com.breeze.boot.core.constants.CoreConstants.TENANT_ID_COLUMN;
  */
 @Slf4j
 @RequiredArgsConstructor
-@EnableConfigurationProperties(TenantProperties.class)
+@EnableConfigurationProperties({TenantProperties.class, SqlLogProperties.class})
 public class MybatisPlusConfiguration {
 
     private final TenantProperties tenantProperties;
@@ -60,59 +66,86 @@ public class MybatisPlusConfiguration {
         return new BreezeLogicSqlInjector();
     }
 
+    /**
+     * 数据权限语句索引
+     *
+     * @param sqlSessionFactoryProvider sql会话工厂
+     * @return {@link DataPermissionMetadataIndex}
+     */
+    @Bean
+    public DataPermissionMetadataIndex dataPermissionMetadataIndex(ObjectProvider<SqlSessionFactory> sqlSessionFactoryProvider) {
+        return new DataPermissionMetadataIndex(sqlSessionFactoryProvider);
+    }
+
+    /**
+     * 租户表注册
+     *
+     * @return {@link TenantTableRegistry}
+     */
+    @Bean
+    public TenantTableRegistry tenantTableRegistry() {
+        return new TenantTableRegistry(this.tenantProperties.getTables());
+    }
+
     /**
      * mybatis +拦截器
      *
+     * @param dataPermissionMetadataIndex 数据权限语句索引
+     * @param tenantTableRegistry         租户表注册
+     * @param sqlLogProperties            sql 日志属性
+     * @param userPrincipalProvider       当前登录用户
      * @return {@link MybatisPlusInterceptor}
      */
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+    public MybatisPlusInterceptor mybatisPlusInterceptor(DataPermissionMetadataIndex dataPermissionMetadataIndex,
+                                                         TenantTableRegistry tenantTableRegistry,
+                                                         SqlLogProperties sqlLogProperties,
+                                                         ObjectProvider<UserPrincipalProvider> userPrincipalProvider) {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
-        interceptor.addInnerInterceptor(customTenantLineInnerInterceptor(this.tenantProperties));
-        interceptor.addInnerInterceptor(new BreezeDataPermissionInterceptor());
+        interceptor.addInnerInterceptor(new BreezeTenantLineInnerInterceptor(tenantTableRegistry,
+                this.tenantProperties.getSqlCacheTenants(), this.tenantProperties.getSqlCacheSize()));
+        interceptor.addInnerInterceptor(new BreezeDataPermissionInterceptor(dataPermissionMetadataIndex, userPrincipalProvider));
         // 如果用了分页插件注意先 add TenantLineInnerInterceptor 再 add PaginationInnerInterceptor
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor());
-        interceptor.addInnerInterceptor(new BreezeSqlLogInnerInterceptor());
+        interceptor.addInnerInterceptor(new BreezeSqlLogInnerInterceptor(sqlLogProperties));
         return interceptor;
     }
 
     /**
-     * 定制租户拦截器
+     * sql 耗时拦截器
      *
-     * @return {@link TenantLineInnerInterceptor}
+     * @param sqlLogProperties      sql 日志属性
+     * @param meterRegistryProvider 指标注册
+     * @return {@link BreezeSqlTimingInterceptor}
      */
-    private TenantLineInnerInterceptor customTenantLineInnerInterceptor(TenantProperties tenantProperties) {
-        return new TenantLineInnerInterceptor(new TenantLineHandler() {
-            @Override
-            public Expression getTenantId() {
-                Long tenantId = BreezeThreadLocal.get();
-                log.info("[当前租户]： {}", tenantId);
+    @Bean
+    public BreezeSqlTimingInterceptor breezeSqlTimingInterceptor(SqlLogProperties sqlLogProperties,
+                                                                 ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new BreezeSqlTimingInterceptor(sqlLogProperties, meterRegistryProvider.getIfAvailable());
+    }
 
-                if (Objects.isNull(tenantId)) {
-                    throw new BreezeBizException(ResultCode.TENANT_NOT_FOUND);
-                }
-                return new LongValue(tenantId);
-            }
+    /**
+     * 配置中心刷新 {@code breeze.tenant.tables} 后重新绑定并替换租户表，引入 spring cloud 时生效
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(EnvironmentChangeEvent.class)
+    static class TenantTableRefreshConfiguration {
 
-            @Override
-            public String getTenantIdColumn() {
-                return TENANT_ID_COLUMN;
-            }
+        private static final String TENANT_TABLES = "breeze.tenant.tables";
+
+        @Bean
+        public ApplicationListener<EnvironmentChangeEvent> tenantTableRefreshListener(TenantTableRegistry tenantTableRegistry,
+                                                                                    Environment environment) {
+            return event -> {
+                if (event.getKeys().stream().noneMatch(key -> key.startsWith(TENANT_TABLES))) {
+                    return;
+                }
+                List<String> tables = Binder.get(environment).bind(TENANT_TABLES, Bindable.listOf(String.class)).orElse(List.of());
+                tenantTableRegistry.refresh(tables);
+                log.info("租户表已刷新: {}", tenantTableRegistry.getTables());
+            };
+        }
 
-            /**
-             * 这是 default 方法
-             * <p>
-             * 默认返回 false 表示需要拼多租户条件
-             * 默认返回 true 表示不需要拼多租户条件
-             */
-            @Override
-            public boolean ignoreTable(String tableName) {
-                log.debug("[当前拦截的表名] {}", tableName);
-                log.debug("[在多租户表序列中？] {}", CollUtil.contains(tenantProperties.getTables(), tableName));
-                return !CollUtil.contains(tenantProperties.getTables(), tableName);
-            }
-        });
     }
 
 }
-
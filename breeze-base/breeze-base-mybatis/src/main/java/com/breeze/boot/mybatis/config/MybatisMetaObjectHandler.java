@@ -16,15 +16,16 @@
 
 package com.breeze.boot.mybatis.config;
 
-import cn.dev33.satoken.stp.StpUtil;
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
 import com.breeze.boot.core.base.UserPrincipal;
+import com.breeze.boot.core.base.UserPrincipalProvider;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.reflection.MetaObject;
+import org.springframework.beans.factory.ObjectProvider;
 
 import java.time.LocalDateTime;
-
-import static com.breeze.boot.core.constants.CoreConstants.USER_TYPE;
+import java.util.Objects;
 
 /**
  * mybatis元对象处理程序
@@ -33,8 +34,14 @@ import static com.breeze.boot.core.constants.CoreConstants.USER_TYPE;
  * @since 2022-10-12
  */
 @Slf4j
+@RequiredArgsConstructor
 public class MybatisMetaObjectHandler implements MetaObjectHandler {
 
+    /**
+     * 当前登录用户，没有认证模块时不填充操作人
+     */
+    private final ObjectProvider<UserPrincipalProvider> userPrincipalProvider;
+
     @Override
     public void insertFill(MetaObject metaObject) {
         this.strictInsertFill(metaObject, "createBy", this::getUserCode, String.class);
@@ -51,19 +58,18 @@ public class MybatisMetaObjectHandler implements MetaObjectHandler {
     }
 
     private String getUsername() {
-        boolean login = StpUtil.isLogin();
-        if (login) {
-            return ((UserPrincipal) StpUtil.getSession().get(USER_TYPE)).getUsername();
-        }
-        return null;
+        UserPrincipal userPrincipal = this.getUser();
+        return Objects.isNull(userPrincipal) ? null : userPrincipal.getUsername();
     }
 
     private String getUserCode() {
-        boolean login = StpUtil.isLogin();
-        if (login) {
-            return ((UserPrincipal) StpUtil.getSession().get(USER_TYPE)).getUserCode();
-        }
-        return null;
+        UserPrincipal userPrincipal = this.getUser();
+        return Objects.isNull(userPrincipal) ? null : userPrincipal.getUserCode();
+    }
+
+    private UserPrincipal getUser() {
+        UserPrincipalProvider provider = this.userPrincipalProvider.getIfAvailable();
+        return Objects.isNull(provider) ? null : provider.getIfLogin();
     }
 }
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.mybatis.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * sql 日志属性
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "breeze.sql-log")
+public class SqlLogProperties {
+
+    /**
+     * 是否打印 sql，开启后仍需日志级别为 DEBUG 才会拼装
+     */
+    private boolean enabled = true;
+
+    /**
+     * 打印采样率 0 ~ 1
+     */
+    private double sampleRate = 1.0D;
+
+    /**
+     * 慢 sql 阈值，超过时以 WARN 级别打印，小于等于 0 关闭
+     */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    /**
+     * 是否按语句ID记录耗时直方图，默认关闭
+     */
+    private boolean histogram = false;
+
+}
@@ -60,7 +60,7 @@ public class TenantLoadFilter extends GenericFilterBean {
             } else {
                 // TODO
             }
-            log.info("[当前进入的请求]： {}  系统租户： {}  {} ]", request.getRequestURI(), paramTenantId , headerTenantId);
+            log.debug("[当前进入的请求]： {}  系统租户： {}  {} ]", request.getRequestURI(), paramTenantId , headerTenantId);
             filterChain.doFilter(request, response);
         } finally {
             BreezeThreadLocal.remove();
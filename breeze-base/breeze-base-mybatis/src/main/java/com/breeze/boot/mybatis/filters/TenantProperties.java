@@ -38,4 +38,14 @@ public class TenantProperties {
      */
     private List<String> tables;
 
+    /**
+     * 改写结果缓存的租户数，超出后按最近最少使用淘汰整个租户的缓存
+     */
+    private long sqlCacheTenants = 256;
+
+    /**
+     * 每个租户缓存的改写语句数，租户之间互不挤占
+     */
+    private long sqlCacheSize = 512;
+
 }
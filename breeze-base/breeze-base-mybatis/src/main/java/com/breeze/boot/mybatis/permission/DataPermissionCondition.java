@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.mybatis.permission;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 数据权限条件
+ * <p>
+ * 一个值时生成 column = ?，多个值时生成 column IN (?, ?)，没有值时不匹配任何数据
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Getter
+@RequiredArgsConstructor
+public class DataPermissionCondition {
+
+    /**
+     * 字段名
+     */
+    private final String column;
+
+    /**
+     * 绑定的参数值
+     */
+    private final List<Object> values;
+
+    /**
+     * 条件形状，参与 sql 模板缓存的 key
+     *
+     * @return {@link String}
+     */
+    public String shape() {
+        return this.column + ":" + this.values.size();
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.mybatis.permission;
+
+import com.breeze.boot.core.enums.DataRole;
+import com.breeze.boot.mybatis.annotation.BreezeDataPermission;
+import lombok.Getter;
+
+/**
+ * 已解析的数据权限元数据
+ * <p>
+ * 由 {@link BreezeDataPermission} 注解解析而来，不可变，{@link #NONE} 表示该语句未标注数据权限
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Getter
+public final class DataPermissionMetadata {
+
+    /**
+     * 未标注数据权限
+     */
+    public static final DataPermissionMetadata NONE = new DataPermissionMetadata(null, null);
+
+    /**
+     * 范围权限字段
+     */
+    private final DataRole dept;
+
+    /**
+     * 个人权限字段
+     */
+    private final DataRole own;
+
+    private DataPermissionMetadata(DataRole dept, DataRole own) {
+        this.dept = dept;
+        this.own = own;
+    }
+
+    /**
+     * 从注解构建
+     *
+     * @param annotation 数据权限注解
+     * @return {@link DataPermissionMetadata}
+     */
+    public static DataPermissionMetadata of(BreezeDataPermission annotation) {
+        return new DataPermissionMetadata(annotation.dept(), annotation.own());
+    }
+
+    /**
+     * 是否需要数据权限
+     *
+     * @return boolean
+     */
+    public boolean isPresent() {
+        return this != NONE;
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.mybatis.permission;
+
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.breeze.boot.mybatis.annotation.BreezeDataPermission;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 数据权限语句索引
+ * <p>
+ * 启动时遍历 {@link Configuration#getMappedStatements()}，按 MappedStatement id 预先解析 {@link BreezeDataPermission}，
+ * 拦截器每次查询只需一次 map 查找，不再反射扫描 mapper 方法
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataPermissionMetadataIndex implements SmartInitializingSingleton {
+
+    private final ObjectProvider<SqlSessionFactory> sqlSessionFactoryProvider;
+
+    /**
+     * 启动时构建的不可变索引
+     */
+    private volatile Map<String, DataPermissionMetadata> index = Collections.emptyMap();
+
+    /**
+     * 启动后动态注册的语句（兜底，正常情况下为空）
+     */
+    private final Map<String, DataPermissionMetadata> lateIndex = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<String, DataPermissionMetadata> snapshot = new HashMap<>();
+        Map<String, Class<?>> mapperClassCache = new HashMap<>();
+        this.sqlSessionFactoryProvider.orderedStream().forEach(sqlSessionFactory -> {
+            Configuration configuration = sqlSessionFactory.getConfiguration();
+            for (Object value : configuration.getMappedStatements()) {
+                // StrictMap 中存在简称的 Ambiguity 占位对象，需要过滤
+                if (value instanceof MappedStatement ms) {
+                    snapshot.computeIfAbsent(ms.getId(), id -> resolve(id, mapperClassCache));
+                }
+            }
+        });
+        this.index = Collections.unmodifiableMap(snapshot);
+        log.info("[数据权限索引] 语句总数： {}  标注数据权限： {}", snapshot.size(),
+                snapshot.values().stream().filter(DataPermissionMetadata::isPresent).count());
+    }
+
+    /**
+     * 获取语句的数据权限元数据
+     *
+     * @param statementId MappedStatement id
+     * @return {@link DataPermissionMetadata} 未标注时返回 {@link DataPermissionMetadata#NONE}
+     */
+    public DataPermissionMetadata get(String statementId) {
+        DataPermissionMetadata metadata = this.index.get(statementId);
+        if (metadata != null) {
+            return metadata;
+        }
+        return this.lateIndex.computeIfAbsent(statementId, id -> resolve(id, new HashMap<>()));
+    }
+
+    /**
+     * 解析语句对应 mapper 方法上的注解
+     *
+     * @param statementId      MappedStatement id
+     * @param mapperClassCache mapper 类缓存
+     * @return {@link DataPermissionMetadata}
+     */
+    private static DataPermissionMetadata resolve(String statementId, Map<String, Class<?>> mapperClassCache) {
+        int index = statementId.lastIndexOf(StringPool.DOT);
+        if (index <= 0) {
+            return DataPermissionMetadata.NONE;
+        }
+        Class<?> clazz = mapperClassCache.computeIfAbsent(statementId.substring(0, index), DataPermissionMetadataIndex::loadClass);
+        if (clazz == null) {
+            return DataPermissionMetadata.NONE;
+        }
+        String methodName = statementId.substring(index + 1);
+        for (Method method : clazz.getMethods()) {
+            BreezeDataPermission annotation = method.getAnnotation(BreezeDataPermission.class);
+            if (annotation != null && methodName.equals(method.getName())) {
+                return DataPermissionMetadata.of(annotation);
+            }
+        }
+        return DataPermissionMetadata.NONE;
+    }
+
+    private static Class<?> loadClass(String className) {
+        try {
+            return Resources.classForName(className);
+        } catch (ClassNotFoundException e) {
+            // xml 命名空间没有对应的接口
+            return null;
+        }
+    }
+
+}
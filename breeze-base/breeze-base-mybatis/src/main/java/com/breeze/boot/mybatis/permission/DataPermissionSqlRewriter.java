@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.mybatis.permission;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.*;
+import net.sf.jsqlparser.util.deparser.ExpressionDeParser;
+import net.sf.jsqlparser.util.deparser.SelectDeParser;
+import net.sf.jsqlparser.util.deparser.StatementDeParser;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 数据权限 sql 改写
+ * <p>
+ * 权限条件构造为 EqualsTo / InExpression 节点，以 {@link JdbcParameter} 绑定参数，用 AndExpression 挂到解析后的 WHERE 上，
+ * 不再用派生表包装、不再内联字面量；参数位置在输出 sql 时按遍历到的 ? 计数得到。
+ * 改写结果按（语句id、权限类型、条件形状、原始sql）缓存，同样的查询只解析一次。
+ * 当查询列无法对应到简单的字段引用（聚合、GROUP BY、UNION 等）时，退化为派生表包装，权限参数排在原有参数之后。
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+public class DataPermissionSqlRewriter {
+
+    /**
+     * 权限参数名前缀
+     */
+    private static final String PARAM_PREFIX = "__breeze_dp_";
+
+    /**
+     * 派生表别名
+     */
+    private static final String WRAP_ALIAS = "temp";
+
+    private final Cache<String, DataPermissionSqlTemplate> templateCache;
+
+    public DataPermissionSqlRewriter(long maximumSize) {
+        this.templateCache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * 改写 sql 并绑定权限参数
+     *
+     * @param ms             映射语句
+     * @param boundSql       绑定sql
+     * @param permissionType 权限类型
+     * @param conditions     权限条件
+     */
+    public void rewrite(MappedStatement ms, BoundSql boundSql, String permissionType, List<DataPermissionCondition> conditions) {
+        String originalSql = boundSql.getSql();
+        String key = ms.getId() + '|' + permissionType + '|'
+                + conditions.stream().map(DataPermissionCondition::shape).collect(Collectors.joining(",")) + '|' + originalSql;
+        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        List<ParameterMapping> mappings = new ArrayList<>(mpBs.parameterMappings());
+        int parameterCount = mappings.size();
+        DataPermissionSqlTemplate template = this.templateCache.asMap().computeIfAbsent(key, k -> compile(originalSql, conditions, parameterCount));
+
+        int index = 0;
+        for (DataPermissionCondition condition : conditions) {
+            for (Object value : condition.getValues()) {
+                String property = PARAM_PREFIX + index;
+                boundSql.setAdditionalParameter(property, value);
+                int slot = Objects.isNull(template.getSlots()) ? mappings.size() : template.getSlots()[index];
+                mappings.add(slot, new ParameterMapping.Builder(ms.getConfiguration(), property, value.getClass()).build());
+                index++;
+            }
+        }
+        mpBs.sql(template.getSql());
+        mpBs.parameterMappings(mappings);
+    }
+
+    /**
+     * 编译 sql 模板
+     *
+     * @param originalSql    原始sql
+     * @param conditions     权限条件
+     * @param parameterCount 原始sql中 ? 的个数
+     * @return {@link DataPermissionSqlTemplate}
+     */
+    static DataPermissionSqlTemplate compile(String originalSql, List<DataPermissionCondition> conditions, int parameterCount) {
+        Statement statement;
+        try {
+            statement = CCJSqlParserUtil.parse(originalSql);
+        } catch (JSQLParserException e) {
+            log.warn("[数据权限] sql 解析失败，使用派生表方式： {}", e.getMessage());
+            return wrap(originalSql, conditions);
+        }
+        if (!(statement instanceof PlainSelect plainSelect)) {
+            return wrap(originalSql, conditions);
+        }
+        Set<JdbcParameter> parameters = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (injectWhere(plainSelect, conditions, parameters)) {
+            DataPermissionSqlTemplate template = toTemplate(plainSelect, parameters, parameterCount);
+            if (Objects.nonNull(template)) {
+                return template;
+            }
+        }
+        return wrap(originalSql, conditions);
+    }
+
+    /**
+     * 将条件注入到最外层 WHERE
+     *
+     * @param plainSelect 查询
+     * @param conditions  权限条件
+     * @param parameters  收集新建的权限参数
+     * @return boolean 无法注入时返回 false，查询未被修改
+     */
+    private static boolean injectWhere(PlainSelect plainSelect, List<DataPermissionCondition> conditions, Set<JdbcParameter> parameters) {
+        if (Objects.nonNull(plainSelect.getGroupBy()) || Objects.nonNull(plainSelect.getHaving())) {
+            return false;
+        }
+        List<Column> columns = new ArrayList<>(conditions.size());
+        for (DataPermissionCondition condition : conditions) {
+            Column column = resolveColumn(plainSelect, condition.getColumn());
+            if (Objects.isNull(column)) {
+                return false;
+            }
+            columns.add(column);
+        }
+        Expression where = Objects.isNull(plainSelect.getWhere()) ? null : new Parenthesis(plainSelect.getWhere());
+        for (int i = 0; i < conditions.size(); i++) {
+            Expression predicate = predicate(columns.get(i), conditions.get(i), parameters);
+            where = Objects.isNull(where) ? predicate : new AndExpression(where, predicate);
+        }
+        plainSelect.setWhere(where);
+        return true;
+    }
+
+    /**
+     * 找到查询列对应的字段引用
+     *
+     * @param plainSelect 查询
+     * @param column      输出列名
+     * @return {@link Column} 不是简单字段引用时返回 null
+     */
+    private static Column resolveColumn(PlainSelect plainSelect, String column) {
+        for (SelectItem<?> item : plainSelect.getSelectItems()) {
+            Expression expression = item.getExpression();
+            if (Objects.nonNull(item.getAlias())) {
+                if (column.equalsIgnoreCase(unquote(item.getAlias().getName()))) {
+                    return expression instanceof Column ref ? new Column(ref.getTable(), ref.getColumnName()) : null;
+                }
+                continue;
+            }
+            if (expression instanceof Column ref && column.equalsIgnoreCase(unquote(ref.getColumnName()))) {
+                return new Column(ref.getTable(), ref.getColumnName());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 派生表包装，权限条件位于原始sql之后，参数追加到末尾
+     *
+     * @param originalSql 原始sql
+     * @param conditions  权限条件
+     * @return {@link DataPermissionSqlTemplate}
+     */
+    private static DataPermissionSqlTemplate wrap(String originalSql, List<DataPermissionCondition> conditions) {
+        Table table = new Table(WRAP_ALIAS);
+        Set<JdbcParameter> parameters = Collections.newSetFromMap(new IdentityHashMap<>());
+        Expression where = null;
+        for (DataPermissionCondition condition : conditions) {
+            Expression predicate = predicate(new Column(table, condition.getColumn()), condition, parameters);
+            where = Objects.isNull(where) ? predicate : new AndExpression(where, predicate);
+        }
+        // 原始sql无法解析时只能按文本拼接，外层条件仍由表达式节点生成
+        String sql = "SELECT " + new AllTableColumns(table) + " FROM (" + originalSql + ") " + WRAP_ALIAS + " WHERE " + where;
+        return new DataPermissionSqlTemplate(sql, null);
+    }
+
+    private static Expression predicate(Column column, DataPermissionCondition condition, Set<JdbcParameter> parameters) {
+        int size = condition.getValues().size();
+        if (size == 0) {
+            return new EqualsTo(new LongValue(1), new LongValue(0));
+        }
+        if (size == 1) {
+            return new EqualsTo(column, newParameter(parameters));
+        }
+        ParenthesedExpressionList<JdbcParameter> items = new ParenthesedExpressionList<>();
+        for (int i = 0; i < size; i++) {
+            items.add(newParameter(parameters));
+        }
+        return new InExpression(column, items);
+    }
+
+    private static JdbcParameter newParameter(Set<JdbcParameter> parameters) {
+        JdbcParameter parameter = new JdbcParameter();
+        parameters.add(parameter);
+        return parameter;
+    }
+
+    /**
+     * 输出 sql 并记录权限参数在参数列表中的位置
+     *
+     * @param select         改写后的查询
+     * @param parameters     权限参数
+     * @param parameterCount 原始sql中 ? 的个数
+     * @return {@link DataPermissionSqlTemplate} 遍历到的原始参数个数不一致时返回 null（部分子句不经过表达式遍历输出）
+     */
+    private static DataPermissionSqlTemplate toTemplate(PlainSelect select, Set<JdbcParameter> parameters, int parameterCount) {
+        StringBuilder buffer = new StringBuilder();
+        int[] slots = new int[parameters.size()];
+        int[] counter = new int[2];
+        ExpressionDeParser expressionDeParser = new ExpressionDeParser() {
+            @Override
+            public void visit(JdbcParameter jdbcParameter) {
+                if (parameters.contains(jdbcParameter)) {
+                    slots[counter[1]++] = counter[0];
+                }
+                counter[0]++;
+                super.visit(jdbcParameter);
+            }
+        };
+        SelectDeParser selectDeParser = new SelectDeParser(expressionDeParser, buffer);
+        expressionDeParser.setSelectVisitor(selectDeParser);
+        expressionDeParser.setBuffer(buffer);
+        select.accept(new StatementDeParser(expressionDeParser, selectDeParser, buffer));
+        if (counter[1] != parameters.size() || counter[0] - counter[1] != parameterCount) {
+            return null;
+        }
+        return new DataPermissionSqlTemplate(buffer.toString(), slots);
+    }
+
+    private static String unquote(String name) {
+        if (name.length() > 1 && (name.charAt(0) == '`' || name.charAt(0) == '"')) {
+            return name.substring(1, name.length() - 1);
+        }
+        return name;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.mybatis.permission;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 改写后的数据权限 sql 模板
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Getter
+@RequiredArgsConstructor
+public class DataPermissionSqlTemplate {
+
+    /**
+     * 改写后的 sql，权限条件均为 ? 占位
+     */
+    private final String sql;
+
+    /**
+     * 每个权限参数在最终参数列表中的下标（升序），为 null 时权限参数依次追加到末尾
+     */
+    private final int[] slots;
+
+}
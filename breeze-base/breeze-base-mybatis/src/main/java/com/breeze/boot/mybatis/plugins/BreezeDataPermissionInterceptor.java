@@ -16,44 +16,44 @@
 
 package com.breeze.boot.mybatis.plugins;
 
-import cn.dev33.satoken.stp.StpUtil;
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.NumberUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.extra.spring.SpringUtil;
 import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
-import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
-import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.extension.plugins.inner.BaseMultiTableInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
 import com.breeze.boot.core.base.CustomizePermission;
 import com.breeze.boot.core.base.UserPrincipal;
+import com.breeze.boot.core.base.UserPrincipalProvider;
 import com.breeze.boot.core.enums.DataPermissionType;
 import com.breeze.boot.core.enums.DataRole;
 import com.breeze.boot.core.enums.ResultCode;
 import com.breeze.boot.core.exception.BreezeBizException;
-import com.breeze.boot.mybatis.annotation.BreezeDataPermission;
-import lombok.SneakyThrows;
+import com.breeze.boot.mybatis.permission.DataPermissionCondition;
+import com.breeze.boot.mybatis.permission.DataPermissionMetadata;
+import com.breeze.boot.mybatis.permission.DataPermissionMetadataIndex;
+import com.breeze.boot.mybatis.permission.DataPermissionSqlRewriter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.expression.Expression;
-import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.schema.Table;
-import net.sf.jsqlparser.statement.select.Select;
-import org.apache.commons.compress.utils.Lists;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
-import org.apache.poi.util.StringUtil;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 
 import static com.breeze.boot.core.constants.CacheConstants.ROW_PERMISSION;
-import static com.breeze.boot.core.constants.CoreConstants.USER_TYPE;
 import static com.breeze.boot.core.enums.DataRole.getDataRoleByType;
 
 /**
@@ -63,8 +63,24 @@ import static com.breeze.boot.core.enums.DataRole.getDataRoleByType;
  * @since 2022-10-28
  */
 @Slf4j
+@RequiredArgsConstructor
 public class BreezeDataPermissionInterceptor extends BaseMultiTableInnerInterceptor implements InnerInterceptor {
 
+    /**
+     * 数据权限语句索引
+     */
+    private final DataPermissionMetadataIndex dataPermissionMetadataIndex;
+
+    /**
+     * 当前登录用户
+     */
+    private final ObjectProvider<UserPrincipalProvider> userPrincipalProvider;
+
+    /**
+     * 数据权限 sql 改写
+     */
+    private final DataPermissionSqlRewriter sqlRewriter = new DataPermissionSqlRewriter(1024);
+
     /**
      * 查询之前去拼装权限的sql
      *
@@ -75,7 +91,6 @@ public class BreezeDataPermissionInterceptor extends BaseMultiTableInnerIntercep
      * @param resultHandler 结果处理程序
      * @param boundSql      绑定sql
      */
-    @SneakyThrows
     @Override
     public void beforeQuery(Executor executor,
                             MappedStatement ms,
@@ -87,64 +102,56 @@ public class BreezeDataPermissionInterceptor extends BaseMultiTableInnerIntercep
             return;
         }
 
-        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
-        String originalSql = boundSql.getSql();
+        DataPermissionMetadata metadata = this.dataPermissionMetadataIndex.get(ms.getId());
+        if (!metadata.isPresent()) {
+            return;
+        }
 
-        // 采用判断方法注解方式进行数据权限
-        Class<?> clazz = Class.forName(ms.getId().substring(0, ms.getId().lastIndexOf(StringPool.DOT)));
-        // 获取方法名
-        String methodName = ms.getId().substring(ms.getId().lastIndexOf(StringPool.DOT) + 1);
-        Method[] methods = clazz.getMethods();
-        // 遍历类的方法
-        for (Method method : methods) {
-            BreezeDataPermission annotation = method.getAnnotation(BreezeDataPermission.class);
-            // 判断是否存在注解且方法名一致
-            if (Objects.isNull(annotation) || !methodName.equals(method.getName())) {
-                continue;
-            }
-            UserPrincipal userPrincipal = (UserPrincipal) StpUtil.getSession().get(USER_TYPE);
-            originalSql = this.getSql(userPrincipal, annotation, originalSql);
+        UserPrincipal userPrincipal = this.userPrincipalProvider.getObject().get();
+        String permissionType = userPrincipal.getPermissionType();
+        List<DataPermissionCondition> conditions = this.getConditions(userPrincipal, metadata, permissionType);
+        if (CollUtil.isEmpty(conditions)) {
+            return;
         }
-        mpBs.sql(originalSql);
+        this.sqlRewriter.rewrite(ms, boundSql, permissionType, conditions);
     }
 
-    @SneakyThrows
-    private String getSql(UserPrincipal userPrincipal, BreezeDataPermission dataPer, String originalSql) {
-        CacheManager cacheManager = SpringUtil.getBean(CacheManager.class);
-        List<String> columns = Lists.newArrayList();
-        Select select = (Select) CCJSqlParserUtil.parse(originalSql);
-
-        String column = "temp.*";
-        // 获取当前用户的数据权限
-        String permissionType = userPrincipal.getPermissionType();
-        if (StrUtil.equals(DataPermissionType.ALL.getType(), permissionType)) {
-            // 所有
-            return originalSql;
-        } else if (StrUtil.equals(DataPermissionType.DEPT_LEVEL.getType(), permissionType)) {
+    /**
+     * 获取当前用户的数据权限条件
+     *
+     * @param userPrincipal  用户信息
+     * @param dataPer        数据权限元数据
+     * @param permissionType 权限类型
+     * @return {@link List}<{@link DataPermissionCondition}> 为空时不限制
+     */
+    private List<DataPermissionCondition> getConditions(UserPrincipal userPrincipal, DataPermissionMetadata dataPer, String permissionType) {
+        if (StrUtil.equals(DataPermissionType.DEPT_LEVEL.getType(), permissionType)) {
             // 所在部门范围权限
-            originalSql = String.format("SELECT %s FROM (%s) temp WHERE temp.%s = %s", column, originalSql, dataPer.dept().getColumn(), userPrincipal.getDeptId());
+            return List.of(condition(dataPer.getDept().getColumn(), Collections.singletonList(userPrincipal.getDeptId())));
         } else if (StrUtil.equals(DataPermissionType.SUB_DEPT_LEVEL.getType(), permissionType)) {
             // 本级部门以及子部门
-            originalSql = String.format("SELECT %s FROM (%s) temp WHERE temp.%s IN (%s)", column, originalSql, dataPer.dept().getColumn(), StringUtil.join(",", userPrincipal.getSubDeptId().toArray()));
+            return List.of(condition(dataPer.getDept().getColumn(), userPrincipal.getSubDeptId()));
         } else if (StrUtil.equals(DataPermissionType.OWN.getType(), permissionType)) {
             // 个人范围权限
-            originalSql = String.format("SELECT %s FROM (%s) temp WHERE temp.%s = '%s'", column, originalSql, dataPer.own().getColumn(), userPrincipal.getId());
+            return List.of(condition(dataPer.getOwn().getColumn(), Collections.singletonList(userPrincipal.getId())));
         } else if (StrUtil.equals(DataPermissionType.CUSTOMIZES.getType(), permissionType)) {
             // 自定义权限
-            originalSql = getSqlString(userPrincipal, originalSql, cacheManager, column);
+            return getCustomizeConditions(userPrincipal);
         }
-        return originalSql;
+        // 所有
+        return Collections.emptyList();
     }
 
-    private static String getSqlString(UserPrincipal userPrincipal, String originalSql, CacheManager cacheManager, String column) {
-        Cache cache = cacheManager.getCache(ROW_PERMISSION);
-        Set<String> rowPermissionCodeSet = userPrincipal.getRowPermissionCode();
-
-        StringBuilder originalSqlBuilder = new StringBuilder();
-        originalSqlBuilder.append(String.format("SELECT %s FROM (%s) temp WHERE 1 = 1 ", column, originalSql));
+    private static List<DataPermissionCondition> getCustomizeConditions(UserPrincipal userPrincipal) {
+        Cache cache = SpringUtil.getBean(CacheManager.class).getCache(ROW_PERMISSION);
         if (cache == null) {
             throw new BreezeBizException(ResultCode.SYSTEM_EXCEPTION);
         }
+        Set<String> rowPermissionCodeSet = userPrincipal.getRowPermissionCode();
+        if (CollUtil.isEmpty(rowPermissionCodeSet)) {
+            return Collections.emptyList();
+        }
+        List<DataPermissionCondition> conditions = new ArrayList<>(rowPermissionCodeSet.size());
         for (String rowPermissionCode : rowPermissionCodeSet) {
             CustomizePermission sysCustomizePermission = cache.get(rowPermissionCode, CustomizePermission.class);
             if (sysCustomizePermission == null) {
@@ -152,12 +159,30 @@ public class BreezeDataPermissionInterceptor extends BaseMultiTableInnerIntercep
             }
             DataRole dataRole = getDataRoleByType(sysCustomizePermission.getCustomizesType());
             if (dataRole != null) {
-                String permissions = sysCustomizePermission.getPermissions();
-                originalSqlBuilder.append(String.format("AND temp.%s IN (%s) ", dataRole.getColumn(), permissions));
+                conditions.add(condition(dataRole.getColumn(), StrUtil.split(sysCustomizePermission.getPermissions(), StrUtil.C_COMMA, true, true)));
+            }
+        }
+        return conditions;
+    }
+
+    /**
+     * 构建条件，数字类型的值按 Long 绑定，保证能走索引
+     *
+     * @param column 字段
+     * @param values 值
+     * @return {@link DataPermissionCondition}
+     */
+    private static DataPermissionCondition condition(String column, Collection<?> values) {
+        List<Object> params = new ArrayList<>();
+        if (values != null) {
+            for (Object value : values) {
+                if (value == null) {
+                    continue;
+                }
+                params.add(value instanceof String str && NumberUtil.isLong(str) ? Long.valueOf(str) : value);
             }
         }
-        originalSql = originalSqlBuilder.toString();
-        return originalSql;
+        return new DataPermissionCondition(column, params);
     }
 
     @Override
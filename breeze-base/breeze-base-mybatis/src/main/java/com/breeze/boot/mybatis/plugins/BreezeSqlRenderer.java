@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.mybatis.plugins;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+
+import java.text.SimpleDateFormat;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * sql 拼装
+ * <p>
+ * 一次遍历 sql：压缩引号外的空白，并按顺序把引号外的 ? 替换为参数值，参数取值规则与 DefaultParameterHandler 一致
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public final class BreezeSqlRenderer {
+
+    private BreezeSqlRenderer() {
+    }
+
+    /**
+     * 拼装带参数的 sql
+     *
+     * @param configuration 配置
+     * @param boundSql      绑定sql
+     * @return {@link String}
+     */
+    public static String render(Configuration configuration, BoundSql boundSql) {
+        String sql = boundSql.getSql();
+        if (sql == null || sql.isEmpty()) {
+            return "";
+        }
+        List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+        Object parameterObject = boundSql.getParameterObject();
+        TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+        MetaObject metaObject = null;
+
+        StringBuilder sb = new StringBuilder(sql.length() + parameterMappings.size() * 8);
+        int paramIndex = 0;
+        char quote = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                sb.append(c);
+                if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = !sb.isEmpty();
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+                sb.append(c);
+            } else if (c == '?' && paramIndex < parameterMappings.size()) {
+                ParameterMapping parameterMapping = parameterMappings.get(paramIndex++);
+                if (parameterMapping.getMode() == ParameterMode.OUT) {
+                    sb.append('?');
+                    continue;
+                }
+                String propertyName = parameterMapping.getProperty();
+                Object value;
+                if (boundSql.hasAdditionalParameter(propertyName)) {
+                    value = boundSql.getAdditionalParameter(propertyName);
+                } else if (parameterObject == null) {
+                    value = null;
+                } else if (typeHandlerRegistry.hasTypeHandler(parameterObject.getClass())) {
+                    value = parameterObject;
+                } else {
+                    if (metaObject == null) {
+                        metaObject = configuration.newMetaObject(parameterObject);
+                    }
+                    value = metaObject.hasGetter(propertyName) ? metaObject.getValue(propertyName) : null;
+                }
+                appendValue(sb, value);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendValue(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof CharSequence || value instanceof Character || value instanceof Enum<?>) {
+            appendQuoted(sb, value.toString());
+        } else if (value instanceof Date date) {
+            appendQuoted(sb, new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(date));
+        } else if (value instanceof TemporalAccessor) {
+            appendQuoted(sb, value.toString());
+        } else {
+            sb.append(value);
+        }
+    }
+
+    private static void appendQuoted(StringBuilder sb, String value) {
+        sb.append('\'');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\'') {
+                sb.append('\'');
+            }
+            sb.append(c);
+        }
+        sb.append('\'');
+    }
+
+}
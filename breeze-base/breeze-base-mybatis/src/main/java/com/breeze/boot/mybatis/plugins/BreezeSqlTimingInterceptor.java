@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.mybatis.plugins;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.breeze.boot.mybatis.config.SqlLogProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * sql 耗时拦截器
+ * <p>
+ * 统计语句执行耗时：超过阈值的以 WARN 级别打印完整 sql，存在 {@link MeterRegistry} 时按语句ID记录耗时直方图
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "batch", args = {Statement.class})
+})
+public class BreezeSqlTimingInterceptor implements Interceptor {
+
+    private static final String METRIC_NAME = "breeze.sql";
+
+    private final long slowThresholdNanos;
+
+    private final boolean histogram;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timerMap = new ConcurrentHashMap<>(256);
+
+    /**
+     * sql 耗时拦截器
+     *
+     * @param sqlLogProperties sql 日志属性
+     * @param meterRegistry    指标注册，可为空
+     */
+    public BreezeSqlTimingInterceptor(SqlLogProperties sqlLogProperties, MeterRegistry meterRegistry) {
+        this.slowThresholdNanos = sqlLogProperties.getSlowThreshold() == null ? 0L : sqlLogProperties.getSlowThreshold().toNanos();
+        this.histogram = sqlLogProperties.isHistogram();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            this.record((StatementHandler) invocation.getTarget(), System.nanoTime() - start);
+        }
+    }
+
+    private void record(StatementHandler sh, long elapsedNanos) {
+        boolean slow = this.slowThresholdNanos > 0 && elapsedNanos >= this.slowThresholdNanos;
+        boolean timed = Objects.nonNull(this.meterRegistry);
+        if (!slow && !timed) {
+            return;
+        }
+        PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler(sh);
+        MappedStatement ms = mpSh.mappedStatement();
+        if (timed) {
+            this.timerMap.computeIfAbsent(ms.getId(), this::createTimer).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        if (slow) {
+            log.warn("[慢sql] [{}] [{}ms] {}", ms.getId(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    BreezeSqlRenderer.render(mpSh.configuration(), sh.getBoundSql()));
+        }
+    }
+
+    private Timer createTimer(String statementId) {
+        // @formatter:off
+        return Timer.builder(METRIC_NAME)
+                .description("sql 执行耗时")
+                .tag("statement", statementId)
+                .publishPercentileHistogram(this.histogram)
+                .register(this.meterRegistry);
+        // @formatter:on
+    }
+
+}
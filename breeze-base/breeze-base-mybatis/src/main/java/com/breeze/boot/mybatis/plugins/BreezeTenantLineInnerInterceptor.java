@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.mybatis.plugins;
+
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import com.breeze.boot.core.enums.ResultCode;
+import com.breeze.boot.core.exception.BreezeBizException;
+import com.breeze.boot.core.utils.BreezeThreadLocal;
+import com.breeze.boot.mybatis.tenant.TenantTableRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import static com.breeze.boot.core.constants.CoreConstants.TENANT_ID_COLUMN;
+
+/**
+ * 租户拦截器
+ * <p>
+ * 租户条件以 {@link LongValue} 节点写入解析树，改写结果按租户分桶缓存，相同租户的相同语句只解析一次。
+ * 每个租户的语句数单独限长，租户增多时不会互相挤占；租户数超出上限时淘汰最久未用的租户。
+ * 租户表变更时整体换一个新缓存，换之前已开始的改写只会写入旧缓存。
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public class BreezeTenantLineInnerInterceptor extends TenantLineInnerInterceptor {
+
+    /**
+     * 未设置租户时的缓存分桶
+     */
+    private static final Long NO_TENANT = Long.MIN_VALUE;
+
+    private final long tenantCacheSize;
+
+    private final long sqlCacheSize;
+
+    private volatile Cache<Long, Cache<String, String>> sqlCache;
+
+    /**
+     * @param tenantTableRegistry 租户表注册
+     * @param tenantCacheSize     缓存的租户数
+     * @param sqlCacheSize        每个租户缓存的语句数
+     */
+    public BreezeTenantLineInnerInterceptor(TenantTableRegistry tenantTableRegistry, long tenantCacheSize, long sqlCacheSize) {
+        super(new TenantLineHandler() {
+            @Override
+            public Expression getTenantId() {
+                Long tenantId = BreezeThreadLocal.get();
+                if (Objects.isNull(tenantId)) {
+                    throw new BreezeBizException(ResultCode.TENANT_NOT_FOUND);
+                }
+                return new LongValue(tenantId);
+            }
+
+            @Override
+            public String getTenantIdColumn() {
+                return TENANT_ID_COLUMN;
+            }
+
+            /**
+             * 返回 true 表示不需要拼多租户条件
+             */
+            @Override
+            public boolean ignoreTable(String tableName) {
+                return !tenantTableRegistry.contains(tableName);
+            }
+        });
+        this.tenantCacheSize = tenantCacheSize;
+        this.sqlCacheSize = sqlCacheSize;
+        this.sqlCache = this.newCache();
+        tenantTableRegistry.addRefreshListener(() -> this.sqlCache = this.newCache());
+    }
+
+    @Override
+    public String parserSingle(String sql, Object obj) {
+        return this.rewrite("S:" + sql, () -> super.parserSingle(sql, obj));
+    }
+
+    @Override
+    public String parserMulti(String sql, Object obj) {
+        return this.rewrite("M:" + sql, () -> super.parserMulti(sql, obj));
+    }
+
+    private Cache<Long, Cache<String, String>> newCache() {
+        return CacheBuilder.newBuilder().maximumSize(this.tenantCacheSize).build();
+    }
+
+    private String rewrite(String key, Supplier<String> parser) {
+        Long tenantId = Objects.requireNonNullElse(BreezeThreadLocal.get(), NO_TENANT);
+        try {
+            Cache<String, String> tenantCache = this.sqlCache.get(tenantId,
+                    () -> CacheBuilder.newBuilder().maximumSize(this.sqlCacheSize).build());
+            return tenantCache.get(key, parser::get);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.mybatis.tenant;
+
+import cn.hutool.core.util.StrUtil;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * 租户表注册
+ * <p>
+ * 由 {@code breeze.tenant.tables} 预先生成的不可变集合，表名忽略大小写和引号，运行时可通过 {@link #refresh(Collection)} 整体替换
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public class TenantTableRegistry {
+
+    private final List<Runnable> refreshListeners = new CopyOnWriteArrayList<>();
+
+    private volatile Set<String> tables;
+
+    public TenantTableRegistry(Collection<String> tables) {
+        this.tables = normalize(tables);
+    }
+
+    /**
+     * 是否为租户表
+     *
+     * @param tableName 表名
+     * @return boolean
+     */
+    public boolean contains(String tableName) {
+        return this.tables.contains(normalize(tableName));
+    }
+
+    /**
+     * 整体替换租户表，替换后通知监听者
+     *
+     * @param tables 租户表
+     */
+    public void refresh(Collection<String> tables) {
+        this.tables = normalize(tables);
+        this.refreshListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * 租户表变更时回调
+     *
+     * @param listener 回调
+     */
+    public void addRefreshListener(Runnable listener) {
+        this.refreshListeners.add(listener);
+    }
+
+    public Set<String> getTables() {
+        return this.tables;
+    }
+
+    private static Set<String> normalize(Collection<String> tables) {
+        if (tables == null) {
+            return Set.of();
+        }
+        return tables.stream().filter(Objects::nonNull).map(TenantTableRegistry::normalize).collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static String normalize(String tableName) {
+        String name = StrUtil.strip(tableName, "`");
+        name = StrUtil.strip(name, "\"");
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.mybatis.permission;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DataPermissionSqlRewriterTest {
+
+    private final Configuration configuration = new Configuration();
+
+    @Test
+    void injectsPredicatesIntoWhereBeforeLimit() {
+        DataPermissionSqlTemplate template = DataPermissionSqlRewriter.compile(
+                "SELECT u.id, u.dept_id, u.create_by AS create_by FROM sys_user u WHERE u.name = ? OR u.id = ? LIMIT ?",
+                List.of(condition("dept_id", 1L, 2L), condition("create_by", 3L)), 3);
+
+        assertEquals("SELECT u.id, u.dept_id, u.create_by AS create_by FROM sys_user u "
+                + "WHERE (u.name = ? OR u.id = ?) AND u.dept_id IN (?, ?) AND u.create_by = ? LIMIT ?", template.getSql());
+        assertArrayEquals(new int[]{2, 3, 4}, template.getSlots());
+    }
+
+    @Test
+    void addsWhereWhenMissing() {
+        DataPermissionSqlTemplate template = DataPermissionSqlRewriter.compile(
+                "SELECT id, dept_id FROM sys_user ORDER BY id", List.of(condition("dept_id", 1L)), 0);
+
+        assertEquals("SELECT id, dept_id FROM sys_user WHERE dept_id = ? ORDER BY id", template.getSql());
+        assertArrayEquals(new int[]{0}, template.getSlots());
+    }
+
+    @Test
+    void emptyValuesMatchNothing() {
+        DataPermissionSqlTemplate template = DataPermissionSqlRewriter.compile(
+                "SELECT id, dept_id FROM sys_user", List.of(condition("dept_id")), 0);
+
+        assertEquals("SELECT id, dept_id FROM sys_user WHERE 1 = 0", template.getSql());
+        assertArrayEquals(new int[0], template.getSlots());
+    }
+
+    @Test
+    void aliasOfExpressionFallsBackToDerivedTable() {
+        DataPermissionSqlTemplate template = DataPermissionSqlRewriter.compile(
+                "SELECT id, IFNULL(dept_id, 0) AS dept_id FROM sys_user WHERE id > ?", List.of(condition("dept_id", 1L)), 1);
+
+        assertEquals("SELECT temp.* FROM (SELECT id, IFNULL(dept_id, 0) AS dept_id FROM sys_user WHERE id > ?) temp "
+                + "WHERE temp.dept_id = ?", template.getSql());
+        assertNull(template.getSlots());
+    }
+
+    @Test
+    void groupByFallsBackToDerivedTable() {
+        DataPermissionSqlTemplate template = DataPermissionSqlRewriter.compile(
+                "SELECT dept_id, count(*) FROM sys_user GROUP BY dept_id", List.of(condition("dept_id", 1L, 2L)), 0);
+
+        assertEquals("SELECT temp.* FROM (SELECT dept_id, count(*) FROM sys_user GROUP BY dept_id) temp "
+                + "WHERE temp.dept_id IN (?, ?)", template.getSql());
+        assertNull(template.getSlots());
+    }
+
+    @Test
+    void unresolvedColumnFallsBackToDerivedTable() {
+        DataPermissionSqlTemplate template = DataPermissionSqlRewriter.compile(
+                "SELECT * FROM sys_user", List.of(condition("dept_id", 1L)), 0);
+
+        assertEquals("SELECT temp.* FROM (SELECT * FROM sys_user) temp WHERE temp.dept_id = ?", template.getSql());
+    }
+
+    @Test
+    void rewriteBindsValuesAtTheirSlots() {
+        DataPermissionSqlRewriter rewriter = new DataPermissionSqlRewriter(16);
+        MappedStatement ms = mappedStatement();
+        BoundSql boundSql = boundSql("SELECT id, dept_id FROM sys_user WHERE name = ? LIMIT ?", "name", "limit");
+
+        rewriter.rewrite(ms, boundSql, "DEPT", List.of(condition("dept_id", 5L, 6L)));
+
+        assertEquals("SELECT id, dept_id FROM sys_user WHERE (name = ?) AND dept_id IN (?, ?) LIMIT ?", boundSql.getSql());
+        assertEquals(List.of("name", "__breeze_dp_0", "__breeze_dp_1", "limit"), properties(boundSql));
+        assertEquals(5L, boundSql.getAdditionalParameter("__breeze_dp_0"));
+        assertEquals(6L, boundSql.getAdditionalParameter("__breeze_dp_1"));
+    }
+
+    @Test
+    void rewriteReusesTemplateWithNewValues() {
+        DataPermissionSqlRewriter rewriter = new DataPermissionSqlRewriter(16);
+        MappedStatement ms = mappedStatement();
+        String sql = "SELECT id, dept_id FROM sys_user WHERE name = ?";
+
+        BoundSql first = boundSql(sql, "name");
+        rewriter.rewrite(ms, first, "DEPT", List.of(condition("dept_id", 1L)));
+        BoundSql second = boundSql(sql, "name");
+        rewriter.rewrite(ms, second, "DEPT", List.of(condition("dept_id", 2L)));
+
+        assertEquals(first.getSql(), second.getSql());
+        assertEquals(2L, second.getAdditionalParameter("__breeze_dp_0"));
+        assertEquals(List.of("name", "__breeze_dp_0"), properties(second));
+    }
+
+    @Test
+    void rewriteAppendsValuesForDerivedTable() {
+        DataPermissionSqlRewriter rewriter = new DataPermissionSqlRewriter(16);
+        BoundSql boundSql = boundSql("SELECT dept_id, count(*) FROM sys_user WHERE name = ? GROUP BY dept_id", "name");
+
+        rewriter.rewrite(mappedStatement(), boundSql, "DEPT", List.of(condition("dept_id", 1L)));
+
+        assertEquals(List.of("name", "__breeze_dp_0"), properties(boundSql));
+    }
+
+    private static DataPermissionCondition condition(String column, Object... values) {
+        return new DataPermissionCondition(column, List.of(values));
+    }
+
+    private MappedStatement mappedStatement() {
+        return new MappedStatement.Builder(configuration, "com.breeze.SysUserMapper.selectPage",
+                new StaticSqlSource(configuration, ""), SqlCommandType.SELECT).build();
+    }
+
+    private BoundSql boundSql(String sql, String... properties) {
+        List<ParameterMapping> mappings = new ArrayList<>();
+        for (String property : properties) {
+            mappings.add(new ParameterMapping.Builder(configuration, property, Object.class).build());
+        }
+        return new BoundSql(configuration, sql, mappings, null);
+    }
+
+    private static List<String> properties(BoundSql boundSql) {
+        return boundSql.getParameterMappings().stream().map(ParameterMapping::getProperty).toList();
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.mybatis.plugins;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BreezeSqlRendererTest {
+
+    private final Configuration configuration = new Configuration();
+
+    @Test
+    void collapsesWhitespaceOutsideQuotes() {
+        BoundSql boundSql = boundSql("  SELECT  id,\n\t name\nFROM   sys_user  WHERE  remark = '  a  b  '  ", null);
+
+        assertEquals("SELECT id, name FROM sys_user WHERE remark = '  a  b  '", BreezeSqlRenderer.render(configuration, boundSql));
+    }
+
+    @Test
+    void replacesPlaceholdersInOrderFromParameterObject() {
+        Map<String, Object> parameter = new HashMap<>();
+        parameter.put("name", "o'neil");
+        parameter.put("age", 18);
+        parameter.put("birthday", LocalDate.of(2000, 1, 2));
+        BoundSql boundSql = boundSql("SELECT * FROM sys_user WHERE name = ? AND age > ? AND birthday = ? AND remark = ?",
+                parameter, "name", "age", "birthday", "remark");
+
+        assertEquals("SELECT * FROM sys_user WHERE name = 'o''neil' AND age > 18 AND birthday = '2000-01-02' AND remark = null",
+                BreezeSqlRenderer.render(configuration, boundSql));
+    }
+
+    @Test
+    void leavesQuestionMarksInsideQuotesAlone() {
+        BoundSql boundSql = boundSql("SELECT '?' AS q, `a?b` FROM t WHERE id = ?", 7L, "id");
+
+        assertEquals("SELECT '?' AS q, `a?b` FROM t WHERE id = 7", BreezeSqlRenderer.render(configuration, boundSql));
+    }
+
+    @Test
+    void prefersAdditionalParameters() {
+        Map<String, Object> parameter = new HashMap<>();
+        parameter.put("id", 1L);
+        BoundSql boundSql = boundSql("SELECT * FROM t WHERE id = ? AND dept_id = ?", parameter, "id", "__frch_item_0");
+        boundSql.setAdditionalParameter("__frch_item_0", 9L);
+
+        assertEquals("SELECT * FROM t WHERE id = 1 AND dept_id = 9", BreezeSqlRenderer.render(configuration, boundSql));
+    }
+
+    @Test
+    void keepsOutParametersAndSurplusPlaceholders() {
+        List<ParameterMapping> mappings = new ArrayList<>();
+        mappings.add(new ParameterMapping.Builder(configuration, "result", Object.class).mode(ParameterMode.OUT).build());
+        BoundSql boundSql = new BoundSql(configuration, "CALL p(?, ?)", mappings, null);
+
+        assertEquals("CALL p(?, ?)", BreezeSqlRenderer.render(configuration, boundSql));
+    }
+
+    @Test
+    void formatsDates() {
+        Date date = new Date(0L);
+        String expected = new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(date);
+        BoundSql boundSql = boundSql("SELECT * FROM t WHERE create_time > ?", date, "createTime");
+
+        assertEquals("SELECT * FROM t WHERE create_time > '" + expected + "'", BreezeSqlRenderer.render(configuration, boundSql));
+    }
+
+    private BoundSql boundSql(String sql, Object parameter, String... properties) {
+        List<ParameterMapping> mappings = new ArrayList<>();
+        for (String property : properties) {
+            mappings.add(new ParameterMapping.Builder(configuration, property, Object.class).build());
+        }
+        return new BoundSql(configuration, sql, mappings, parameter);
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.mybatis.plugins;
+
+import com.breeze.boot.core.tenant.TenantContextSnapshot;
+import com.breeze.boot.core.utils.BreezeThreadLocal;
+import com.breeze.boot.mybatis.tenant.TenantTableRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BreezeTenantLineInnerInterceptorTest {
+
+    private final TenantTableRegistry registry = new TenantTableRegistry(List.of("SYS_USER", "`sys_dept`"));
+
+    private final BreezeTenantLineInnerInterceptor interceptor = new BreezeTenantLineInnerInterceptor(registry, 4, 16);
+
+    @Test
+    void appendsCurrentTenantToTenantTables() {
+        try (TenantContextSnapshot.Scope ignored = BreezeThreadLocal.with(7L)) {
+            assertEquals("SELECT u.id, d.dept_name FROM sys_user u LEFT JOIN sys_dept d ON u.dept_id = d.id AND d.tenant_id = 7 "
+                            + "WHERE u.id = ? AND u.tenant_id = 7",
+                    interceptor.parserSingle("SELECT u.id, d.dept_name FROM sys_user u LEFT JOIN sys_dept d ON u.dept_id = d.id WHERE u.id = ?", null));
+            assertEquals("INSERT INTO sys_user (username, tenant_id) VALUES (?, 7)",
+                    interceptor.parserSingle("INSERT INTO sys_user (username) VALUES (?)", null));
+        }
+    }
+
+    @Test
+    void cachesRewritePerTenant() {
+        String sql = "SELECT id FROM sys_user WHERE id = ?";
+        String first;
+        try (TenantContextSnapshot.Scope ignored = BreezeThreadLocal.with(1L)) {
+            first = interceptor.parserSingle(sql, null);
+            assertSame(first, interceptor.parserSingle(sql, null));
+        }
+        try (TenantContextSnapshot.Scope ignored = BreezeThreadLocal.with(2L)) {
+            assertEquals("SELECT id FROM sys_user WHERE id = ? AND tenant_id = 2", interceptor.parserSingle(sql, null));
+        }
+        assertEquals("SELECT id FROM sys_user WHERE id = ? AND tenant_id = 1", first);
+    }
+
+    @Test
+    void refreshReplacesTablesAndDropsCachedRewrites() {
+        String sql = "SELECT id FROM sys_menu WHERE id = ?";
+        try (TenantContextSnapshot.Scope ignored = BreezeThreadLocal.with(3L)) {
+            assertEquals(sql, interceptor.parserSingle(sql, null));
+            registry.refresh(List.of("sys_menu"));
+            assertEquals("SELECT id FROM sys_menu WHERE id = ? AND tenant_id = 3", interceptor.parserSingle(sql, null));
+            assertEquals("SELECT id FROM sys_user", interceptor.parserSingle("SELECT id FROM sys_user", null));
+        }
+    }
+
+    @Test
+    void leavesOtherTablesAlone() {
+        assertEquals("SELECT * FROM sys_menu WHERE id = ?", interceptor.parserSingle("SELECT * FROM sys_menu WHERE id = ?", null));
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.redis.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Objects;
+
+/**
+ * 本地缓存失效通知监听
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+public class CacheInvalidationListener implements MessageListener {
+
+    private final TwoLevelCacheManager cacheManager;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public CacheInvalidationListener(TwoLevelCacheManager cacheManager, RedisTemplate<String, Object> redisTemplate) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body;
+        try {
+            body = this.redisTemplate.getValueSerializer().deserialize(message.getBody());
+        } catch (Exception e) {
+            log.warn("[缓存失效通知解析失败]", e);
+            return;
+        }
+        if (!(body instanceof CacheInvalidationMessage invalidation)) {
+            return;
+        }
+        if (Objects.equals(this.cacheManager.getPublisher().getNodeId(), invalidation.getNodeId())) {
+            return;
+        }
+        this.cacheManager.invalidateLocal(invalidation.getCacheName(), invalidation.getKey());
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.redis.cache;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * 本地缓存失效通知发布
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    /**
+     * 当前节点标识，忽略自己发出的消息
+     */
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final String topic;
+
+    public CacheInvalidationPublisher(RedisTemplate<String, Object> redisTemplate, String topic) {
+        this.redisTemplate = redisTemplate;
+        this.topic = topic;
+    }
+
+    /**
+     * 通知其他节点失效本地缓存
+     *
+     * @param cacheName 缓存名称
+     * @param key       缓存 key，为空时清空整个缓存
+     */
+    public void publish(String cacheName, String key) {
+        try {
+            this.redisTemplate.convertAndSend(this.topic, new CacheInvalidationMessage(this.nodeId, cacheName, key));
+        } catch (Exception e) {
+            // 通知失败时其他节点依靠本地缓存过期兜底
+            log.warn("[缓存失效通知失败] {} {}", cacheName, key, e);
+        }
+    }
+
+}
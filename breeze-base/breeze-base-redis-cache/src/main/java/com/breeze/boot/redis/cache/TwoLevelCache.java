@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.redis.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 二级缓存
+ * <p>
+ * 一级为本地 caffeine 缓存，二级为 redis 缓存；写入和失效同时作用于两级，并通过 redis 频道通知其他节点失效本地缓存
+ * </p>
+ * <p>
+ * 本地命中时所有调用方拿到的是同一个对象实例，不再是各自反序列化的副本，缓存值必须当作只读使用；
+ * 需要修改时先复制，否则会影响本节点的其他调用方，且与 redis 中的值不一致
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+
+    private final Cache redisCache;
+
+    private final CacheInvalidationPublisher publisher;
+
+    private final LongAdder localHits = new LongAdder();
+
+    private final LongAdder remoteHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder puts = new LongAdder();
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                         Cache redisCache,
+                         CacheInvalidationPublisher publisher) {
+        super(true);
+        this.name = name;
+        this.localCache = localCache;
+        this.redisCache = redisCache;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = this.toLocalKey(key);
+        Object value = this.localCache.getIfPresent(localKey);
+        if (value != null) {
+            this.localHits.increment();
+            return value;
+        }
+        ValueWrapper wrapper = this.redisCache.get(key);
+        if (wrapper == null) {
+            this.misses.increment();
+            return null;
+        }
+        this.remoteHits.increment();
+        Object storeValue = this.toStoreValue(wrapper.get());
+        this.localCache.put(localKey, storeValue);
+        return storeValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = this.toLocalKey(key);
+        Object value = this.localCache.getIfPresent(localKey);
+        if (value != null) {
+            this.localHits.increment();
+            return (T) this.fromStoreValue(value);
+        }
+        // redis 缓存负责加载和回写，本地只缓存结果
+        AtomicBoolean called = new AtomicBoolean();
+        T loaded = this.redisCache.get(key, () -> {
+            called.set(true);
+            this.misses.increment();
+            this.puts.increment();
+            return valueLoader.call();
+        });
+        if (!called.get()) {
+            this.remoteHits.increment();
+        }
+        this.localCache.put(localKey, this.toStoreValue(loaded));
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        this.redisCache.put(key, value);
+        this.puts.increment();
+        this.evictLocalAndPublish(key);
+        this.localCache.put(this.toLocalKey(key), this.toStoreValue(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = this.redisCache.putIfAbsent(key, value);
+        if (existing == null) {
+            this.puts.increment();
+            this.evictLocalAndPublish(key);
+            this.localCache.put(this.toLocalKey(key), this.toStoreValue(value));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        this.redisCache.evict(key);
+        this.evictLocalAndPublish(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = this.redisCache.evictIfPresent(key);
+        this.evictLocalAndPublish(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        this.redisCache.clear();
+        this.clearLocal();
+        this.publisher.publish(this.name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = this.redisCache.invalidate();
+        this.clearLocal();
+        this.publisher.publish(this.name, null);
+        return invalidated;
+    }
+
+    /**
+     * 失效本地缓存，收到其他节点的通知时调用
+     *
+     * @param key 缓存 key，为空时清空
+     */
+    void invalidateLocal(String key) {
+        if (Objects.isNull(key)) {
+            this.clearLocal();
+            return;
+        }
+        this.localCache.invalidate(key);
+    }
+
+    public long getLocalSize() {
+        return this.localCache.estimatedSize();
+    }
+
+    public long getLocalHitCount() {
+        return this.localHits.sum();
+    }
+
+    public long getRemoteHitCount() {
+        return this.remoteHits.sum();
+    }
+
+    public long getHitCount() {
+        return this.localHits.sum() + this.remoteHits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    public long getPutCount() {
+        return this.puts.sum();
+    }
+
+    public long getLocalEvictionCount() {
+        return this.localCache.stats().evictionCount();
+    }
+
+    private void evictLocalAndPublish(Object key) {
+        String localKey = this.toLocalKey(key);
+        this.localCache.invalidate(localKey);
+        this.publisher.publish(this.name, localKey);
+    }
+
+    private void clearLocal() {
+        this.localCache.invalidateAll();
+    }
+
+    private String toLocalKey(Object key) {
+        return String.valueOf(key);
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.redis.cache;
+
+import com.breeze.boot.redis.config.BreezeCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 二级缓存管理器
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final Map<String, TwoLevelCache> cacheMap = new ConcurrentHashMap<>(16);
+
+    private final CacheManager redisCacheManager;
+
+    private final BreezeCacheProperties properties;
+
+    @Getter
+    private final CacheInvalidationPublisher publisher;
+
+    public TwoLevelCacheManager(CacheManager redisCacheManager,
+                                BreezeCacheProperties properties,
+                                CacheInvalidationPublisher publisher) {
+        this.redisCacheManager = redisCacheManager;
+        this.properties = properties;
+        this.publisher = publisher;
+        properties.getCaches().keySet().forEach(this::getCache);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = this.cacheMap.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache redisCache = this.redisCacheManager.getCache(name);
+        if (redisCache == null) {
+            return null;
+        }
+        return this.cacheMap.computeIfAbsent(name, key -> this.createCache(key, redisCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(this.cacheMap.keySet());
+    }
+
+    /**
+     * 失效本地缓存
+     *
+     * @param cacheName 缓存名称
+     * @param key       缓存 key，为空时清空
+     */
+    public void invalidateLocal(String cacheName, String key) {
+        TwoLevelCache cache = this.cacheMap.get(cacheName);
+        if (cache != null) {
+            cache.invalidateLocal(key);
+        }
+    }
+
+    private TwoLevelCache createCache(String name, Cache redisCache) {
+        BreezeCacheProperties.Local local = this.properties.getLocal();
+        BreezeCacheProperties.CacheSpec spec = this.properties.getCaches().get(name);
+        Duration ttl = spec != null && Objects.nonNull(spec.getLocalTtl()) ? spec.getLocalTtl() : local.getTtl();
+        long maximumSize = spec != null && Objects.nonNull(spec.getLocalMaximumSize()) ? spec.getLocalMaximumSize() : local.getMaximumSize();
+        // @formatter:off
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        // @formatter:on
+        return new TwoLevelCache(name, localCache, redisCache, this.publisher);
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.redis.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * 二级缓存指标
+ * <p>
+ * 除标准的 cache.gets / cache.puts 外，按 level 区分本地和 redis 的命中数
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public class TwoLevelCacheMeterBinder extends CacheMeterBinder<TwoLevelCache> {
+
+    public TwoLevelCacheMeterBinder(TwoLevelCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        TwoLevelCache cache = this.getCache();
+        return cache == null ? null : cache.getLocalSize();
+    }
+
+    @Override
+    protected long hitCount() {
+        TwoLevelCache cache = this.getCache();
+        return cache == null ? 0L : cache.getHitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        TwoLevelCache cache = this.getCache();
+        return cache == null ? null : cache.getMissCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        TwoLevelCache cache = this.getCache();
+        return cache == null ? null : cache.getLocalEvictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        TwoLevelCache cache = this.getCache();
+        return cache == null ? 0L : cache.getPutCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.level.hits", this.getCache(), TwoLevelCache::getLocalHitCount)
+                .tags(this.getTagsWithCacheName())
+                .tag("level", "local")
+                .description("The number of times cache lookup methods have returned a cached value from the given level")
+                .register(registry);
+        FunctionCounter.builder("cache.level.hits", this.getCache(), TwoLevelCache::getRemoteHitCount)
+                .tags(this.getTagsWithCacheName())
+                .tag("level", "redis")
+                .description("The number of times cache lookup methods have returned a cached value from the given level")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.redis.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 缓存配置
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "breeze.cache")
+public class BreezeCacheProperties {
+
+    /**
+     * redis 缓存默认过期时间
+     */
+    private Duration ttl = Duration.ofDays(1);
+
+    /**
+     * 本地缓存失效通知的 redis 频道
+     */
+    private String topic = "breeze:cache:invalidation";
+
+    /**
+     * 本地一级缓存
+     */
+    private Local local = new Local();
+
+    /**
+     * 单个缓存的配置，key 为缓存名称
+     */
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Local {
+
+        /**
+         * 是否开启本地一级缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * 本地缓存默认过期时间，兜底 pub/sub 消息丢失的情况
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * 本地缓存默认最大条数
+         */
+        private long maximumSize = 10000;
+
+    }
+
+    @Getter
+    @Setter
+    public static class CacheSpec {
+
+        /**
+         * redis 过期时间
+         */
+        private Duration ttl;
+
+        /**
+         * 本地缓存过期时间
+         */
+        private Duration localTtl;
+
+        /**
+         * 本地缓存最大条数
+         */
+        private Long localMaximumSize;
+
+    }
+
+}
@@ -16,6 +16,11 @@
 
 package com.breeze.boot.redis.config;
 
+import com.breeze.boot.redis.cache.CacheInvalidationListener;
+import com.breeze.boot.redis.cache.CacheInvalidationPublisher;
+import com.breeze.boot.redis.cache.TwoLevelCache;
+import com.breeze.boot.redis.cache.TwoLevelCacheManager;
+import com.breeze.boot.redis.cache.TwoLevelCacheMeterBinder;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,19 +30,31 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * redis 配置
@@ -47,6 +64,7 @@ import java.time.Duration;
  */
 @EnableCaching
 @Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(BreezeCacheProperties.class)
 public class RedisConfiguration {
 
     /**
@@ -75,12 +93,19 @@ public class RedisConfiguration {
 
     /**
      * 自定义缓存管理器
+     * <p>
+     * 开启本地缓存时在 redis 缓存前加一层 caffeine 缓存，未开启时直接使用 redis 缓存
+     * </p>
      *
      * @param lettuceConnectionFactory redis 连接工厂
-     * @return {@link RedisCacheManager}
+     * @param redisTemplate            redis 模板，用于发送本地缓存失效通知
+     * @param cacheProperties          缓存配置
+     * @return {@link CacheManager}
      */
     @Bean
-    public RedisCacheManager cacheManager(LettuceConnectionFactory lettuceConnectionFactory) {
+    public CacheManager cacheManager(LettuceConnectionFactory lettuceConnectionFactory,
+                                     RedisTemplate<String, Object> redisTemplate,
+                                     BreezeCacheProperties cacheProperties) {
         // 创建String和JSON序列化对象，分别对key和value的数据进行类型转换
         RedisSerializer<String> strSerializer = new StringRedisSerializer();
 
@@ -88,15 +113,55 @@ public class RedisConfiguration {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 // 前缀
                 .computePrefixWith(name -> name)
-                // 设置缓存过期时间为1天
-                .entryTtl(Duration.ofDays(1))
+                // 设置缓存过期时间，默认1天
+                .entryTtl(cacheProperties.getTtl())
                 // 使用 strSerializer 对key进行数据类型转换
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(strSerializer))
                 // 使用 jacksonSeial 对value的数据类型进行转换
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(this.getJsonRedisSerializer()))
                 ;
 
-        return RedisCacheManager.builder(lettuceConnectionFactory).cacheDefaults(config).build();
+        // 单个缓存的过期时间
+        Map<String, RedisCacheConfiguration> initialCacheConfigurations = new LinkedHashMap<>();
+        cacheProperties.getCaches().forEach((name, spec) ->
+                initialCacheConfigurations.put(name, Objects.isNull(spec.getTtl()) ? config : config.entryTtl(spec.getTtl())));
+
+        // clear 使用 scan 代替 keys，避免阻塞 redis
+        RedisCacheManager redisCacheManager = RedisCacheManager
+                .builder(RedisCacheWriter.nonLockingRedisCacheWriter(lettuceConnectionFactory, BatchStrategies.scan(1000)))
+                .cacheDefaults(config)
+                .withInitialCacheConfigurations(initialCacheConfigurations)
+                .build();
+        redisCacheManager.initializeCaches();
+        if (!cacheProperties.getLocal().isEnabled()) {
+            return redisCacheManager;
+        }
+        return new TwoLevelCacheManager(redisCacheManager, cacheProperties,
+                new CacheInvalidationPublisher(redisTemplate, cacheProperties.getTopic()));
+    }
+
+    /**
+     * 本地缓存失效通知监听容器
+     *
+     * @param lettuceConnectionFactory redis 连接工厂
+     * @param cacheManager             缓存管理器
+     * @param redisTemplate            redis 模板，用于解析通知
+     * @param cacheProperties          缓存配置
+     * @return {@link RedisMessageListenerContainer}
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "breeze.cache.local", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(LettuceConnectionFactory lettuceConnectionFactory,
+                                                                            CacheManager cacheManager,
+                                                                            RedisTemplate<String, Object> redisTemplate,
+                                                                            BreezeCacheProperties cacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(lettuceConnectionFactory);
+        if (cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager) {
+            container.addMessageListener(new CacheInvalidationListener(twoLevelCacheManager, redisTemplate),
+                    new ChannelTopic(cacheProperties.getTopic()));
+        }
+        return container;
     }
 
     /**
@@ -124,4 +189,18 @@ public class RedisConfiguration {
         return new Jackson2JsonRedisSerializer<>(mapper, Object.class);
     }
 
+    /**
+     * 二级缓存指标，存在 actuator 时注册
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({MeterBinder.class, CacheMeterBinderProvider.class})
+    static class TwoLevelCacheMetricsConfiguration {
+
+        @Bean
+        public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+            return TwoLevelCacheMeterBinder::new;
+        }
+
+    }
+
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.redis.cache;
+
+import com.breeze.boot.redis.config.BreezeCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoLevelCacheTest {
+
+    private final List<CacheInvalidationMessage> published = new ArrayList<>();
+
+    private ConcurrentMapCacheManager redisCacheManager;
+
+    private TwoLevelCacheManager cacheManager;
+
+    private TwoLevelCache cache;
+
+    private Cache redisCache;
+
+    @BeforeEach
+    void setUp() {
+        this.redisCacheManager = new ConcurrentMapCacheManager();
+        CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(null, "test") {
+            @Override
+            public void publish(String cacheName, String key) {
+                published.add(new CacheInvalidationMessage(this.getNodeId(), cacheName, key));
+            }
+        };
+        this.cacheManager = new TwoLevelCacheManager(this.redisCacheManager, new BreezeCacheProperties(), publisher);
+        this.cache = (TwoLevelCache) this.cacheManager.getCache("user");
+        this.redisCache = this.redisCacheManager.getCache("user");
+    }
+
+    @Test
+    void loadsOnceThenHitsLocal() {
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("v", this.cache.get("k", () -> {
+            calls.incrementAndGet();
+            return "v";
+        }));
+        assertEquals("v", this.cache.get("k", () -> {
+            calls.incrementAndGet();
+            return "v";
+        }));
+        assertEquals("v", this.cache.get("k").get());
+
+        assertEquals(1, calls.get());
+        assertEquals("v", this.redisCache.get("k").get());
+        assertEquals(1, this.cache.getMissCount());
+        assertEquals(1, this.cache.getPutCount());
+        assertEquals(2, this.cache.getLocalHitCount());
+        assertEquals(0, this.cache.getRemoteHitCount());
+    }
+
+    @Test
+    void countsRemoteHitWhenOnlyRedisHoldsValue() {
+        this.redisCache.put("a", "1");
+        this.redisCache.put("b", "2");
+
+        assertEquals("1", this.cache.get("a", () -> fail("不应回源")));
+        assertEquals("2", this.cache.get("b").get());
+        assertEquals(2, this.cache.getRemoteHitCount());
+        assertEquals(0, this.cache.getMissCount());
+
+        assertEquals("1", this.cache.get("a", () -> fail("不应回源")));
+        assertEquals(1, this.cache.getLocalHitCount());
+        assertEquals(2, this.cache.getLocalSize());
+    }
+
+    @Test
+    void evictRemovesBothLevelsAndPublishesKey() {
+        this.cache.put("k", "v");
+        this.published.clear();
+
+        this.cache.evict("k");
+
+        assertNull(this.cache.get("k"));
+        assertNull(this.redisCache.get("k"));
+        assertEquals(1, this.published.size());
+        assertEquals("user", this.published.get(0).getCacheName());
+        assertEquals("k", this.published.get(0).getKey());
+    }
+
+    @Test
+    void clearRemovesBothLevelsAndPublishesWholeCache() {
+        this.cache.put("a", "1");
+        this.cache.put("b", "2");
+        this.published.clear();
+
+        this.cache.clear();
+
+        assertEquals(0, this.cache.getLocalSize());
+        assertNull(this.redisCache.get("a"));
+        assertNull(this.redisCache.get("b"));
+        assertEquals(1, this.published.size());
+        assertNull(this.published.get(0).getKey());
+    }
+
+    @Test
+    void invalidationMessageFromOtherNodeEvictsLocalOnly() {
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setValueSerializer(RedisSerializer.java());
+        CacheInvalidationListener listener = new CacheInvalidationListener(this.cacheManager, redisTemplate);
+        this.cache.get("k", () -> "v");
+        String nodeId = this.cacheManager.getPublisher().getNodeId();
+
+        listener.onMessage(this.message(redisTemplate, new CacheInvalidationMessage(nodeId, "user", "k")), null);
+        assertEquals(1, this.cache.getLocalSize());
+
+        listener.onMessage(this.message(redisTemplate, new CacheInvalidationMessage("other", "user", "k")), null);
+        assertEquals(0, this.cache.getLocalSize());
+        assertEquals("v", this.cache.get("k").get());
+        assertEquals(1, this.cache.getRemoteHitCount());
+
+        listener.onMessage(this.message(redisTemplate, new CacheInvalidationMessage("other", "user", null)), null);
+        assertEquals(0, this.cache.getLocalSize());
+        assertEquals("v", this.redisCache.get("k").get());
+    }
+
+    @Test
+    void putReplacesValueOnBothLevels() {
+        this.cache.get("k", () -> "old");
+        this.published.clear();
+
+        this.cache.put("k", "new");
+
+        assertEquals("new", this.cache.get("k").get());
+        assertEquals("new", this.redisCache.get("k").get());
+        assertEquals(1, this.published.size());
+    }
+
+    private DefaultMessage message(RedisTemplate<String, Object> redisTemplate, CacheInvalidationMessage invalidation) {
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> serializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        return new DefaultMessage("test".getBytes(StandardCharsets.UTF_8), serializer.serialize(invalidation));
+    }
+
+}
@@ -17,11 +17,28 @@
 package com.breeze.boot.satoken;
 
 import cn.dev33.satoken.interceptor.SaInterceptor;
+import cn.dev33.satoken.stp.StpUtil;
+import com.breeze.boot.credential.CredentialProperties;
+import com.breeze.boot.credential.CredentialVerificationService;
+import com.breeze.boot.satoken.metrics.LoginMetrics;
+import com.breeze.boot.satoken.oauth2.phone.SmsCodeProperties;
+import com.breeze.boot.satoken.oauth2.phone.SmsCodeStore;
+import com.breeze.boot.satoken.online.OnlineSessionIndex;
+import com.breeze.boot.satoken.online.OnlineSessionListener;
+import com.breeze.boot.satoken.online.OnlineSessionProperties;
+import com.breeze.boot.satoken.spt.AuthorizationProperties;
 import com.breeze.boot.satoken.spt.JumpAuthProperties;
+import com.breeze.boot.satoken.spt.PermissionVersionManager;
+import com.breeze.boot.satoken.spt.UserPrincipalCache;
 import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -33,13 +50,15 @@ import java.util.List;
  * @author gaoweixuan
  * @since 2024/09/05
  */
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
-@Import(JumpAuthProperties.class)
+@Import({JumpAuthProperties.class, AuthorizationProperties.class, CredentialProperties.class, SmsCodeProperties.class, OnlineSessionProperties.class})
 public class SaTokenConfigure implements WebMvcConfigurer {
 
 
     private final JumpAuthProperties jumpAuthProperties;
+    private final ObjectProvider<OnlineSessionIndex> onlineSessionIndexProvider;
     private final List<String> formLoginJumpUrl = Lists.newArrayList("/login", "/error");
     private final List<String> captchaJumpUrl = Lists.newArrayList("/auth/v1/captcha/**");
     private final List<String> websocketJumpUrl = Lists.newArrayList("/ws/**");
@@ -57,9 +76,102 @@ public class SaTokenConfigure implements WebMvcConfigurer {
         jumpAuthProperties.getIgnoreUrls().addAll(websocketJumpUrl);
         jumpAuthProperties.getIgnoreUrls().addAll(staticJumpUrl);
         jumpAuthProperties.getIgnoreUrls().addAll(swaggerJumpUrl);
+        OnlineSessionIndex onlineSessionIndex = this.onlineSessionIndexProvider.getObject();
         // 注册 Sa-Token 拦截器，定义详细认证规则
         registry.addInterceptor(new SaInterceptor(handler -> {
+            // 刷新在线会话最后活跃时间，按间隔去抖；索引不可用时不影响请求
+            try {
+                onlineSessionIndex.touch(StpUtil.getTokenValue());
+            } catch (Exception e) {
+                log.warn("在线会话活跃时间刷新失败", e);
+            }
         })).excludePathPatterns(jumpAuthProperties.getIgnoreUrls()).addPathPatterns("/**");
     }
 
+    /**
+     * 全局权限版本号
+     *
+     * @param stringRedisTemplate     redis 模板
+     * @param authorizationProperties 权限查询配置
+     * @return {@link PermissionVersionManager}
+     */
+    @Bean
+    public PermissionVersionManager permissionVersionManager(StringRedisTemplate stringRedisTemplate,
+                                                             AuthorizationProperties authorizationProperties) {
+        return new PermissionVersionManager(stringRedisTemplate, authorizationProperties.getVersionRefreshInterval());
+    }
+
+    /**
+     * 会话用户主体缓存
+     *
+     * @param stringRedisTemplate      redis 模板
+     * @param permissionVersionManager 全局权限版本号
+     * @param authorizationProperties  权限查询配置
+     * @return {@link UserPrincipalCache}
+     */
+    @Bean
+    public UserPrincipalCache userPrincipalCache(StringRedisTemplate stringRedisTemplate,
+                                                 PermissionVersionManager permissionVersionManager,
+                                                 AuthorizationProperties authorizationProperties) {
+        return new UserPrincipalCache(stringRedisTemplate, permissionVersionManager,
+                authorizationProperties.getPrincipalCacheTtl(), authorizationProperties.getPrincipalCacheSize());
+    }
+
+    /**
+     * 密码校验服务
+     *
+     * @param credentialProperties 密码校验配置
+     * @return {@link CredentialVerificationService}
+     */
+    @Bean(destroyMethod = "shutdown")
+    public CredentialVerificationService credentialVerificationService(CredentialProperties credentialProperties) {
+        return new CredentialVerificationService(credentialProperties);
+    }
+
+    /**
+     * 登录耗时指标
+     *
+     * @param meterRegistryProvider 指标注册
+     * @return {@link LoginMetrics}
+     */
+    @Bean
+    public LoginMetrics loginMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new LoginMetrics(meterRegistryProvider.getIfAvailable());
+    }
+
+    /**
+     * 短信验证码存储
+     *
+     * @param stringRedisTemplate redis 模板
+     * @param smsCodeProperties   短信验证码配置
+     * @return {@link SmsCodeStore}
+     */
+    @Bean
+    public SmsCodeStore smsCodeStore(StringRedisTemplate stringRedisTemplate, SmsCodeProperties smsCodeProperties) {
+        return new SmsCodeStore(stringRedisTemplate, smsCodeProperties);
+    }
+
+    /**
+     * 在线会话索引
+     *
+     * @param stringRedisTemplate     redis 模板
+     * @param onlineSessionProperties 在线会话配置
+     * @return {@link OnlineSessionIndex}
+     */
+    @Bean
+    public OnlineSessionIndex onlineSessionIndex(StringRedisTemplate stringRedisTemplate, OnlineSessionProperties onlineSessionProperties) {
+        return new OnlineSessionIndex(stringRedisTemplate, onlineSessionProperties);
+    }
+
+    /**
+     * 在线会话事件监听
+     *
+     * @param onlineSessionIndex 在线会话索引
+     * @return {@link OnlineSessionListener}
+     */
+    @Bean
+    public OnlineSessionListener onlineSessionListener(OnlineSessionIndex onlineSessionIndex) {
+        return new OnlineSessionListener(onlineSessionIndex);
+    }
+
 }
@@ -18,12 +18,13 @@ package com.breeze.boot.satoken;
 
 import cn.dev33.satoken.oauth2.config.SaOAuth2ServerConfig;
 import cn.dev33.satoken.oauth2.strategy.SaOAuth2Strategy;
-import cn.dev33.satoken.secure.BCrypt;
 import cn.dev33.satoken.stp.StpUtil;
 import com.breeze.boot.core.base.UserPrincipal;
 import com.breeze.boot.core.jackson.propertise.AesSecretProperties;
 import com.breeze.boot.core.utils.AesUtil;
 import com.breeze.boot.core.utils.Result;
+import com.breeze.boot.credential.CredentialVerificationService;
+import com.breeze.boot.satoken.metrics.LoginMetrics;
 import com.breeze.boot.satoken.oauth2.IUserDetailService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -49,10 +50,11 @@ import java.util.function.Supplier;
 @RequiredArgsConstructor
 public class SaTokenOauthConfigure {
 
-    private final static String BCRYPT = "{bcrypt}";
     private final Supplier<IUserDetailService> userDetailServiceSupplier;
     private final Function<HttpServletRequest, Boolean> captchaServiceFunction;
     private final Supplier<AesSecretProperties> aesSecretPropertiesSupplier;
+    private final CredentialVerificationService credentialVerificationService;
+    private final LoginMetrics loginMetrics;
 
     /**
      * Sa-Token OAuth2 定制化配置
@@ -66,20 +68,39 @@ public class SaTokenOauthConfigure {
 
         // 登录处理函数
         oauth2Server.doLoginHandle = (name, pwd) -> {
-            ServletRequestAttributes requestAttributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            Assert.notNull(requestAttributes, "requestAttributes is null");
+            long start = this.loginMetrics.start();
+            String outcome = "error";
+            try {
+                ServletRequestAttributes requestAttributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+                Assert.notNull(requestAttributes, "requestAttributes is null");
 
-            if (captchaServiceFunction.apply(requestAttributes.getRequest())) {
+                if (this.loginMetrics.record("captcha", () -> captchaServiceFunction.apply(requestAttributes.getRequest()))) {
 //                throw new BreezeBizException(ResultCode.VERIFY_UN_FOUND);
+                }
+                String decodePwd = this.loginMetrics.record("decrypt", () -> AesUtil.decryptStr(pwd, this.aesSecretPropertiesSupplier.get().getAesSecret()));
+                UserPrincipal userPrincipal = this.loginMetrics.record("load_user", () -> this.userDetailServiceSupplier.get().loadUserByUsername(name));
+                String encodedPassword = userPrincipal.getPassword();
+                CredentialVerificationService.Verification verification = this.loginMetrics.record("verify_password",
+                        () -> this.credentialVerificationService.verify(name, decodePwd, encodedPassword));
+                outcome = verification.name().toLowerCase();
+                switch (verification) {
+                    case MATCHED -> {
+                        this.loginMetrics.record("create_session", () -> StpUtil.login(userPrincipal.getId()));
+                        // 工作因子过低时重新加密
+                        this.credentialVerificationService.upgradeIfNecessary(decodePwd, encodedPassword,
+                                newPassword -> this.userDetailServiceSupplier.get().upgradePassword(userPrincipal.getId(), encodedPassword, newPassword));
+                        return Result.ok();
+                    }
+                    case BUSY -> {
+                        return Result.fail("登录请求过多，请稍后再试");
+                    }
+                    default -> {
+                        return Result.fail("账号名或密码错误");
+                    }
+                }
+            } finally {
+                this.loginMetrics.stop(start, "password", outcome);
             }
-            String decodePwd = AesUtil.decryptStr(pwd, this.aesSecretPropertiesSupplier.get().getAesSecret());
-            UserPrincipal userPrincipal = this.userDetailServiceSupplier.get().loadUserByUsername(name);
-            String pw_hash = BCrypt.hashpw(pwd, BCrypt.gensalt());
-            if (BCrypt.checkpw(decodePwd, userPrincipal.getPassword().replace(BCRYPT, ""))) {
-                StpUtil.login(userPrincipal.getId());
-                return Result.ok();
-            }
-            return Result.fail("账号名或密码错误");
         };
 
         // 授权确认视图
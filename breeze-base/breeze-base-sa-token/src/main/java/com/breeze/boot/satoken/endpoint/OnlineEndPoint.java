@@ -14,14 +14,79 @@
  * limitations under the License.
  */
 
+
 package com.breeze.boot.satoken.endpoint;
 
+import cn.dev33.satoken.annotation.SaCheckPermission;
+import com.breeze.boot.core.utils.Result;
+import com.breeze.boot.satoken.model.OnlineSessionPage;
+import com.breeze.boot.satoken.online.OnlineSessionIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
 
+/**
+ * 在线会话管理，只操作当前租户
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
 @Slf4j
 @RestController
 @RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer")
+@RequestMapping("/auth/v1/online")
+@Tag(name = "在线会话管理模块", description = "OnlineEndPoint")
 public class OnlineEndPoint {
+
+    private final OnlineSessionIndex onlineSessionIndex;
+
+    /**
+     * 列表
+     *
+     * @param current 当前页
+     * @param size    页长
+     * @return {@link Result}<{@link OnlineSessionPage}>
+     */
+    @Operation(summary = "列表")
+    @GetMapping
+    @SaCheckPermission("auth:online:list")
+    public Result<OnlineSessionPage> list(@RequestParam(defaultValue = "1") long current,
+                                          @RequestParam(defaultValue = "10") long size) {
+        return Result.ok(this.onlineSessionIndex.page(current, size));
+    }
+
+    /**
+     * 在线数
+     *
+     * @return {@link Result}<{@link Long}>
+     */
+    @Operation(summary = "在线数")
+    @GetMapping("/count")
+    @SaCheckPermission("auth:online:list")
+    public Result<Long> count() {
+        return Result.ok(this.onlineSessionIndex.count());
+    }
+
+    /**
+     * 踢下线
+     *
+     * @param sessionIds 会话ID
+     * @return {@link Result}<{@link Integer}>
+     */
+    @Operation(summary = "踢下线")
+    @DeleteMapping
+    @SaCheckPermission("auth:online:kickout")
+    public Result<Integer> kickout(@Parameter(description = "会话ID") @RequestBody List<String> sessionIds) {
+        int count = this.onlineSessionIndex.kickout(sessionIds);
+        log.info("踢下线 {} 个会话", count);
+        return Result.ok(count);
+    }
+
 }
@@ -16,9 +16,10 @@
 
 package com.breeze.boot.satoken.endpoint;
 
-import cn.dev33.satoken.SaManager;
 import cn.dev33.satoken.util.SaFoxUtil;
 import cn.dev33.satoken.util.SaResult;
+import com.breeze.boot.satoken.oauth2.phone.SmsCodeStore;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -31,12 +32,18 @@ import org.springframework.web.bind.annotation.RestController;
  */
 @Slf4j
 @RestController
+@RequiredArgsConstructor
 public class PhoneLoginEndPoint {
 
+    private final SmsCodeStore smsCodeStore;
+
     @RequestMapping("/oauth2/sendPhoneCode")
     public SaResult sendCode(String phone) {
+        if (this.smsCodeStore.isLocked(phone)) {
+            return SaResult.error("验证码错误次数过多，请稍后再试");
+        }
         String code = SaFoxUtil.getRandomNumber(100000, 999999) + "";
-        SaManager.getSaTokenDao().set("sms_code:" + phone, code, 60 * 5);
+        this.smsCodeStore.save(phone, code);
         log.info("手机号：" + phone + "，验证码：" + code + "，已发送成功");
         return SaResult.ok("验证码发送成功");
     }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 登录耗时指标
+ * <p>
+ * breeze.login 按授权方式、结果记录整次登录的耗时，breeze.login.phase 按阶段记录验证码、解密、查询用户、密码校验、
+ * 创建会话等步骤的耗时，均发布百分位直方图，通过 actuator 和监控中心查看 p99。
+ * 没有 {@link MeterRegistry} 时直接执行，不记录。
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public class LoginMetrics {
+
+    private static final String LOGIN_METRIC = "breeze.login";
+
+    private static final String PHASE_METRIC = "breeze.login.phase";
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> phaseTimerMap = new ConcurrentHashMap<>();
+
+    private final Map<Tags, Timer> loginTimerMap = new ConcurrentHashMap<>();
+
+    /**
+     * 登录耗时指标
+     *
+     * @param meterRegistry 指标注册，可为空
+     */
+    public LoginMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 记录一个阶段的耗时
+     *
+     * @param phase    阶段
+     * @param supplier 执行内容
+     * @return 执行结果
+     */
+    public <T> T record(String phase, Supplier<T> supplier) {
+        if (Objects.isNull(this.meterRegistry)) {
+            return supplier.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            this.phaseTimerMap.computeIfAbsent(phase, this::createPhaseTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 记录一个阶段的耗时
+     *
+     * @param phase    阶段
+     * @param runnable 执行内容
+     */
+    public void record(String phase, Runnable runnable) {
+        this.record(phase, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * 开始记录整次登录
+     *
+     * @return 开始时间
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * 结束记录整次登录
+     *
+     * @param start     {@link #start()} 的返回值
+     * @param grantType 授权方式
+     * @param outcome   结果
+     */
+    public void stop(long start, String grantType, String outcome) {
+        if (Objects.isNull(this.meterRegistry)) {
+            return;
+        }
+        Tags tags = Tags.of("grant_type", grantType, "outcome", outcome);
+        this.loginTimerMap.computeIfAbsent(tags, this::createLoginTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer createPhaseTimer(String phase) {
+        // @formatter:off
+        return Timer.builder(PHASE_METRIC)
+                .description("登录各阶段耗时")
+                .tag("phase", phase)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(this.meterRegistry);
+        // @formatter:on
+    }
+
+    private Timer createLoginTimer(Tags tags) {
+        // @formatter:off
+        return Timer.builder(LOGIN_METRIC)
+                .description("登录耗时")
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(this.meterRegistry);
+        // @formatter:on
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 在线会话
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "在线会话")
+public class OnlineSession implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 会话ID，令牌的摘要，不可还原出令牌
+     */
+    @Schema(description = "会话ID")
+    private String sessionId;
+
+    /**
+     * 登录ID
+     */
+    @Schema(description = "登录ID")
+    private String loginId;
+
+    /**
+     * 登录设备
+     */
+    @Schema(description = "登录设备")
+    private String device;
+
+    /**
+     * 登录时间，毫秒
+     */
+    @Schema(description = "登录时间")
+    private Long loginTime;
+
+    /**
+     * 最后活跃时间，毫秒
+     */
+    @Schema(description = "最后活跃时间")
+    private Long lastActivityTime;
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 在线会话分页
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "在线会话分页")
+public class OnlineSessionPage implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 当前页
+     */
+    @Schema(description = "当前页")
+    private long current;
+
+    /**
+     * 页长
+     */
+    @Schema(description = "页长")
+    private long size;
+
+    /**
+     * 在线会话总数
+     */
+    @Schema(description = "在线会话总数")
+    private long total;
+
+    /**
+     * 按最后活跃时间倒序的会话
+     */
+    @Schema(description = "会话列表")
+    private List<OnlineSession> records;
+
+}
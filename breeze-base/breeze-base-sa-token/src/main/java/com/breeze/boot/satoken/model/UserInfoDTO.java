@@ -174,4 +174,10 @@ public class UserInfoDTO implements Serializable {
     @Schema(description = "租户ID")
     private Long tenantId;
 
+    /**
+     * 权限版本号
+     */
+    @Schema(description = "权限版本号")
+    private Long permissionVersion;
+
 }
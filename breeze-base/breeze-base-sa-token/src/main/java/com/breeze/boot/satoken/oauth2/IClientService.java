@@ -18,6 +18,8 @@ package com.breeze.boot.satoken.oauth2;
 
 import com.breeze.boot.satoken.model.BaseSysRegisteredClient;
 
+import java.util.List;
+
 /**
  * 用户服务接口
  *
@@ -42,4 +44,11 @@ public interface IClientService {
      */
     BaseSysRegisteredClient getById(String id);
 
+    /**
+     * 获取全部客户端信息
+     *
+     * @return {@link List}<{@link BaseSysRegisteredClient}>
+     */
+    List<? extends BaseSysRegisteredClient> listRegisteredClient();
+
 }
@@ -56,6 +56,16 @@ public interface IUserDetailService {
      */
     UserPrincipal loadUserByPhone(String phone);
 
+    /**
+     * 通过电话查询用户ID，只签发令牌时使用，用户信息由 userinfo 作用域从授权快照组装
+     *
+     * @param phone 电话
+     * @return {@link Long}
+     */
+    default Long loadUserIdByPhone(String phone) {
+        return this.loadUserByPhone(phone).getId();
+    }
+
     /**
      * 加载用户通过用户名
      *
@@ -72,6 +82,16 @@ public interface IUserDetailService {
      */
     UserPrincipal loadUserByEmail(String email);
 
+    /**
+     * 重新加密后回写密码，存储的密码已被修改时放弃
+     *
+     * @param userId          用户ID
+     * @param encodedPassword 校验时存储的密码
+     * @param newPassword     重新加密的密码
+     * @return boolean 是否回写
+     */
+    boolean upgradePassword(Long userId, String encodedPassword, String newPassword);
+
     /**
      * 获取登录用户
      *
@@ -79,13 +99,15 @@ public interface IUserDetailService {
      * @return {@link UserPrincipal}
      */
     default UserPrincipal convertResponseUserInfo(UserInfoDTO userInfo) {
-        return new UserPrincipal(userInfo.getUsername(), userInfo.getPassword(), Objects.equals(userInfo.getIsLock(), 0),
+        UserPrincipal userPrincipal = new UserPrincipal(userInfo.getUsername(), userInfo.getPassword(), Objects.equals(userInfo.getIsLock(), 0),
                 true, true, Objects.equals(userInfo.getIsLock(), 0),
                 userInfo.getAuthorities().stream().map(GrantedAuthority::new).collect(Collectors.toSet()),
                 userInfo.getUserId(), userInfo.getDeptId(), userInfo.getDeptName(), userInfo.getUserCode(), userInfo.getDisplayName(),
                 userInfo.getAvatar(), userInfo.getPhone(), userInfo.getSex(), userInfo.getAmountType(), userInfo.getIsLock(), userInfo.getEmail(),
                 userInfo.getUserRoleCodes(), userInfo.getUserRoleIds(), userInfo.getTenantId(), userInfo.getPermissionType(),
                 userInfo.getRowPermissionCode(), userInfo.getSubDeptId());
+        userPrincipal.setPermissionVersion(userInfo.getPermissionVersion());
+        return userPrincipal;
     }
 
     List<String> loadUserRoleByUserId(String userId);
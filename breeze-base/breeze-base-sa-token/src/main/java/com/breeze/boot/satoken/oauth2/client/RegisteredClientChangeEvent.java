@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.oauth2.client;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * OAuth2 客户端变更事件
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public class RegisteredClientChangeEvent extends ApplicationEvent {
+
+    /**
+     * 客户端变更事件
+     *
+     * @param clientIds 变更的客户端ID，为空时重新加载全部客户端
+     */
+    public RegisteredClientChangeEvent(Collection<String> clientIds) {
+        super(List.copyOf(clientIds));
+    }
+
+    /**
+     * 全部客户端变更
+     *
+     * @return {@link RegisteredClientChangeEvent}
+     */
+    public static RegisteredClientChangeEvent all() {
+        return new RegisteredClientChangeEvent(Collections.emptyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> getClientIds() {
+        return (List<String>) this.getSource();
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.oauth2.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * OAuth2 客户端注册表同步
+ * <p>
+ * 启动完成后预热注册表；本节点的客户端变更先刷新本地注册表，再通过 redis 通知其他节点刷新。
+ * 消息格式：节点ID|客户端ID,客户端ID，客户端ID为空时重新加载全部。
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+public class RegisteredClientSyncListener implements MessageListener {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 当前节点标识，忽略自己发出的消息
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final SaClientModelRegistry registry;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final String topic;
+
+    public RegisteredClientSyncListener(SaClientModelRegistry registry, StringRedisTemplate stringRedisTemplate, String topic) {
+        this.registry = registry;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.topic = topic;
+    }
+
+    /**
+     * 启动完成后预热
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        try {
+            this.registry.reload();
+        } catch (Exception e) {
+            // 预热失败时首次请求再加载
+            log.warn("[OAuth2客户端] 预热失败", e);
+        }
+    }
+
+    /**
+     * 本节点客户端变更
+     *
+     * @param event 变更事件
+     */
+    @EventListener(RegisteredClientChangeEvent.class)
+    public void onChange(RegisteredClientChangeEvent event) {
+        this.apply(event.getClientIds());
+        try {
+            this.stringRedisTemplate.convertAndSend(this.topic, this.nodeId + SEPARATOR + String.join(",", event.getClientIds()));
+        } catch (Exception e) {
+            // 通知失败时其他节点依靠定期重新加载兜底
+            log.warn("[OAuth2客户端变更通知失败] {}", event.getClientIds(), e);
+        }
+    }
+
+    /**
+     * 其他节点客户端变更
+     *
+     * @param message 消息
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int index = body.indexOf(SEPARATOR);
+        if (index < 0 || this.nodeId.equals(body.substring(0, index))) {
+            return;
+        }
+        String clientIds = body.substring(index + 1);
+        try {
+            this.apply(clientIds.isEmpty() ? List.of() : Arrays.asList(clientIds.split(",")));
+        } catch (Exception e) {
+            log.warn("[OAuth2客户端] 刷新失败： {}", clientIds, e);
+        }
+    }
+
+    private void apply(List<String> clientIds) {
+        if (clientIds.isEmpty()) {
+            this.registry.reload();
+            return;
+        }
+        clientIds.forEach(this.registry::refresh);
+    }
+
+}
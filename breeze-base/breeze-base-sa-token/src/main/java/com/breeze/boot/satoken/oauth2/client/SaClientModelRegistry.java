@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.oauth2.client;
+
+import cn.dev33.satoken.oauth2.data.model.loader.SaClientModel;
+import cn.dev33.satoken.secure.SaSecureUtil;
+import com.breeze.boot.core.jackson.propertise.AesSecretProperties;
+import com.breeze.boot.satoken.model.BaseSysRegisteredClient;
+import com.breeze.boot.satoken.oauth2.IClientService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * OAuth2 客户端注册表
+ * <p>
+ * 启动时一次加载全部客户端，解密密钥、拆分回调地址、权限范围和授权类型后缓存 {@link SaClientModel}，
+ * token、authorize、refresh 请求直接读取，不再查库。
+ * 本节点的变更由 {@link RegisteredClientSyncListener} 刷新并通知其他节点；通知丢失时依靠定期重新加载兜底。
+ * 不存在或数据错误的 clientId 短时间内记为未命中，避免反复持锁查库。
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+public class SaClientModelRegistry {
+
+    /**
+     * 全量重新加载的间隔
+     */
+    private static final Duration RELOAD_INTERVAL = Duration.ofMinutes(10);
+
+    /**
+     * 未命中记录的有效期
+     */
+    private static final Duration MISS_TTL = Duration.ofSeconds(30);
+
+    /**
+     * 未命中记录的最大数量，超出时清理
+     */
+    private static final int MISS_MAXIMUM_SIZE = 10_000;
+
+    private final Supplier<IClientService> clientServiceSupplier;
+
+    private final Supplier<AesSecretProperties> aesSecretPropertiesSupplier;
+
+    /**
+     * clientId -> 客户端，整体替换
+     */
+    private volatile Map<String, SaClientModel> clientMap = Collections.emptyMap();
+
+    /**
+     * 上次全量加载时间，0 表示尚未加载
+     */
+    private volatile long loadedAt;
+
+    /**
+     * 未命中的 clientId -> 过期时间
+     */
+    private final Map<String, Long> misses = new ConcurrentHashMap<>();
+
+    public SaClientModelRegistry(Supplier<IClientService> clientServiceSupplier,
+                                 Supplier<AesSecretProperties> aesSecretPropertiesSupplier) {
+        this.clientServiceSupplier = clientServiceSupplier;
+        this.aesSecretPropertiesSupplier = aesSecretPropertiesSupplier;
+    }
+
+    /**
+     * 获取客户端，注册表中不存在时查库补充（其他节点新增且通知丢失的情况）
+     *
+     * @param clientId 客户端ID
+     * @return {@link SaClientModel} 不存在时为 null
+     */
+    public SaClientModel get(String clientId) {
+        if (Objects.isNull(clientId)) {
+            return null;
+        }
+        if (this.isStale()) {
+            this.reloadIfStale();
+        }
+        SaClientModel clientModel = this.clientMap.get(clientId);
+        if (Objects.nonNull(clientModel)) {
+            return clientModel;
+        }
+        Long missExpireAt = this.misses.get(clientId);
+        if (Objects.nonNull(missExpireAt) && missExpireAt > System.currentTimeMillis()) {
+            return null;
+        }
+        return this.refresh(clientId);
+    }
+
+    /**
+     * 全量重新加载
+     */
+    public synchronized void reload() {
+        List<? extends BaseSysRegisteredClient> clientList = this.clientServiceSupplier.get().listRegisteredClient();
+        Map<String, SaClientModel> clientMap = new HashMap<>(clientList.size() * 2);
+        for (BaseSysRegisteredClient registeredClient : clientList) {
+            SaClientModel clientModel = this.build(registeredClient);
+            if (Objects.nonNull(clientModel)) {
+                clientMap.put(clientModel.getClientId(), clientModel);
+            }
+        }
+        this.clientMap = Collections.unmodifiableMap(clientMap);
+        this.misses.clear();
+        this.loadedAt = System.currentTimeMillis();
+        log.debug("[OAuth2客户端] 加载客户端数量： {}", clientMap.size());
+    }
+
+    private synchronized void reloadIfStale() {
+        // 并发请求只有一个重新加载
+        if (this.isStale()) {
+            this.reload();
+        }
+    }
+
+    private boolean isStale() {
+        return System.currentTimeMillis() - this.loadedAt > RELOAD_INTERVAL.toMillis();
+    }
+
+    /**
+     * 从数据库重新加载单个客户端，已删除时移除，不经过未命中记录
+     *
+     * @param clientId 客户端ID
+     * @return {@link SaClientModel} 不存在时为 null
+     */
+    public synchronized SaClientModel refresh(String clientId) {
+        SaClientModel clientModel = this.build(this.clientServiceSupplier.get().getByClientId(clientId));
+        Map<String, SaClientModel> clientMap = new HashMap<>(this.clientMap);
+        if (Objects.isNull(clientModel)) {
+            this.recordMiss(clientId);
+            if (Objects.isNull(clientMap.remove(clientId))) {
+                return null;
+            }
+        } else {
+            this.misses.remove(clientId);
+            clientMap.put(clientId, clientModel);
+        }
+        this.clientMap = Collections.unmodifiableMap(clientMap);
+        return clientModel;
+    }
+
+    private void recordMiss(String clientId) {
+        long now = System.currentTimeMillis();
+        if (this.misses.size() >= MISS_MAXIMUM_SIZE) {
+            this.misses.values().removeIf(expireAt -> expireAt <= now);
+            if (this.misses.size() >= MISS_MAXIMUM_SIZE) {
+                this.misses.clear();
+            }
+        }
+        this.misses.put(clientId, now + MISS_TTL.toMillis());
+    }
+
+    /**
+     * 客户端数量
+     *
+     * @return int
+     */
+    public int size() {
+        return this.clientMap.size();
+    }
+
+    private SaClientModel build(BaseSysRegisteredClient registeredClient) {
+        if (Objects.isNull(registeredClient)) {
+            return null;
+        }
+        try {
+            return new SaClientModel().setClientId(registeredClient.getClientId())
+                    .setClientSecret(SaSecureUtil.aesDecrypt(this.aesSecretPropertiesSupplier.get().getAesSecret(), registeredClient.getClientSecret())) // client 秘钥
+                    .addAllowRedirectUris(registeredClient.getRedirectUris().split(","))    // 所有允许授权的 url
+                    .addContractScopes(registeredClient.getScopes().split(","))    // 所有签约的权限
+                    .addAllowGrantTypes(registeredClient.getAuthorizationGrantTypes().split(","));
+        } catch (Exception e) {
+            // 单个客户端数据错误不影响其他客户端
+            log.warn("[OAuth2客户端] 解析失败： {}", registeredClient.getClientId(), e);
+            return null;
+        }
+    }
+
+}
@@ -20,16 +20,15 @@ import cn.dev33.satoken.oauth2.SaOAuth2Manager;
 import cn.dev33.satoken.oauth2.data.loader.SaOAuth2DataLoader;
 import cn.dev33.satoken.oauth2.data.model.loader.SaClientModel;
 import cn.dev33.satoken.secure.SaSecureUtil;
-import com.breeze.boot.core.jackson.propertise.AesSecretProperties;
-import com.breeze.boot.satoken.model.BaseSysRegisteredClient;
-import com.breeze.boot.satoken.oauth2.IClientService;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Objects;
-import java.util.function.Supplier;
 
 /**
  * Sa-Token OAuth2：自定义数据加载器
+ * <p>
+ * 客户端信息从 {@link SaClientModelRegistry} 读取
+ * </p>
  *
  * @author gaoweixuan
  * @since 2024/09/05
@@ -37,9 +36,7 @@ import java.util.function.Supplier;
 @RequiredArgsConstructor
 public class SaOAuth2DataLoaderImpl implements SaOAuth2DataLoader {
 
-    private final Supplier<IClientService> clientServiceSupplier;
-
-    private final Supplier<AesSecretProperties> aesSecretPropertiesSupplier;
+    private final SaClientModelRegistry clientModelRegistry;
 
     /**
      * 根据 clientId 获取 Client 信息
@@ -49,15 +46,7 @@ public class SaOAuth2DataLoaderImpl implements SaOAuth2DataLoader {
      */
     @Override
     public SaClientModel getClientModel(String clientId) {
-        BaseSysRegisteredClient registeredClient = clientServiceSupplier.get().getByClientId(clientId);
-        if (registeredClient == null) {
-            return null;
-        }
-        return new SaClientModel().setClientId(registeredClient.getClientId())
-                .setClientSecret(SaSecureUtil.aesDecrypt(aesSecretPropertiesSupplier.get().getAesSecret(), registeredClient.getClientSecret())) // client 秘钥
-                .addAllowRedirectUris(registeredClient.getRedirectUris().split(","))    // 所有允许授权的 url
-                .addContractScopes(registeredClient.getScopes().split(","))    // 所有签约的权限
-                .addAllowGrantTypes(registeredClient.getAuthorizationGrantTypes().split(","));
+        return this.clientModelRegistry.get(clientId);
     }
 
     /**
@@ -69,10 +58,10 @@ public class SaOAuth2DataLoaderImpl implements SaOAuth2DataLoader {
      */
     @Override
     public String getOpenid(String clientId, Object loginId) {
-        BaseSysRegisteredClient registeredClient = this.clientServiceSupplier.get().getByClientId(clientId);
-        if (Objects.nonNull(registeredClient)) {
-            // 从数据库查询
-            return SaSecureUtil.md5(SaOAuth2Manager.getServerConfig().getOpenidDigestPrefix() + "_" + registeredClient.getClientId() + "_" + loginId);
+        SaClientModel clientModel = this.clientModelRegistry.get(clientId);
+        if (Objects.nonNull(clientModel)) {
+            // 从注册表查询
+            return SaSecureUtil.md5(SaOAuth2Manager.getServerConfig().getOpenidDigestPrefix() + "_" + clientModel.getClientId() + "_" + loginId);
         }
         // 此处使用框架默认算法生成 openid
         return SaOAuth2DataLoader.super.getOpenid(clientId, loginId);
@@ -19,6 +19,7 @@ package com.breeze.boot.satoken.oauth2.oidc;
 import cn.dev33.satoken.oauth2.data.model.oidc.IdTokenModel;
 import cn.dev33.satoken.oauth2.scope.handler.OidcScopeHandler;
 import com.breeze.boot.core.base.UserPrincipal;
+import com.breeze.boot.satoken.metrics.LoginMetrics;
 import com.breeze.boot.satoken.oauth2.IUserDetailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +38,8 @@ public class BreezeOidcScopeHandler extends OidcScopeHandler {
 
     private final Supplier<IUserDetailService> userDetailServiceSupplier;
 
+    private final LoginMetrics loginMetrics;
+
     /**
      * 工作额外数据
      *
@@ -46,7 +49,7 @@ public class BreezeOidcScopeHandler extends OidcScopeHandler {
     @Override
     public IdTokenModel workExtraData(IdTokenModel idToken) {
         Object userId = idToken.sub;
-        UserPrincipal userPrincipal = this.userDetailServiceSupplier.get().loadUserByUserId(String.valueOf(userId));
+        UserPrincipal userPrincipal = this.loginMetrics.record("oidc.load_user", () -> this.userDetailServiceSupplier.get().loadUserByUserId(String.valueOf(userId)));
         log.info("----- 为 idToken 追加扩展字段 ----- ");
 
         idToken.extraData.put("uid", userId);
@@ -16,22 +16,19 @@
 
 package com.breeze.boot.satoken.oauth2.phone;
 
-import cn.dev33.satoken.SaManager;
 import cn.dev33.satoken.context.model.SaRequest;
 import cn.dev33.satoken.oauth2.SaOAuth2Manager;
 import cn.dev33.satoken.oauth2.data.model.AccessTokenModel;
 import cn.dev33.satoken.oauth2.data.model.request.RequestAuthModel;
 import cn.dev33.satoken.oauth2.exception.SaOAuth2Exception;
 import cn.dev33.satoken.oauth2.granttype.handler.SaOAuth2GrantTypeHandlerInterface;
-import com.breeze.boot.core.base.UserPrincipal;
+import com.breeze.boot.satoken.metrics.LoginMetrics;
 import com.breeze.boot.satoken.oauth2.IUserDetailService;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 import java.util.function.Supplier;
 
-import static com.breeze.boot.core.constants.CacheConstants.VALIDATE_SMS_CODE;
-
 /**
  * 自定义 sms_code 授权模式处理器
  *
@@ -43,6 +40,10 @@ public class PhoneCodeGrantTypeHandler implements SaOAuth2GrantTypeHandlerInterf
 
     private final Supplier<IUserDetailService> userDetailServiceSupplier;
 
+    private final LoginMetrics loginMetrics;
+
+    private final SmsCodeStore smsCodeStore;
+
     @Override
     public String getHandlerGrantType() {
         return "sms_code";
@@ -50,25 +51,43 @@ public class PhoneCodeGrantTypeHandler implements SaOAuth2GrantTypeHandlerInterf
 
     @Override
     public AccessTokenModel getAccessToken(SaRequest req, String clientId, List<String> scopes) {
-        String phone = req.getParamNotNull("phone");
-        String code = req.getParamNotNull("code");
-        String realCode = SaManager.getSaTokenDao().get(VALIDATE_SMS_CODE + phone);
+        long start = this.loginMetrics.start();
+        String outcome = "error";
+        try {
+            String phone = req.getParamNotNull("phone");
+            String code = req.getParamNotNull("code");
+            // 比对并消费验证码，一次 redis 往返
+            SmsCodeStore.Result result = this.loginMetrics.record("sms_code", () -> this.smsCodeStore.consume(phone, code));
+            switch (result) {
+                case LOCKED -> {
+                    outcome = "locked";
+                    throw new SaOAuth2Exception("验证码错误次数过多，请稍后再试");
+                }
+                case EXPIRED -> {
+                    outcome = "mismatched";
+                    throw new SaOAuth2Exception("验证码已失效");
+                }
+                case MISMATCHED -> {
+                    outcome = "mismatched";
+                    throw new SaOAuth2Exception("验证码错误");
+                }
+                default -> {
+                }
+            }
+            // 只取用户ID，用户信息由 userinfo 作用域组装
+            Long userId = this.loginMetrics.record("load_user", () -> userDetailServiceSupplier.get().loadUserIdByPhone(phone));
 
-        // 校验验证码是否正确
-        if (!code.equals(realCode)) {
-            throw new SaOAuth2Exception("验证码错误");
-        }
-        // 校验通过，删除验证码
-        SaManager.getSaTokenDao().delete("phone_code:" + phone);
-        // 去登录获取用户信息
-        UserPrincipal userPrincipal = userDetailServiceSupplier.get().loadUserByPhone(phone);
-
-        RequestAuthModel ra = new RequestAuthModel();
-        ra.clientId = clientId;
-        ra.loginId = userPrincipal.getId();
-        ra.scopes = scopes;
+            RequestAuthModel ra = new RequestAuthModel();
+            ra.clientId = clientId;
+            ra.loginId = userId;
+            ra.scopes = scopes;
 
-        // 生成 Access-Token
-        return SaOAuth2Manager.getDataGenerate().generateAccessToken(ra, true);
+            // 生成 Access-Token
+            AccessTokenModel accessTokenModel = this.loginMetrics.record("create_session", () -> SaOAuth2Manager.getDataGenerate().generateAccessToken(ra, true));
+            outcome = "matched";
+            return accessTokenModel;
+        } finally {
+            this.loginMetrics.stop(start, this.getHandlerGrantType(), outcome);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.oauth2.phone;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 短信验证码配置
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "breeze.auth.sms-code")
+public class SmsCodeProperties {
+
+    /**
+     * 验证码有效期
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * 连续错误次数上限，达到后作废验证码并锁定
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * 锁定时长，同时也是错误次数的统计周期
+     */
+    private Duration lockDuration = Duration.ofMinutes(15);
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.oauth2.phone;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.breeze.boot.core.constants.CacheConstants.VALIDATE_SMS_CODE;
+
+/**
+ * 短信验证码存储
+ * <p>
+ * 锁定检查、比对、删除验证码、错误计数在一个 lua 脚本中完成，每次校验只有一次 EVALSHA 往返；
+ * 验证码比对成功即被删除，同一验证码只能使用一次。连续错误达到上限时作废验证码并锁定手机号。
+ * 两个 key 使用相同的 hash tag，集群模式下落在同一个槽。
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public class SmsCodeStore {
+
+    /**
+     * KEYS: 验证码、错误计数
+     * ARGV: 验证码、错误上限、锁定秒数
+     */
+    private static final RedisScript<Long> CONSUME_SCRIPT = new DefaultRedisScript<>(
+            "if tonumber(redis.call('GET', KEYS[2]) or '0') >= tonumber(ARGV[2]) then\n" +
+            "    return 2\n" +
+            "end\n" +
+            "local code = redis.call('GET', KEYS[1])\n" +
+            "if not code then\n" +
+            "    return 3\n" +
+            "end\n" +
+            "if code == ARGV[1] then\n" +
+            "    redis.call('DEL', KEYS[1], KEYS[2])\n" +
+            "    return 0\n" +
+            "end\n" +
+            "local fails = redis.call('INCR', KEYS[2])\n" +
+            "if fails == 1 then\n" +
+            "    redis.call('EXPIRE', KEYS[2], ARGV[3])\n" +
+            "end\n" +
+            "if fails >= tonumber(ARGV[2]) then\n" +
+            "    redis.call('DEL', KEYS[1])\n" +
+            "    redis.call('EXPIRE', KEYS[2], ARGV[3])\n" +
+            "    return 2\n" +
+            "end\n" +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final SmsCodeProperties properties;
+
+    public SmsCodeStore(StringRedisTemplate stringRedisTemplate, SmsCodeProperties properties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * 保存验证码，覆盖未使用的旧验证码，不重置错误计数
+     *
+     * @param phone 手机号
+     * @param code  验证码
+     */
+    public void save(String phone, String code) {
+        this.stringRedisTemplate.opsForValue().set(this.codeKey(phone), code, this.properties.getTtl());
+    }
+
+    /**
+     * 手机号是否被锁定
+     *
+     * @param phone 手机号
+     * @return boolean
+     */
+    public boolean isLocked(String phone) {
+        String fails = this.stringRedisTemplate.opsForValue().get(this.failKey(phone));
+        return Objects.nonNull(fails) && Long.parseLong(fails) >= this.properties.getMaxAttempts();
+    }
+
+    /**
+     * 比对并消费验证码
+     *
+     * @param phone 手机号
+     * @param code  用户输入的验证码
+     * @return {@link Result}
+     */
+    public Result consume(String phone, String code) {
+        Long result = this.stringRedisTemplate.execute(CONSUME_SCRIPT, Arrays.asList(this.codeKey(phone), this.failKey(phone)),
+                code, String.valueOf(this.properties.getMaxAttempts()), String.valueOf(this.properties.getLockDuration().toSeconds()));
+        return Objects.isNull(result) ? Result.MISMATCHED : Result.values()[result.intValue()];
+    }
+
+    private String codeKey(String phone) {
+        return VALIDATE_SMS_CODE + "{" + phone + "}";
+    }
+
+    private String failKey(String phone) {
+        return VALIDATE_SMS_CODE + "fail:{" + phone + "}";
+    }
+
+    /**
+     * 校验结果，顺序与脚本返回值一致
+     */
+    public enum Result {
+
+        /**
+         * 验证码正确，已删除
+         */
+        MATCHED,
+
+        /**
+         * 验证码错误
+         */
+        MISMATCHED,
+
+        /**
+         * 错误次数过多，已锁定
+         */
+        LOCKED,
+
+        /**
+         * 验证码不存在或已过期
+         */
+        EXPIRED
+
+    }
+
+}
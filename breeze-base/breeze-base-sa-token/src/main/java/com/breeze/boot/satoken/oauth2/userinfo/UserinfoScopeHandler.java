@@ -22,7 +22,9 @@ import cn.dev33.satoken.oauth2.scope.handler.SaOAuth2ScopeHandlerInterface;
 import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.bean.BeanUtil;
 import com.breeze.boot.core.base.UserPrincipal;
+import com.breeze.boot.satoken.metrics.LoginMetrics;
 import com.breeze.boot.satoken.oauth2.IUserDetailService;
+import com.breeze.boot.satoken.spt.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,7 +33,6 @@ import java.util.Map;
 import java.util.function.Supplier;
 
 import static com.breeze.boot.core.constants.CoreConstants.USER_INFO;
-import static com.breeze.boot.core.constants.CoreConstants.USER_TYPE;
 
 /**
  * 用户信息作用域处理程序
@@ -45,6 +46,10 @@ public class UserinfoScopeHandler implements SaOAuth2ScopeHandlerInterface {
 
     private final Supplier<IUserDetailService> userDetailServiceSupplier;
 
+    private final LoginMetrics loginMetrics;
+
+    private final UserPrincipalCache userPrincipalCache;
+
     @Override
     public String getHandlerScope() {
         return USER_INFO;
@@ -55,8 +60,9 @@ public class UserinfoScopeHandler implements SaOAuth2ScopeHandlerInterface {
      */
     @Override
     public void workAccessToken(AccessTokenModel at) {
-        UserPrincipal userPrincipal = userDetailServiceSupplier.get().loadUserByUserId(at.getLoginId().toString());
-        StpUtil.getSession().set(USER_TYPE, userPrincipal);
+        UserPrincipal userPrincipal = this.loginMetrics.record("userinfo.load_user", () -> userDetailServiceSupplier.get().loadUserByUserId(at.getLoginId().toString()));
+        this.loginMetrics.record("userinfo.write_session",
+                () -> this.userPrincipalCache.update(at.getLoginId(), StpUtil.getSession(), userPrincipal));
         log.info("--------- userinfo 权限，加工 AccessTokenModel --------- ");
         // 模拟账号信息 （真实环境需要查询数据库获取信息）
         Map<String, Object> map = new LinkedHashMap<>();
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.online;
+
+import cn.dev33.satoken.SaManager;
+import cn.dev33.satoken.config.SaTokenConfig;
+import cn.dev33.satoken.stp.StpUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import com.breeze.boot.core.utils.BreezeThreadLocal;
+import com.breeze.boot.satoken.model.OnlineSession;
+import com.breeze.boot.satoken.model.OnlineSessionPage;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 在线会话索引
+ * <p>
+ * 每个租户一个有序集合，成员为会话ID，分值为最后活跃时间；同一 hash tag 下的 hash 保存登录ID、设备、登录时间和令牌。
+ * 会话ID是令牌的 SHA-256 摘要，对外只暴露会话ID，令牌不出现在列表接口中，踢下线也按会话ID进行。
+ * 列表、计数、踢人只访问当前租户的两个 key，开销与 redis 中的 key 总数无关，不再使用 KEYS/SCAN 遍历令牌。
+ * 最后活跃时间按 {@link OnlineSessionProperties#getTouchInterval()} 去抖，同一令牌在间隔内只写一次 redis；
+ * 过期会话在查询时按批清理。
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+public class OnlineSessionIndex {
+
+    private static final String INDEX_KEY = "satoken:online:";
+
+    private static final String TENANT_KEY = "satoken:online:tenant:";
+
+    private static final String DEFAULT_TENANT = "0";
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * KEYS: 索引、会话信息
+     * ARGV: 会话ID、最后活跃时间、会话信息
+     */
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])\n" +
+            "redis.call('HSET', KEYS[2], ARGV[1], ARGV[3])\n" +
+            "return 1", Long.class);
+
+    /**
+     * KEYS: 索引、会话信息
+     * ARGV: 会话ID、最后活跃时间、会话信息(不存在时写入)
+     */
+    private static final RedisScript<Long> TOUCH_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])\n" +
+            "redis.call('HSETNX', KEYS[2], ARGV[1], ARGV[3])\n" +
+            "return 1", Long.class);
+
+    /**
+     * KEYS: 索引、会话信息
+     * ARGV: 会话ID
+     */
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('HDEL', KEYS[2], ARGV[1])\n" +
+            "return redis.call('ZREM', KEYS[1], ARGV[1])", Long.class);
+
+    /**
+     * 清理过期会话后返回在线数
+     * KEYS: 索引、会话信息
+     * ARGV: 过期时间点、本次最多清理数
+     */
+    private static final RedisScript<Long> PRUNE_SCRIPT = new DefaultRedisScript<>(
+            "local expired = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])\n" +
+            "if #expired > 0 then\n" +
+            "    redis.call('ZREM', KEYS[1], unpack(expired))\n" +
+            "    redis.call('HDEL', KEYS[2], unpack(expired))\n" +
+            "end\n" +
+            "return redis.call('ZCARD', KEYS[1])", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final OnlineSessionProperties properties;
+
+    /**
+     * 令牌最近一次刷新最后活跃时间的时间点
+     */
+    private final Cache<String, Long> touched;
+
+    public OnlineSessionIndex(StringRedisTemplate stringRedisTemplate, OnlineSessionProperties properties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+        this.touched = CacheBuilder.newBuilder()
+                .maximumSize(properties.getLocalCacheSize())
+                .expireAfterWrite(properties.getTouchInterval())
+                .build();
+    }
+
+    /**
+     * 登录时加入索引，租户取当前线程
+     *
+     * @param loginId    登录ID
+     * @param device     登录设备
+     * @param tokenValue 令牌
+     */
+    public void add(Object loginId, String device, String tokenValue) {
+        String tenant = this.currentTenant();
+        long now = System.currentTimeMillis();
+        this.saveTenant(tenant, tokenValue);
+        this.stringRedisTemplate.execute(ADD_SCRIPT, this.keys(tenant), sessionId(tokenValue), String.valueOf(now),
+                this.info(loginId, device, now, tokenValue));
+        this.touched.put(tokenValue, now);
+    }
+
+    /**
+     * 刷新最后活跃时间，间隔内重复调用直接返回
+     * <p>
+     * 索引中丢失的已登录令牌(如登录时 redis 短暂不可用)在这里补回。
+     * </p>
+     *
+     * @param tokenValue 令牌
+     */
+    public void touch(String tokenValue) {
+        if (StrUtil.isBlank(tokenValue) || Objects.nonNull(this.touched.getIfPresent(tokenValue))) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        // 先占位，并发请求不再重复写
+        this.touched.put(tokenValue, now);
+        Object loginId = StpUtil.getLoginIdByToken(tokenValue);
+        if (Objects.isNull(loginId)) {
+            return;
+        }
+        String tenant = this.stringRedisTemplate.opsForValue().get(TENANT_KEY + tokenValue);
+        if (Objects.isNull(tenant)) {
+            tenant = this.currentTenant();
+            this.saveTenant(tenant, tokenValue);
+        }
+        this.stringRedisTemplate.execute(TOUCH_SCRIPT, this.keys(tenant), sessionId(tokenValue), String.valueOf(now),
+                this.info(loginId, null, now, tokenValue));
+    }
+
+    /**
+     * 注销、踢下线、顶下线时移出索引
+     *
+     * @param tokenValue 令牌
+     */
+    public void remove(String tokenValue) {
+        this.touched.invalidate(tokenValue);
+        String tenant = this.stringRedisTemplate.opsForValue().get(TENANT_KEY + tokenValue);
+        if (Objects.isNull(tenant)) {
+            return;
+        }
+        this.stringRedisTemplate.execute(REMOVE_SCRIPT, this.keys(tenant), sessionId(tokenValue));
+        this.stringRedisTemplate.delete(TENANT_KEY + tokenValue);
+    }
+
+    /**
+     * 当前租户在线会话数
+     *
+     * @return long
+     */
+    public long count() {
+        return this.prune(this.currentTenant());
+    }
+
+    /**
+     * 当前租户在线会话分页，按最后活跃时间倒序
+     *
+     * @param current 当前页，从 1 开始
+     * @param size    页长
+     * @return {@link OnlineSessionPage}
+     */
+    public OnlineSessionPage page(long current, long size) {
+        String tenant = this.currentTenant();
+        long pageNo = Math.max(current, 1);
+        long pageSize = Math.min(Math.max(size, 1), this.properties.getMaxPageSize());
+        long total = this.prune(tenant);
+        List<OnlineSession> records = new ArrayList<>();
+        long start = (pageNo - 1) * pageSize;
+        if (start < total) {
+            List<String> keys = this.keys(tenant);
+            Set<ZSetOperations.TypedTuple<String>> tuples = this.stringRedisTemplate.opsForZSet()
+                    .reverseRangeWithScores(keys.get(0), start, start + pageSize - 1);
+            if (Objects.nonNull(tuples) && !tuples.isEmpty()) {
+                List<Object> sessionIds = new ArrayList<>(tuples.size());
+                tuples.forEach(tuple -> sessionIds.add(tuple.getValue()));
+                List<Object> infos = this.stringRedisTemplate.opsForHash().multiGet(keys.get(1), sessionIds);
+                int i = 0;
+                for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                    records.add(this.toSession(tuple, (String) infos.get(i++)));
+                }
+            }
+        }
+        return OnlineSessionPage.builder().current(pageNo).size(pageSize).total(total).records(records).build();
+    }
+
+    /**
+     * 批量踢下线，只处理属于当前租户的会话
+     *
+     * @param sessionIds 会话ID
+     * @return 踢下线的会话数
+     */
+    public int kickout(Collection<String> sessionIds) {
+        if (Objects.isNull(sessionIds) || sessionIds.isEmpty()) {
+            return 0;
+        }
+        String tenant = this.currentTenant();
+        List<String> keys = this.keys(tenant);
+        List<Object> ids = new ArrayList<>(new LinkedHashSet<>(sessionIds));
+        List<Object> infos = this.stringRedisTemplate.opsForHash().multiGet(keys.get(1), ids);
+        int count = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            String tokenValue = tokenValue((String) infos.get(i));
+            if (Objects.isNull(tokenValue)) {
+                continue;
+            }
+            StpUtil.kickoutByTokenValue(tokenValue);
+            // 令牌已过期时不会触发踢下线事件，这里直接移出
+            this.stringRedisTemplate.execute(REMOVE_SCRIPT, keys, ids.get(i));
+            this.stringRedisTemplate.delete(TENANT_KEY + tokenValue);
+            this.touched.invalidate(tokenValue);
+            count++;
+        }
+        return count;
+    }
+
+    private long prune(String tenant) {
+        long idleMillis = this.idleMillis();
+        String cutoff = idleMillis > 0 ? String.valueOf(System.currentTimeMillis() - idleMillis) : "-inf";
+        Long total = this.stringRedisTemplate.execute(PRUNE_SCRIPT, this.keys(tenant), cutoff,
+                String.valueOf(this.properties.getPruneBatchSize()));
+        return Objects.isNull(total) ? 0L : total;
+    }
+
+    /**
+     * 会话空闲多久视为过期，小于等于 0 不清理
+     */
+    private long idleMillis() {
+        Duration idleTimeout = this.properties.getIdleTimeout();
+        if (Objects.nonNull(idleTimeout)) {
+            return idleTimeout.toMillis();
+        }
+        SaTokenConfig config = SaManager.getConfig();
+        long seconds = config.getActiveTimeout() > 0 ? config.getActiveTimeout() : config.getTimeout();
+        return seconds > 0 ? seconds * 1000 : -1;
+    }
+
+    private void saveTenant(String tenant, String tokenValue) {
+        long timeout = SaManager.getConfig().getTimeout();
+        if (timeout > 0) {
+            this.stringRedisTemplate.opsForValue().set(TENANT_KEY + tokenValue, tenant, Duration.ofSeconds(timeout));
+        } else {
+            this.stringRedisTemplate.opsForValue().set(TENANT_KEY + tokenValue, tenant);
+        }
+    }
+
+    private String currentTenant() {
+        Long tenantId = BreezeThreadLocal.get();
+        return Objects.isNull(tenantId) ? DEFAULT_TENANT : tenantId.toString();
+    }
+
+    private List<String> keys(String tenant) {
+        String index = INDEX_KEY + "{" + tenant + "}";
+        return Arrays.asList(index, index + ":info");
+    }
+
+    /**
+     * 会话ID，令牌的 SHA-256 摘要
+     *
+     * @param tokenValue 令牌
+     * @return {@link String}
+     */
+    static String sessionId(String tokenValue) {
+        return DigestUtil.sha256Hex(tokenValue);
+    }
+
+    /**
+     * 会话信息：登录ID|设备|登录时间|令牌，令牌放在最后，不受分隔符影响
+     */
+    private String info(Object loginId, String device, long loginTime, String tokenValue) {
+        return loginId + SEPARATOR + StrUtil.nullToEmpty(device) + SEPARATOR + loginTime + SEPARATOR + tokenValue;
+    }
+
+    private static String tokenValue(String info) {
+        if (Objects.isNull(info)) {
+            return null;
+        }
+        List<String> parts = StrUtil.split(info, SEPARATOR, 4, false, false);
+        return parts.size() > 3 ? StrUtil.emptyToNull(parts.get(3)) : null;
+    }
+
+    private OnlineSession toSession(ZSetOperations.TypedTuple<String> tuple, String info) {
+        OnlineSession session = OnlineSession.builder()
+                .sessionId(tuple.getValue())
+                .lastActivityTime(Objects.isNull(tuple.getScore()) ? null : tuple.getScore().longValue())
+                .build();
+        if (Objects.nonNull(info)) {
+            List<String> parts = StrUtil.split(info, SEPARATOR, 4, false, false);
+            session.setLoginId(parts.get(0));
+            session.setDevice(parts.size() > 1 ? StrUtil.emptyToNull(parts.get(1)) : null);
+            session.setLoginTime(parts.size() > 2 ? Long.valueOf(parts.get(2)) : null);
+        }
+        return session;
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.online;
+
+import cn.dev33.satoken.listener.SaTokenListenerForSimple;
+import cn.dev33.satoken.stp.SaLoginModel;
+import cn.dev33.satoken.stp.StpUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 在线会话事件监听，登录时加入索引，注销、踢下线、顶下线时移出
+ * <p>
+ * 索引只用于展示和管理，写入失败不影响登录和注销。
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OnlineSessionListener extends SaTokenListenerForSimple {
+
+    private final OnlineSessionIndex onlineSessionIndex;
+
+    @Override
+    public void doLogin(String loginType, Object loginId, String tokenValue, SaLoginModel loginModel) {
+        if (!StpUtil.TYPE.equals(loginType)) {
+            return;
+        }
+        try {
+            this.onlineSessionIndex.add(loginId, loginModel.getDevice(), tokenValue);
+        } catch (Exception e) {
+            log.warn("在线会话索引写入失败: {}", loginId, e);
+        }
+    }
+
+    @Override
+    public void doLogout(String loginType, Object loginId, String tokenValue) {
+        this.remove(loginType, tokenValue);
+    }
+
+    @Override
+    public void doKickout(String loginType, Object loginId, String tokenValue) {
+        this.remove(loginType, tokenValue);
+    }
+
+    @Override
+    public void doReplaced(String loginType, Object loginId, String tokenValue) {
+        this.remove(loginType, tokenValue);
+    }
+
+    private void remove(String loginType, String tokenValue) {
+        if (!StpUtil.TYPE.equals(loginType)) {
+            return;
+        }
+        try {
+            this.onlineSessionIndex.remove(tokenValue);
+        } catch (Exception e) {
+            log.warn("在线会话索引移除失败", e);
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.online;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 在线会话索引配置
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "breeze.auth.online")
+public class OnlineSessionProperties {
+
+    /**
+     * 同一令牌两次刷新最后活跃时间的最小间隔
+     */
+    private Duration touchInterval = Duration.ofSeconds(60);
+
+    /**
+     * 最后活跃时间超过该时长的会话视为过期，为空时取 sa-token 的 active-timeout，未配置时取 timeout
+     */
+    private Duration idleTimeout;
+
+    /**
+     * 每次查询时最多清理的过期会话数
+     */
+    private int pruneBatchSize = 1000;
+
+    /**
+     * 分页查询的最大页长
+     */
+    private int maxPageSize = 100;
+
+    /**
+     * 本地记录最近刷新时间的令牌数上限
+     */
+    private int localCacheSize = 100_000;
+
+}
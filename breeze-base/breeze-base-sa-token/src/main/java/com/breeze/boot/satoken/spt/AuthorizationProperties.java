@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.spt;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 权限查询配置
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "breeze.auth")
+public class AuthorizationProperties {
+
+    /**
+     * 权限查询方式
+     */
+    private Lookup lookup = Lookup.SERVICE;
+
+    /**
+     * 本地缓存的权限版本号重新读取 redis 的间隔，即其他节点修改权限后的最大延迟
+     */
+    private Duration versionRefreshInterval = Duration.ofSeconds(1);
+
+    /**
+     * 会话用户主体的本地缓存有效期，即其他节点修改单个用户会话后的最大延迟，0 为只在请求内缓存
+     */
+    private Duration principalCacheTtl = Duration.ofSeconds(5);
+
+    /**
+     * 会话用户主体的本地缓存条目数上限
+     */
+    private int principalCacheSize = 10_000;
+
+    public enum Lookup {
+
+        /**
+         * 每次校验都通过 {@link com.breeze.boot.satoken.oauth2.IUserDetailService} 查询用户授权快照
+         */
+        SERVICE,
+
+        /**
+         * 读取会话中的用户主体，权限版本号过期时回退到 SERVICE 并回写会话
+         */
+        SESSION
+
+    }
+
+}
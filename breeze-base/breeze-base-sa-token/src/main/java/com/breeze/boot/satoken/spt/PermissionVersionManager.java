@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.spt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * 全局权限版本号
+ * <p>
+ * 角色、菜单、角色菜单变更时自增，缓存的授权数据记录生成时的版本号，版本号不一致即视为过期，
+ * 失效全部用户只需一次 INCR，不再扫描删除缓存。
+ * 当前版本号在本地缓存，最多每隔 {@link AuthorizationProperties#getVersionRefreshInterval()} 读取一次 redis。
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+public class PermissionVersionManager {
+
+    private static final String VERSION_KEY = "satoken:permission:version";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final long refreshIntervalMillis;
+
+    private volatile long version;
+
+    private volatile long refreshedAt;
+
+    public PermissionVersionManager(StringRedisTemplate stringRedisTemplate, Duration refreshInterval) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+    }
+
+    /**
+     * 当前版本号
+     *
+     * @return long
+     */
+    public long current() {
+        long now = System.currentTimeMillis();
+        if (now - this.refreshedAt >= this.refreshIntervalMillis) {
+            this.refresh(now);
+        }
+        return this.version;
+    }
+
+    /**
+     * 版本号自增，所有节点的授权缓存随之过期
+     *
+     * @return 新版本号
+     */
+    public long bump() {
+        Long version = this.stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+        synchronized (this) {
+            this.version = Math.max(this.version, Objects.requireNonNullElse(version, this.version + 1));
+            this.refreshedAt = System.currentTimeMillis();
+        }
+        log.debug("[权限版本号] 自增： {}", this.version);
+        return this.version;
+    }
+
+    private synchronized void refresh(long now) {
+        if (now - this.refreshedAt < this.refreshIntervalMillis) {
+            return;
+        }
+        try {
+            String value = this.stringRedisTemplate.opsForValue().get(VERSION_KEY);
+            this.version = Objects.isNull(value) ? 0L : Long.parseLong(value);
+        } catch (Exception e) {
+            // redis 不可用时沿用本地版本号
+            log.warn("[权限版本号] 读取失败", e);
+        }
+        this.refreshedAt = now;
+    }
+
+}
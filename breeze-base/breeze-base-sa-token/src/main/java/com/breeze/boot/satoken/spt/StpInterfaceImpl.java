@@ -16,16 +16,29 @@
 
 package com.breeze.boot.satoken.spt;
 
+import cn.dev33.satoken.session.SaSession;
 import cn.dev33.satoken.stp.StpInterface;
+import cn.dev33.satoken.stp.StpUtil;
+import com.breeze.boot.core.base.GrantedAuthority;
+import com.breeze.boot.core.base.UserPrincipal;
 import com.breeze.boot.satoken.oauth2.IUserDetailService;
 import lombok.RequiredArgsConstructor;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.breeze.boot.core.constants.CoreConstants.USER_TYPE;
 
 /**
  * 自定义权限加载接口实现类
  * 注入容器 完成 Sa-Token 的自定义权限验证扩展
+ * <p>
+ * {@link AuthorizationProperties.Lookup#SESSION} 模式直接读取会话中用户主体的权限和角色，
+ * 主体记录的权限版本号与 {@link PermissionVersionManager} 不一致时重新查询并回写会话
+ * </p>
  *
  * @author gaoweixuan
  * @since 2024/09/05
@@ -35,11 +48,21 @@ public class StpInterfaceImpl implements StpInterface {
 
     private final Supplier<IUserDetailService> userDetailServiceSupplier;
 
+    private final PermissionVersionManager permissionVersionManager;
+
+    private final AuthorizationProperties authorizationProperties;
+
+    private final UserPrincipalCache userPrincipalCache;
+
     /**
      * 返回一个账号所拥有的权限码集合
      */
     @Override
     public List<String> getPermissionList(Object loginId, String loginType) {
+        UserPrincipal userPrincipal = this.getSessionPrincipal(loginId);
+        if (Objects.nonNull(userPrincipal)) {
+            return userPrincipal.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList());
+        }
         return userDetailServiceSupplier.get().loadUserPermissionByUserId(loginId.toString());
     }
 
@@ -48,7 +71,42 @@ public class StpInterfaceImpl implements StpInterface {
      */
     @Override
     public List<String> getRoleList(Object loginId, String loginType) {
+        UserPrincipal userPrincipal = this.getSessionPrincipal(loginId);
+        if (Objects.nonNull(userPrincipal)) {
+            return List.copyOf(userPrincipal.getUserRoleCodes());
+        }
         return userDetailServiceSupplier.get().loadUserRoleByUserId(loginId.toString());
     }
 
+    /**
+     * 获取会话中权限版本号有效的用户主体
+     *
+     * @param loginId 登录ID
+     * @return {@link UserPrincipal} 非 SESSION 模式或会话不存在时为 null
+     */
+    private UserPrincipal getSessionPrincipal(Object loginId) {
+        if (this.authorizationProperties.getLookup() != AuthorizationProperties.Lookup.SESSION) {
+            return null;
+        }
+        SaSession session = StpUtil.getSessionByLoginId(loginId, false);
+        if (Objects.isNull(session) || !(session.get(USER_TYPE) instanceof UserPrincipal userPrincipal)) {
+            return null;
+        }
+        long version = this.permissionVersionManager.current();
+        if (Objects.equals(userPrincipal.getPermissionVersion(), version)
+                && Objects.nonNull(userPrincipal.getAuthorities())
+                && Objects.nonNull(userPrincipal.getUserRoleCodes())) {
+            return userPrincipal;
+        }
+        // 版本号过期，先取版本号再查询，查询期间再次变更时下次校验仍会刷新
+        IUserDetailService userDetailService = this.userDetailServiceSupplier.get();
+        userPrincipal.setAuthorities(userDetailService.loadUserPermissionByUserId(loginId.toString()).stream()
+                .map(GrantedAuthority::new)
+                .collect(Collectors.toSet()));
+        userPrincipal.setUserRoleCodes(new HashSet<>(userDetailService.loadUserRoleByUserId(loginId.toString())));
+        userPrincipal.setPermissionVersion(version);
+        this.userPrincipalCache.update(loginId, session, userPrincipal);
+        return userPrincipal;
+    }
+
 }
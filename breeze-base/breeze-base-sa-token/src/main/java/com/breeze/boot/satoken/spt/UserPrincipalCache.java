@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.satoken.spt;
+
+import cn.dev33.satoken.session.SaSession;
+import cn.dev33.satoken.stp.StpUtil;
+import com.breeze.boot.core.base.UserPrincipal;
+import com.breeze.boot.core.base.UserPrincipalProvider;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import static com.breeze.boot.core.constants.CoreConstants.USER_TYPE;
+
+/**
+ * 会话用户主体缓存
+ * <p>
+ * 同一请求内登录ID和用户主体只从 redis 读取一次，保存在请求属性中；
+ * 请求之间按登录ID缓存在本地，条目记录加载时的全局权限版本号和会话版本号，任一变化或超过有效期后重新读取会话。
+ * 会话版本号随用户主体一起写在会话中，每次经 {@link #update(Object, SaSession, UserPrincipal)} 写入用户主体时自增，
+ * 同时镜像到一个独立的 redis key，命中本地缓存时只读取这个 key 比较，不反序列化整个会话，其他节点的修改在下一个请求即可见。
+ * 返回的用户主体在线程间共享，只读。
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+public class UserPrincipalCache implements UserPrincipalProvider {
+
+    /**
+     * 会话中的会话版本号
+     */
+    public static final String SESSION_VERSION = "principalVersion";
+
+    private static final String VERSION_KEY = "satoken:principal:version:";
+
+    private static final String REQUEST_ATTRIBUTE = UserPrincipalCache.class.getName();
+
+    private static final Entry NOT_LOGIN = new Entry(null, null, 0L, 0L);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final PermissionVersionManager permissionVersionManager;
+
+    /**
+     * 登录ID -> 用户主体，有效期小于等于 0 时为空，只使用请求内缓存
+     */
+    private final Cache<String, Entry> cache;
+
+    public UserPrincipalCache(StringRedisTemplate stringRedisTemplate,
+                              PermissionVersionManager permissionVersionManager,
+                              Duration ttl,
+                              int maximumSize) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.permissionVersionManager = permissionVersionManager;
+        this.cache = Objects.isNull(ttl) || ttl.isZero() || ttl.isNegative()
+                ? null
+                : CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+    }
+
+    /**
+     * 当前登录用户，未登录时抛出 {@link cn.dev33.satoken.exception.NotLoginException}
+     *
+     * @return {@link UserPrincipal}
+     */
+    @Override
+    public UserPrincipal get() {
+        Entry entry = this.current();
+        if (Objects.isNull(entry.loginId())) {
+            // 抛出未登录异常
+            StpUtil.checkLogin();
+        }
+        return entry.principal();
+    }
+
+    /**
+     * 当前登录用户
+     *
+     * @return {@link UserPrincipal} 未登录时为 null
+     */
+    @Override
+    public UserPrincipal getIfLogin() {
+        return this.current().principal();
+    }
+
+    /**
+     * 写入会话中的用户主体并自增会话版本号，所有节点的本地缓存随之过期
+     *
+     * @param loginId       登录ID
+     * @param session       会话
+     * @param userPrincipal 用户主体
+     */
+    public void update(Object loginId, SaSession session, UserPrincipal userPrincipal) {
+        Long version = this.stringRedisTemplate.opsForValue().increment(VERSION_KEY + loginId);
+        // 先写主体再写版本号，其他节点在两次写之间读到的新主体会按旧版本号缓存，下个请求再刷新
+        session.set(USER_TYPE, userPrincipal);
+        session.set(SESSION_VERSION, Objects.requireNonNullElse(version, 0L));
+        this.invalidate(loginId);
+    }
+
+    /**
+     * 丢弃本节点的缓存
+     *
+     * @param loginId 登录ID
+     */
+    public void invalidate(Object loginId) {
+        if (Objects.isNull(loginId)) {
+            return;
+        }
+        if (Objects.nonNull(this.cache)) {
+            this.cache.invalidate(loginId.toString());
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (Objects.nonNull(attributes) && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Entry entry
+                && Objects.equals(entry.loginId(), loginId.toString())) {
+            attributes.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private Entry current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (Objects.nonNull(attributes) && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Entry entry) {
+            return entry;
+        }
+        Object loginId = StpUtil.getLoginIdDefaultNull();
+        if (Objects.isNull(loginId)) {
+            // 未登录不缓存，同一请求内登录后（如登录接口的审计、填充）可立即读到用户
+            return NOT_LOGIN;
+        }
+        Entry entry = this.load(loginId.toString());
+        if (Objects.nonNull(attributes) && Objects.nonNull(entry.principal())) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, entry, RequestAttributes.SCOPE_REQUEST);
+        }
+        return entry;
+    }
+
+    private Entry load(String loginId) {
+        long permissionVersion = this.permissionVersionManager.current();
+        Entry entry = Objects.isNull(this.cache) ? null : this.cache.getIfPresent(loginId);
+        if (Objects.nonNull(entry) && entry.permissionVersion() == permissionVersion
+                && entry.sessionVersion() == this.sessionVersion(loginId)) {
+            return entry;
+        }
+        SaSession session = StpUtil.getSessionByLoginId(loginId, false);
+        UserPrincipal principal = Objects.isNull(session) ? null : (UserPrincipal) session.get(USER_TYPE);
+        long sessionVersion = Objects.isNull(session) ? 0L : session.getLong(SESSION_VERSION);
+        entry = new Entry(loginId, principal, permissionVersion, sessionVersion);
+        // 会话中还没有用户主体时不缓存，写入后立即可见
+        if (Objects.nonNull(this.cache) && Objects.nonNull(principal)) {
+            this.cache.put(loginId, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * 读取会话版本号的镜像
+     *
+     * @param loginId 登录ID
+     * @return long redis 不可用时返回 -1，本地缓存视为过期
+     */
+    private long sessionVersion(String loginId) {
+        try {
+            String value = this.stringRedisTemplate.opsForValue().get(VERSION_KEY + loginId);
+            return Objects.isNull(value) ? 0L : Long.parseLong(value);
+        } catch (Exception e) {
+            log.warn("[会话版本号] 读取失败： {}", loginId, e);
+            return -1L;
+        }
+    }
+
+    private record Entry(String loginId, UserPrincipal principal, long permissionVersion, long sessionVersion) {
+    }
+
+}
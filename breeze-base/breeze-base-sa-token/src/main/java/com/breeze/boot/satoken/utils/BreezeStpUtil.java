@@ -16,10 +16,9 @@
 
 package com.breeze.boot.satoken.utils;
 
-import cn.dev33.satoken.stp.StpUtil;
+import cn.hutool.extra.spring.SpringUtil;
 import com.breeze.boot.core.base.UserPrincipal;
-
-import static com.breeze.boot.core.constants.CoreConstants.USER_TYPE;
+import com.breeze.boot.satoken.spt.UserPrincipalCache;
 
 /**
  * stp-util
@@ -30,11 +29,11 @@ import static com.breeze.boot.core.constants.CoreConstants.USER_TYPE;
 public class BreezeStpUtil {
 
     public static UserPrincipal getUser() {
-        return (UserPrincipal) StpUtil.getSession().get(USER_TYPE);
+        return SpringUtil.getBean(UserPrincipalCache.class).get();
     }
 
     public static boolean isAdmin() {
-        return ((UserPrincipal) StpUtil.getSession().get(USER_TYPE)).getUserRoleCodes().contains("admin");
+        return getUser().getUserRoleCodes().contains("admin");
     }
 
 }
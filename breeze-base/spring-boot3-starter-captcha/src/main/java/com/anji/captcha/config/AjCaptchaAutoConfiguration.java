@@ -9,6 +9,6 @@ import org.springframework.context.annotation.Import;
 @Configuration
 @EnableConfigurationProperties(AjCaptchaProperties.class)
 @ComponentScan("com.anji.captcha")
-@Import({AjCaptchaServiceAutoConfiguration.class, AjCaptchaStorageAutoConfiguration.class})
+@Import({AjCaptchaServiceAutoConfiguration.class, AjCaptchaStorageAutoConfiguration.class, AjCaptchaRenderAutoConfiguration.class})
 public class AjCaptchaAutoConfiguration {
 }
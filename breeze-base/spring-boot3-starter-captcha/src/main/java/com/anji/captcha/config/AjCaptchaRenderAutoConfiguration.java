@@ -0,0 +1,35 @@
+package com.anji.captcha.config;
+
+import com.anji.captcha.executor.CaptchaRenderExecutor;
+import com.anji.captcha.executor.CaptchaRenderMeterBinder;
+import com.anji.captcha.properties.AjCaptchaProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 验证码渲染线程池自动配置.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = AjCaptchaProperties.PREFIX, name = "render-async", havingValue = "true", matchIfMissing = true)
+public class AjCaptchaRenderAutoConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    public CaptchaRenderExecutor captchaRenderExecutor(AjCaptchaProperties prop) {
+        return new CaptchaRenderExecutor(prop.getRenderThreads(), prop.getRenderQueueCapacity());
+    }
+
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    static class CaptchaRenderMetricsConfiguration {
+
+        @Bean
+        public CaptchaRenderMeterBinder captchaRenderMeterBinder(CaptchaRenderExecutor executor) {
+            return new CaptchaRenderMeterBinder(executor);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.anji.captcha.config;
 
 import com.anji.captcha.model.common.Const;
 import com.anji.captcha.properties.AjCaptchaProperties;
+import com.anji.captcha.service.CaptchaLimitService;
 import com.anji.captcha.service.CaptchaService;
 import com.anji.captcha.service.impl.CaptchaServiceFactory;
 import com.anji.captcha.util.Base64Utils;
@@ -9,6 +10,7 @@ import com.anji.captcha.util.ImageUtils;
 import com.anji.captcha.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,7 +30,7 @@ public class AjCaptchaServiceAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public CaptchaService captchaService(AjCaptchaProperties prop) {
+    public CaptchaService captchaService(AjCaptchaProperties prop, ObjectProvider<CaptchaLimitService> limitServices) {
         logger.info("自定义配置项：{}", prop.toString());
         Properties config = new Properties();
         config.put(Const.CAPTCHA_CACHETYPE, prop.getCacheType().name());
@@ -52,10 +54,16 @@ public class AjCaptchaServiceAutoConfiguration {
         config.put(Const.REQ_GET_MINUTE_LIMIT, prop.getReqGetMinuteLimit() + "");
         config.put(Const.REQ_CHECK_MINUTE_LIMIT, prop.getReqCheckMinuteLimit() + "");
         config.put(Const.REQ_VALIDATE_MINUTE_LIMIT, prop.getReqVerifyMinuteLimit() + "");
+        config.put(Const.REQ_FREQUENCY_LIMIT_ALGORITHM, prop.getReqFrequencyLimitAlgorithm());
 
         config.put(Const.CAPTCHA_FONT_SIZE, prop.getFontSize() + "");
         config.put(Const.CAPTCHA_FONT_STYLE, prop.getFontStyle() + "");
         config.put(Const.CAPTCHA_WORD_COUNT, prop.getClickWordCount() + "");
+        config.put(Const.CAPTCHA_WORD_ATLAS_BUCKETS, prop.getClickWordAtlasBuckets() + "");
+        config.put(Const.CAPTCHA_PRERENDER_SIZE, prop.getPrerenderSize() + "");
+        config.put(Const.CAPTCHA_IMAGE_FORMAT, prop.getImageFormat());
+        config.put(Const.CAPTCHA_IMAGE_PNG_COMPRESSION, prop.getPngCompressionLevel() + "");
+        config.put(Const.CAPTCHA_IMAGE_JPEG_QUALITY, prop.getJpegQuality() + "");
 
         if ((StringUtils.isNotBlank(prop.getJigsaw()) && prop.getJigsaw().startsWith("classpath:"))
                 || (StringUtils.isNotBlank(prop.getPicClick()) && prop.getPicClick().startsWith("classpath:"))) {
@@ -63,6 +71,8 @@ public class AjCaptchaServiceAutoConfiguration {
             config.put(Const.CAPTCHA_INIT_ORIGINAL, "true");
             initializeBaseMap(prop.getJigsaw(), prop.getPicClick());
         }
+        //容器中的限流实现(如redis)覆盖SPI加载的同类型实现
+        limitServices.orderedStream().forEach(CaptchaServiceFactory::registerLimitService);
         CaptchaService s = CaptchaServiceFactory.getInstance(config);
         return s;
     }
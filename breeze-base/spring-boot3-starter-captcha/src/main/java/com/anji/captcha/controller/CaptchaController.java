@@ -6,6 +6,7 @@
  */
 package com.anji.captcha.controller;
 
+import com.anji.captcha.executor.CaptchaRenderExecutor;
 import com.anji.captcha.model.common.ResponseModel;
 import com.anji.captcha.model.vo.CaptchaVO;
 import com.anji.captcha.service.CaptchaService;
@@ -17,6 +18,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/captcha")
 public class CaptchaController {
@@ -24,11 +27,18 @@ public class CaptchaController {
     @Autowired
     private CaptchaService captchaService;
 
+    @Autowired(required = false)
+    private CaptchaRenderExecutor renderExecutor;
+
     @PostMapping("/get")
-    public ResponseModel get(@RequestBody CaptchaVO data, HttpServletRequest request) {
+    public CompletableFuture<ResponseModel> get(@RequestBody CaptchaVO data, HttpServletRequest request) {
         assert request.getRemoteHost() != null;
+        // request 只能在请求线程读取
         data.setBrowserInfo(getRemoteId(request));
-        return captchaService.get(data);
+        if (renderExecutor == null) {
+            return CompletableFuture.completedFuture(captchaService.get(data));
+        }
+        return renderExecutor.submit(() -> captchaService.get(data));
     }
 
     @PostMapping("/check")
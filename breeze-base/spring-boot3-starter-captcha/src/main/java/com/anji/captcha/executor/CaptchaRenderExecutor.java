@@ -0,0 +1,124 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.executor;
+
+import com.anji.captcha.model.common.RepCodeEnum;
+import com.anji.captcha.model.common.ResponseModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 验证码渲染线程池
+ * <p>
+ * 验证码生成是纯 CPU 计算，放到按 CPU 核数配置的独立线程池执行，请求线程只负责收发，
+ * 突发的登录页请求不会占满 web 容器的工作线程。队列有界，排满后立即返回繁忙，不再堆积等待。
+ */
+public class CaptchaRenderExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaptchaRenderExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder renderCount = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * @param threads       线程数，小于等于 0 时使用 CPU 核数
+     * @param queueCapacity 等待队列长度
+     */
+    public CaptchaRenderExecutor(int threads, int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+            Thread thread = new Thread(r, "captcha-render-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        logger.info("验证码渲染线程池:threads={} queueCapacity={}", size, queueCapacity);
+    }
+
+    /**
+     * 提交渲染任务，队列已满时直接返回繁忙
+     *
+     * @param task 渲染任务
+     * @return 渲染结果
+     */
+    public CompletableFuture<ResponseModel> submit(Supplier<ResponseModel> task) {
+        CompletableFuture<ResponseModel> future = new CompletableFuture<>();
+        long queued = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                waitNanos.add(start - queued);
+                try {
+                    future.complete(task.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    renderNanos.add(System.nanoTime() - start);
+                    renderCount.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            future.complete(ResponseModel.errorMsg(RepCodeEnum.API_CAPTCHA_BUSY));
+        }
+        return future;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 排队等待的任务数
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    public long getRenderCount() {
+        return renderCount.sum();
+    }
+
+    /**
+     * 累计渲染耗时，纳秒
+     */
+    public double getRenderNanos() {
+        return renderNanos.sum();
+    }
+
+    /**
+     * 累计排队耗时，纳秒
+     */
+    public double getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *Copyright © 2018 anji-plus
+ *安吉加加信息技术有限公司
+ *http://www.anji-plus.com
+ *All rights reserved.
+ */
+package com.anji.captcha.executor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 验证码渲染线程池指标
+ */
+public class CaptchaRenderMeterBinder implements MeterBinder {
+
+    private final CaptchaRenderExecutor executor;
+
+    public CaptchaRenderMeterBinder(CaptchaRenderExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("captcha.render.queue.depth", executor, CaptchaRenderExecutor::getQueueDepth)
+                .description("The number of captcha render tasks waiting in the queue")
+                .register(registry);
+        Gauge.builder("captcha.render.active", executor, CaptchaRenderExecutor::getActiveCount)
+                .description("The number of threads currently rendering captchas")
+                .register(registry);
+        FunctionCounter.builder("captcha.render.rejected", executor, CaptchaRenderExecutor::getRejectedCount)
+                .description("The number of captcha render tasks rejected because the queue was full")
+                .register(registry);
+        FunctionTimer.builder("captcha.render.time", executor, CaptchaRenderExecutor::getRenderCount,
+                        CaptchaRenderExecutor::getRenderNanos, TimeUnit.NANOSECONDS)
+                .description("Time spent rendering captchas")
+                .register(registry);
+        FunctionTimer.builder("captcha.render.wait", executor, CaptchaRenderExecutor::getRenderCount,
+                        CaptchaRenderExecutor::getWaitNanos, TimeUnit.NANOSECONDS)
+                .description("Time captcha render tasks spent waiting in the queue")
+                .register(registry);
+    }
+}
@@ -98,6 +98,11 @@ public class AjCaptchaProperties {
     private int reqCheckMinuteLimit = 100;
     private int reqVerifyMinuteLimit = 100;
 
+    /**
+     * 限流窗口算法 fixed/sliding，sliding 按前后两个窗口加权计数，窗口边界不会放过两倍请求
+     */
+    private String reqFrequencyLimitAlgorithm = "fixed";
+
     /**
      * 点选字体样式
      */
@@ -113,6 +118,102 @@ public class AjCaptchaProperties {
      */
     private int clickWordCount = 4;
 
+    /**
+     * 点选文字字形图集的旋转角度分档数，启动时预先栅格化，0禁用
+     */
+    private int clickWordAtlasBuckets = 19;
+
+    /**
+     * 预渲染队列长度，后台线程提前生成验证码图片，0禁用
+     */
+    private int prerenderSize = 0;
+
+    /**
+     * 验证码在独立的渲染线程池中生成，get 接口异步返回
+     */
+    private boolean renderAsync = true;
+
+    /**
+     * 渲染线程数，0使用CPU核数
+     */
+    private int renderThreads = 0;
+
+    /**
+     * 渲染等待队列长度，排满后直接返回繁忙
+     */
+    private int renderQueueCapacity = 64;
+
+    /**
+     * 底图格式 png/jpeg，jpeg 体积更小适合移动端，滑块始终为 png
+     */
+    private String imageFormat = "png";
+
+    /**
+     * png 压缩级别 0-9，-1 使用默认
+     */
+    private int pngCompressionLevel = -1;
+
+    /**
+     * jpeg 质量 0-1
+     */
+    private float jpegQuality = 0.8f;
+
+    public String getImageFormat() {
+        return imageFormat;
+    }
+
+    public void setImageFormat(String imageFormat) {
+        this.imageFormat = imageFormat;
+    }
+
+    public int getPngCompressionLevel() {
+        return pngCompressionLevel;
+    }
+
+    public void setPngCompressionLevel(int pngCompressionLevel) {
+        this.pngCompressionLevel = pngCompressionLevel;
+    }
+
+    public float getJpegQuality() {
+        return jpegQuality;
+    }
+
+    public void setJpegQuality(float jpegQuality) {
+        this.jpegQuality = jpegQuality;
+    }
+
+    public boolean isRenderAsync() {
+        return renderAsync;
+    }
+
+    public void setRenderAsync(boolean renderAsync) {
+        this.renderAsync = renderAsync;
+    }
+
+    public int getRenderThreads() {
+        return renderThreads;
+    }
+
+    public void setRenderThreads(int renderThreads) {
+        this.renderThreads = renderThreads;
+    }
+
+    public int getRenderQueueCapacity() {
+        return renderQueueCapacity;
+    }
+
+    public void setRenderQueueCapacity(int renderQueueCapacity) {
+        this.renderQueueCapacity = renderQueueCapacity;
+    }
+
+    public int getPrerenderSize() {
+        return prerenderSize;
+    }
+
+    public void setPrerenderSize(int prerenderSize) {
+        this.prerenderSize = prerenderSize;
+    }
+
     public int getFontStyle() {
         return fontStyle;
     }
@@ -137,6 +238,14 @@ public class AjCaptchaProperties {
         this.clickWordCount = clickWordCount;
     }
 
+    public int getClickWordAtlasBuckets() {
+        return clickWordAtlasBuckets;
+    }
+
+    public void setClickWordAtlasBuckets(int clickWordAtlasBuckets) {
+        this.clickWordAtlasBuckets = clickWordAtlasBuckets;
+    }
+
     public boolean isHistoryDataClearEnable() {
         return historyDataClearEnable;
     }
@@ -197,6 +306,14 @@ public class AjCaptchaProperties {
         this.reqVerifyMinuteLimit = reqVerifyMinuteLimit;
     }
 
+    public String getReqFrequencyLimitAlgorithm() {
+        return reqFrequencyLimitAlgorithm;
+    }
+
+    public void setReqFrequencyLimitAlgorithm(String reqFrequencyLimitAlgorithm) {
+        this.reqFrequencyLimitAlgorithm = reqFrequencyLimitAlgorithm;
+    }
+
     public enum StorageType {
         /**
          * 内存.
@@ -333,6 +450,15 @@ public class AjCaptchaProperties {
                 ", reqGetMinuteLimit=" + reqGetMinuteLimit +
                 ", reqCheckMinuteLimit=" + reqCheckMinuteLimit +
                 ", reqVerifyMinuteLimit=" + reqVerifyMinuteLimit +
+                ", reqFrequencyLimitAlgorithm='" + reqFrequencyLimitAlgorithm + '\'' +
+                ", clickWordAtlasBuckets=" + clickWordAtlasBuckets +
+                ", prerenderSize=" + prerenderSize +
+                ", renderAsync=" + renderAsync +
+                ", renderThreads=" + renderThreads +
+                ", renderQueueCapacity=" + renderQueueCapacity +
+                ", imageFormat='" + imageFormat + '\'' +
+                ", pngCompressionLevel=" + pngCompressionLevel +
+                ", jpegQuality=" + jpegQuality +
                 '}';
     }
 }
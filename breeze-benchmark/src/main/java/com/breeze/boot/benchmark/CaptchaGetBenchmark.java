@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.benchmark;
+
+import com.anji.captcha.model.common.Const;
+import com.anji.captcha.model.common.ResponseModel;
+import com.anji.captcha.model.vo.CaptchaVO;
+import com.anji.captcha.service.impl.AbstractCaptchaService;
+import com.anji.captcha.service.impl.BlockPuzzleCaptchaServiceImpl;
+import com.anji.captcha.service.impl.ClickWordCaptchaServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 验证码 get
+ * <p>
+ * 滑块与点选文字同步渲染时的完整 get 耗时（渲染、编码、写缓存），预渲染队列见 {@link PrerenderedCaptchaGetBenchmark}。
+ * 点选文字分别在关闭字形图集（0）和默认分桶（19）下运行，滑块不受该参数影响
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaptchaGetBenchmark {
+
+    @Param({"blockPuzzle", "clickWord"})
+    public String type;
+
+    @Param({"0", "19"})
+    public String atlasBuckets;
+
+    private AbstractCaptchaService service;
+
+    private Properties config;
+
+    @Setup
+    public void setup() {
+        this.config = new Properties();
+        // 使用 JDK 逻辑字体，不依赖 resources/fonts 下的字体文件
+        this.config.setProperty(Const.CAPTCHA_FONT_TYPE, "SansSerif");
+        this.config.setProperty(Const.CAPTCHA_WATER_FONT, "SansSerif");
+        this.config.setProperty(Const.CAPTCHA_PRERENDER_SIZE, "0");
+        this.config.setProperty(Const.CAPTCHA_WORD_ATLAS_BUCKETS, this.atlasBuckets);
+        this.service = "clickWord".equals(this.type) ? new ClickWordCaptchaServiceImpl() : new BlockPuzzleCaptchaServiceImpl();
+        this.service.init(this.config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.service.destroy(this.config);
+    }
+
+    @Benchmark
+    public ResponseModel get() {
+        ResponseModel response = this.service.get(new CaptchaVO());
+        if (!response.isSuccess()) {
+            throw new IllegalStateException(response.getRepMsg());
+        }
+        return response;
+    }
+
+}
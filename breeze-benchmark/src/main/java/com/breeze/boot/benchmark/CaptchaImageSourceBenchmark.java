@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.breeze.boot.benchmark;
+
+import com.anji.captcha.util.ImageUtils;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 验证码底图获取
+ * <p>
+ * 对比每次请求 Base64 解码并 {@link ImageIO#read} 底图，与从预解码图片池按像素数组复制（{@link ImageUtils#copyImage}）
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaptchaImageSourceBenchmark {
+
+    private String base64;
+
+    private BufferedImage decoded;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = CaptchaImageSourceBenchmark.class.getClassLoader().getResourceAsStream("defaultImages/jigsaw/original/1.png")) {
+            if (in == null) {
+                throw new IllegalStateException("defaultImages/jigsaw/original/1.png");
+            }
+            this.base64 = Base64.getEncoder().encodeToString(in.readAllBytes());
+        }
+        this.decoded = ImageUtils.getBase64StrToImage(this.base64);
+    }
+
+    @Benchmark
+    public BufferedImage decode() {
+        return ImageUtils.getBase64StrToImage(this.base64);
+    }
+
+    @Benchmark
+    public BufferedImage copy() {
+        return ImageUtils.copyImage(this.decoded);
+    }
+
+}
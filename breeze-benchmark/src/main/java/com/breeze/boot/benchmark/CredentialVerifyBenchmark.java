@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.breeze.boot.benchmark;
+
+import cn.dev33.satoken.secure.BCrypt;
+import com.breeze.boot.credential.CredentialProperties;
+import com.breeze.boot.credential.CredentialVerificationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 密码校验
+ * <p>
+ * 8 个登录线程并发调用 {@link CredentialVerificationService#verify}，对比不同线程池大小、工作因子下的耗时，
+ * 并以在调用线程直接计算 bcrypt 作为对照，每个登录线程使用不同的用户名，不触发同密码合并
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(8)
+@Fork(1)
+public class CredentialVerifyBenchmark {
+
+    private static final String RAW_PASSWORD = "breeze@123456";
+
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    @Param({"4", "8", "10"})
+    public int logRounds;
+
+    private CredentialVerificationService service;
+
+    private String encodedPassword;
+
+    @Setup
+    public void setup() {
+        CredentialProperties properties = new CredentialProperties();
+        properties.setThreads(this.threads);
+        properties.setLogRounds(this.logRounds);
+        properties.setQueueCapacity(256);
+        properties.setTimeout(Duration.ofMinutes(1));
+        this.service = new CredentialVerificationService(properties);
+        this.encodedPassword = "{bcrypt}" + this.service.encode(RAW_PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.service.shutdown();
+    }
+
+    @Benchmark
+    public CredentialVerificationService.Verification pooled(Caller caller) {
+        return this.service.verify(caller.username, RAW_PASSWORD, this.encodedPassword);
+    }
+
+    @Benchmark
+    public boolean callerThread() {
+        return BCrypt.checkpw(RAW_PASSWORD, this.encodedPassword.replace("{bcrypt}", ""));
+    }
+
+    /**
+     * 登录线程
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+
+        private static final AtomicInteger INDEX = new AtomicInteger();
+
+        private final String username = "user-" + INDEX.incrementAndGet();
+
+    }
+
+}
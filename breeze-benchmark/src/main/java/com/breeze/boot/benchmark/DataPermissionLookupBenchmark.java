@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.benchmark;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.breeze.boot.mybatis.annotation.BreezeDataPermission;
+import com.breeze.boot.mybatis.permission.DataPermissionMetadata;
+import com.breeze.boot.mybatis.permission.DataPermissionMetadataIndex;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数据权限注解查找
+ * <p>
+ * 对比启动时构建的语句索引与原拦截器每次查询时的 Class.forName + getMethods 反射扫描
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataPermissionLookupBenchmark {
+
+    /**
+     * 标注数据权限的语句
+     */
+    private static final String ANNOTATED = UserMapper.class.getName() + ".listUser";
+
+    /**
+     * 未标注的语句，原实现需要遍历全部方法
+     */
+    private static final String PLAIN = UserMapper.class.getName() + ".countUser";
+
+    @Param({"annotated", "plain"})
+    public String statement;
+
+    private String statementId;
+
+    private DataPermissionMetadataIndex index;
+
+    @Setup
+    public void setup() {
+        Configuration configuration = new Configuration();
+        configuration.addMapper(UserMapper.class);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("sqlSessionFactory", new DefaultSqlSessionFactory(configuration));
+        this.index = new DataPermissionMetadataIndex(beanFactory.getBeanProvider(SqlSessionFactory.class));
+        this.index.afterSingletonsInstantiated();
+        this.statementId = "annotated".equals(this.statement) ? ANNOTATED : PLAIN;
+    }
+
+    @Benchmark
+    public DataPermissionMetadata index() {
+        return this.index.get(this.statementId);
+    }
+
+    @Benchmark
+    public BreezeDataPermission reflectiveScan() throws ClassNotFoundException {
+        // 原 BreezeDataPermissionInterceptor.beforeQuery 的查找方式
+        Class<?> clazz = Class.forName(this.statementId.substring(0, this.statementId.lastIndexOf('.')));
+        String methodName = this.statementId.substring(this.statementId.lastIndexOf('.') + 1);
+        BreezeDataPermission found = null;
+        for (Method method : clazz.getMethods()) {
+            BreezeDataPermission annotation = method.getAnnotation(BreezeDataPermission.class);
+            if (annotation != null && methodName.equals(method.getName())) {
+                found = annotation;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * 与业务 mapper 相同，继承 BaseMapper 的全部方法
+     */
+    public interface UserMapper extends BaseMapper<Map<String, Object>> {
+
+        @BreezeDataPermission
+        @Select("SELECT id, dept_id, create_by FROM sys_user WHERE is_delete = 0")
+        List<Map<String, Object>> listUser();
+
+        @Select("SELECT count(*) FROM sys_user WHERE is_delete = 0")
+        long countUser();
+
+    }
+
+}
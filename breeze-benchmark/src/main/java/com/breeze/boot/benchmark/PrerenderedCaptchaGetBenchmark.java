@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.benchmark;
+
+import com.anji.captcha.model.common.Const;
+import com.anji.captcha.model.common.ResponseModel;
+import com.anji.captcha.model.vo.CaptchaVO;
+import com.anji.captcha.service.impl.AbstractCaptchaService;
+import com.anji.captcha.service.impl.BlockPuzzleCaptchaServiceImpl;
+import com.anji.captcha.service.impl.ClickWordCaptchaServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * 开启预渲染队列后的验证码 get
+ * <p>
+ * 每轮开始前等待后台把队列补满，再连续取 {@link #BATCH} 次，得分为整批耗时，
+ * 对应请求速率低于补充速率时的接口耗时；持续压测下队列取空会退化为同步渲染，见 {@link CaptchaGetBenchmark}。
+ * 出队后补充线程立即开始渲染，需在多核机器上运行，单核时补充线程与压测线程争用 CPU
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, batchSize = PrerenderedCaptchaGetBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = PrerenderedCaptchaGetBenchmark.BATCH)
+@Fork(1)
+public class PrerenderedCaptchaGetBenchmark {
+
+    static final int BATCH = 16;
+
+    private static final int QUEUE_SIZE = 32;
+
+    @Param({"blockPuzzle", "clickWord"})
+    public String type;
+
+    private AbstractCaptchaService service;
+
+    private IntSupplier queued;
+
+    private Properties config;
+
+    @Setup
+    public void setup() {
+        this.config = new Properties();
+        // 使用 JDK 逻辑字体，不依赖 resources/fonts 下的字体文件
+        this.config.setProperty(Const.CAPTCHA_FONT_TYPE, "SansSerif");
+        this.config.setProperty(Const.CAPTCHA_WATER_FONT, "SansSerif");
+        this.config.setProperty(Const.CAPTCHA_PRERENDER_SIZE, String.valueOf(QUEUE_SIZE));
+        if ("clickWord".equals(this.type)) {
+            ClickWordService clickWord = new ClickWordService();
+            this.queued = clickWord::queued;
+            this.service = clickWord;
+        } else {
+            BlockPuzzleService blockPuzzle = new BlockPuzzleService();
+            this.queued = blockPuzzle::queued;
+            this.service = blockPuzzle;
+        }
+        this.service.init(this.config);
+    }
+
+    @Setup(Level.Iteration)
+    public void awaitFull() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (this.queued.getAsInt() < QUEUE_SIZE && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.service.destroy(this.config);
+    }
+
+    @Benchmark
+    public ResponseModel get() {
+        ResponseModel response = this.service.get(new CaptchaVO());
+        if (!response.isSuccess()) {
+            throw new IllegalStateException(response.getRepMsg());
+        }
+        return response;
+    }
+
+    static class BlockPuzzleService extends BlockPuzzleCaptchaServiceImpl {
+
+        int queued() {
+            return this.prerenderQueue == null ? 0 : this.prerenderQueue.size();
+        }
+
+    }
+
+    static class ClickWordService extends ClickWordCaptchaServiceImpl {
+
+        int queued() {
+            return this.prerenderQueue == null ? 0 : this.prerenderQueue.size();
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.breeze.boot.benchmark;
+
+import com.anji.captcha.util.ImageUtils;
+import com.anji.captcha.util.RasterUtils;
+import com.anji.captcha.util.TemplateMask;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 滑块抠图
+ * <p>
+ * {@link RasterUtils#cutByTemplate} 在 TYPE_INT_RGB 底图上直接读写 int[]，与 TYPE_3BYTE_BGR 底图上退回 getRGB/setRGB 的对比，
+ * 每次先复制底图，得分包含复制耗时
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RasterCutBenchmark {
+
+    @Param({"intRaster", "rgb"})
+    public String path;
+
+    private BufferedImage background;
+
+    private TemplateMask mask;
+
+    private int templateWidth;
+
+    private int templateHeight;
+
+    private int x;
+
+    @Setup
+    public void setup() throws IOException {
+        BufferedImage decoded = read("defaultImages/jigsaw/original/1.png");
+        BufferedImage template = read("defaultImages/jigsaw/slidingBlock/1.png");
+        if ("intRaster".equals(this.path)) {
+            this.background = RasterUtils.toIntRaster(decoded);
+        } else {
+            this.background = new BufferedImage(decoded.getWidth(), decoded.getHeight(), BufferedImage.TYPE_3BYTE_BGR);
+            this.background.getGraphics().drawImage(decoded, 0, 0, null);
+        }
+        this.mask = TemplateMask.of(template);
+        this.templateWidth = template.getWidth();
+        this.templateHeight = template.getHeight();
+        this.x = (this.background.getWidth() - this.templateWidth) / 2;
+    }
+
+    @Benchmark
+    public BufferedImage cut() {
+        BufferedImage original = ImageUtils.copyImage(this.background);
+        BufferedImage jigsaw = new BufferedImage(this.templateWidth, this.templateHeight, BufferedImage.TYPE_INT_ARGB);
+        RasterUtils.cutByTemplate(original, this.mask, jigsaw, this.x, 0);
+        return jigsaw;
+    }
+
+    private static BufferedImage read(String path) throws IOException {
+        try (InputStream in = RasterCutBenchmark.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException(path);
+            }
+            return ImageIO.read(in);
+        }
+    }
+
+}
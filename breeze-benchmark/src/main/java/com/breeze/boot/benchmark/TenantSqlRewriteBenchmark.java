@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.breeze.boot.benchmark;
+
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import com.breeze.boot.core.utils.BreezeThreadLocal;
+import com.breeze.boot.core.tenant.TenantContextSnapshot;
+import com.breeze.boot.mybatis.plugins.BreezeTenantLineInnerInterceptor;
+import com.breeze.boot.mybatis.tenant.TenantTableRegistry;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.breeze.boot.core.constants.CoreConstants.TENANT_ID_COLUMN;
+
+/**
+ * 租户 sql 改写
+ * <p>
+ * 对比带改写缓存的 {@link BreezeTenantLineInnerInterceptor} 与每次解析改写的 {@link TenantLineInnerInterceptor}，
+ * 语句取自系统 mapper 的常见查询
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TenantSqlRewriteBenchmark {
+
+    private static final List<String> TENANT_TABLES = List.of("sys_user", "sys_dept", "sys_role", "sys_user_role", "sys_menu", "sys_log");
+
+    private static final String[] SQLS = {
+            "SELECT id, username, dept_id FROM sys_user WHERE is_delete = 0 AND username = ?",
+            "SELECT u.id, u.username, d.dept_name FROM sys_user u LEFT JOIN sys_dept d ON u.dept_id = d.id WHERE u.is_delete = 0 LIMIT ?",
+            "SELECT r.role_code FROM sys_role r INNER JOIN sys_user_role ur ON r.id = ur.role_id WHERE ur.user_id = ?",
+            "SELECT COUNT(*) FROM sys_log WHERE create_time > ? AND log_type = ?",
+            "UPDATE sys_user SET username = ?, update_time = ? WHERE id = ?",
+            "INSERT INTO sys_log (system_module, log_title, create_time) VALUES (?, ?, ?)"
+    };
+
+    private TenantLineInnerInterceptor cached;
+
+    private TenantLineInnerInterceptor uncached;
+
+    private TenantContextSnapshot.Scope tenantScope;
+
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        TenantTableRegistry registry = new TenantTableRegistry(TENANT_TABLES);
+        this.cached = new BreezeTenantLineInnerInterceptor(registry, 256, 512);
+        this.uncached = new TenantLineInnerInterceptor(new TenantLineHandler() {
+            @Override
+            public Expression getTenantId() {
+                return new LongValue(BreezeThreadLocal.get());
+            }
+
+            @Override
+            public String getTenantIdColumn() {
+                return TENANT_ID_COLUMN;
+            }
+
+            @Override
+            public boolean ignoreTable(String tableName) {
+                return !registry.contains(tableName);
+            }
+        });
+        this.tenantScope = BreezeThreadLocal.with(1L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.tenantScope.close();
+    }
+
+    @Benchmark
+    public String cached() {
+        return this.cached.parserSingle(this.next(), null);
+    }
+
+    @Benchmark
+    public String uncached() {
+        return this.uncached.parserSingle(this.next(), null);
+    }
+
+    private String next() {
+        String sql = SQLS[this.cursor];
+        this.cursor = (this.cursor + 1) % SQLS.length;
+        return sql;
+    }
+
+}
@@ -17,14 +17,22 @@
 package com.breeze.boot.config;
 
 import com.breeze.boot.log.bo.SysLogBO;
+import com.breeze.boot.log.config.SysLogProperties;
 import com.breeze.boot.log.events.LocalSysLogSaveEventListener;
+import com.breeze.boot.log.writer.SysLogBatchWriter;
+import com.breeze.boot.log.writer.SysLogBatchWriterMeterBinder;
+import com.breeze.boot.modules.auth.manager.DeptHierarchyManager;
 import com.breeze.boot.modules.system.service.SysMsgUserService;
 import com.breeze.boot.modules.system.service.SysLogService;
 import com.breeze.boot.message.dto.UserMsgDTO;
 import com.breeze.boot.message.events.MsgSaveEventListener;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * 系统日志收集的配置
@@ -34,6 +42,7 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 @RequiredArgsConstructor
+@EnableConfigurationProperties(SysLogProperties.class)
 public class ListenerConfig {
 
     /**
@@ -46,14 +55,53 @@ public class ListenerConfig {
      */
     private final SysMsgUserService sysMsgUserService;
 
+    /**
+     * 系统日志批量写入
+     *
+     * @param sysLogProperties 系统日志属性
+     * @return {@link SysLogBatchWriter}
+     */
+    @Bean
+    public SysLogBatchWriter sysLogBatchWriter(SysLogProperties sysLogProperties) {
+        return new SysLogBatchWriter(sysLogProperties.getBatch(), this.sysLogService::saveSysLogBatch);
+    }
+
+    /**
+     * 系统日志批量写入指标
+     *
+     * @param sysLogBatchWriter 系统日志批量写入
+     * @return {@link SysLogBatchWriterMeterBinder}
+     */
+    @Bean
+    public SysLogBatchWriterMeterBinder sysLogBatchWriterMeterBinder(SysLogBatchWriter sysLogBatchWriter) {
+        return new SysLogBatchWriterMeterBinder(sysLogBatchWriter);
+    }
+
     /**
      * 日志保存侦听器
      *
+     * @param sysLogBatchWriter 系统日志批量写入
      * @return {@link LocalSysLogSaveEventListener}
      */
     @Bean
-    public LocalSysLogSaveEventListener logSaveEventListener() {
-        return new LocalSysLogSaveEventListener((source) -> this.sysLogService.saveSysLog((SysLogBO) source.getSource()));
+    public LocalSysLogSaveEventListener logSaveEventListener(SysLogBatchWriter sysLogBatchWriter) {
+        return new LocalSysLogSaveEventListener((source) -> sysLogBatchWriter.offer((SysLogBO) source.getSource()));
+    }
+
+    /**
+     * 部门变更通知监听容器
+     *
+     * @param redisConnectionFactory redis 连接工厂
+     * @param deptHierarchyManager   部门层级索引
+     * @return {@link RedisMessageListenerContainer}
+     */
+    @Bean
+    public RedisMessageListenerContainer deptHierarchyListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                        DeptHierarchyManager deptHierarchyManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(deptHierarchyManager, new ChannelTopic(DeptHierarchyManager.TOPIC));
+        return container;
     }
 
     /**
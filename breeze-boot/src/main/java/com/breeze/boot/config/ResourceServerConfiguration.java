@@ -21,14 +21,22 @@ import com.anji.captcha.model.common.ResponseModel;
 import com.anji.captcha.model.vo.CaptchaVO;
 import com.anji.captcha.service.CaptchaService;
 import com.breeze.boot.core.jackson.propertise.AesSecretProperties;
+import com.breeze.boot.credential.CredentialVerificationService;
 import com.breeze.boot.modules.auth.service.SysRegisteredClientService;
 import com.breeze.boot.modules.auth.service.SysUserService;
 import com.breeze.boot.satoken.SaTokenOauthConfigure;
+import com.breeze.boot.satoken.metrics.LoginMetrics;
+import com.breeze.boot.satoken.oauth2.client.RegisteredClientSyncListener;
+import com.breeze.boot.satoken.oauth2.client.SaClientModelRegistry;
 import com.breeze.boot.satoken.oauth2.client.SaOAuth2DataLoaderImpl;
 import com.breeze.boot.satoken.oauth2.oidc.BreezeOidcScopeHandler;
 import com.breeze.boot.satoken.oauth2.phone.PhoneCodeGrantTypeHandler;
+import com.breeze.boot.satoken.oauth2.phone.SmsCodeStore;
 import com.breeze.boot.satoken.oauth2.userinfo.UserinfoScopeHandler;
+import com.breeze.boot.satoken.spt.AuthorizationProperties;
+import com.breeze.boot.satoken.spt.PermissionVersionManager;
 import com.breeze.boot.satoken.spt.StpInterfaceImpl;
+import com.breeze.boot.satoken.spt.UserPrincipalCache;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
@@ -39,6 +47,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * 资源服务器配置
@@ -50,6 +62,11 @@ import org.springframework.context.annotation.Configuration;
 @RequiredArgsConstructor
 public class ResourceServerConfiguration {
 
+    /**
+     * OAuth2 客户端变更通知频道
+     */
+    private static final String REGISTERED_CLIENT_TOPIC = "breeze:oauth2:client:invalidation";
+
     private final ApplicationContext context;
 
     private final CaptchaService captchaService;
@@ -65,18 +82,55 @@ public class ResourceServerConfiguration {
     }
 
     @Bean
-    public SaOAuth2DataLoaderImpl saOAuth2DataLoader() {
-        return new SaOAuth2DataLoaderImpl(() -> sysRegisteredClientService, () -> aesSecretProperties);
+    public SaClientModelRegistry saClientModelRegistry() {
+        return new SaClientModelRegistry(() -> sysRegisteredClientService, () -> aesSecretProperties);
+    }
+
+    @Bean
+    public SaOAuth2DataLoaderImpl saOAuth2DataLoader(SaClientModelRegistry saClientModelRegistry) {
+        return new SaOAuth2DataLoaderImpl(saClientModelRegistry);
+    }
+
+    /**
+     * OAuth2 客户端注册表同步
+     *
+     * @param saClientModelRegistry 客户端注册表
+     * @param stringRedisTemplate   redis 模板
+     * @return {@link RegisteredClientSyncListener}
+     */
+    @Bean
+    public RegisteredClientSyncListener registeredClientSyncListener(SaClientModelRegistry saClientModelRegistry,
+                                                                     StringRedisTemplate stringRedisTemplate) {
+        return new RegisteredClientSyncListener(saClientModelRegistry, stringRedisTemplate, REGISTERED_CLIENT_TOPIC);
+    }
+
+    /**
+     * OAuth2 客户端变更通知监听容器
+     *
+     * @param redisConnectionFactory       redis 连接工厂
+     * @param registeredClientSyncListener 客户端注册表同步
+     * @return {@link RedisMessageListenerContainer}
+     */
+    @Bean
+    public RedisMessageListenerContainer registeredClientListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                           RegisteredClientSyncListener registeredClientSyncListener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(registeredClientSyncListener, new ChannelTopic(REGISTERED_CLIENT_TOPIC));
+        return container;
     }
 
     @Bean
-    public StpInterfaceImpl stpInterfaceImpl() {
-        return new StpInterfaceImpl(() -> userService);
+    public StpInterfaceImpl stpInterfaceImpl(PermissionVersionManager permissionVersionManager,
+                                             AuthorizationProperties authorizationProperties,
+                                             UserPrincipalCache userPrincipalCache) {
+        return new StpInterfaceImpl(() -> userService, permissionVersionManager, authorizationProperties, userPrincipalCache);
     }
 
     @Bean
-    public SaTokenOauthConfigure saTokenOauthConfigure() {
-        return new SaTokenOauthConfigure(() -> userService, this::check, () -> aesSecretProperties);
+    public SaTokenOauthConfigure saTokenOauthConfigure(CredentialVerificationService credentialVerificationService,
+                                                       LoginMetrics loginMetrics) {
+        return new SaTokenOauthConfigure(() -> userService, this::check, () -> aesSecretProperties, credentialVerificationService, loginMetrics);
     }
 
     /**
@@ -85,8 +139,8 @@ public class ResourceServerConfiguration {
      * @return {@link BreezeOidcScopeHandler}
      */
     @Bean
-    public BreezeOidcScopeHandler oidcScopeHandler() {
-        return new BreezeOidcScopeHandler(() -> userService);
+    public BreezeOidcScopeHandler oidcScopeHandler(LoginMetrics loginMetrics) {
+        return new BreezeOidcScopeHandler(() -> userService, loginMetrics);
     }
 
     /**
@@ -95,8 +149,8 @@ public class ResourceServerConfiguration {
      * @return {@link BreezeOidcScopeHandler}
      */
     @Bean
-    public PhoneCodeGrantTypeHandler phoneCodeGrantTypeHandler() {
-        return new PhoneCodeGrantTypeHandler(() -> userService);
+    public PhoneCodeGrantTypeHandler phoneCodeGrantTypeHandler(LoginMetrics loginMetrics, SmsCodeStore smsCodeStore) {
+        return new PhoneCodeGrantTypeHandler(() -> userService, loginMetrics, smsCodeStore);
     }
 
     /**
@@ -105,8 +159,8 @@ public class ResourceServerConfiguration {
      * @return {@link BreezeOidcScopeHandler}
      */
     @Bean
-    public UserinfoScopeHandler userinfoScopeHandler() {
-        return new UserinfoScopeHandler(() -> userService);
+    public UserinfoScopeHandler userinfoScopeHandler(LoginMetrics loginMetrics, UserPrincipalCache userPrincipalCache) {
+        return new UserinfoScopeHandler(() -> userService, loginMetrics, userPrincipalCache);
     }
 
     private boolean check(HttpServletRequest contextRequest) {
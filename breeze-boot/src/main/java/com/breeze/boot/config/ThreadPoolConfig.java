@@ -16,6 +16,7 @@
 
 package com.breeze.boot.config;
 
+import com.breeze.boot.core.tenant.TenantTaskDecorator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,8 +34,18 @@ import java.util.concurrent.ThreadPoolExecutor;
 @Configuration
 public class ThreadPoolConfig {
 
+    /**
+     * 租户任务装饰器，spring boot 自动配置的执行器也会使用
+     *
+     * @return {@link TenantTaskDecorator}
+     */
+    @Bean
+    public TenantTaskDecorator tenantTaskDecorator() {
+        return new TenantTaskDecorator();
+    }
+
     @Bean(name = "breezeThreadPoolExecutor")
-    public ThreadPoolTaskExecutor threadPoolTaskExecutor() {
+    public ThreadPoolTaskExecutor threadPoolTaskExecutor(TenantTaskDecorator tenantTaskDecorator) {
         log.info("---------- 开始加载线程池 ----------");
         ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
         // 核心线程池数
@@ -51,6 +62,8 @@ public class ThreadPoolConfig {
         threadPoolTaskExecutor.setThreadNamePrefix("breeze-thread-pool-executor-");
         // 当pool已经达到max-size的时候，如何处理新任务：由调用者所在的线程来执行
         threadPoolTaskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // 传递租户
+        threadPoolTaskExecutor.setTaskDecorator(tenantTaskDecorator);
         // 初始化
         threadPoolTaskExecutor.initialize();
         log.info("---------- 线程池加载完成 ----------");
@@ -17,6 +17,7 @@
 package com.breeze.boot.modules.auth.controller;
 
 import cn.hutool.core.util.StrUtil;
+import com.anji.captcha.executor.CaptchaRenderExecutor;
 import com.anji.captcha.model.common.ResponseModel;
 import com.anji.captcha.model.vo.CaptchaVO;
 import com.anji.captcha.service.CaptchaService;
@@ -24,12 +25,15 @@ import com.anji.captcha.util.StringUtils;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 微风captcha控制器
  * <p>
@@ -50,6 +54,11 @@ public class BreezeCaptchaController {
     private final CaptchaService captchaService;
     private final RedisTemplate<String, Object> redisTemplate;
 
+    /**
+     * 验证码渲染线程池，aj.captcha.render-async=false 时不存在
+     */
+    private final ObjectProvider<CaptchaRenderExecutor> renderExecutor;
+
     /**
      * 获取远程id
      *
@@ -82,13 +91,17 @@ public class BreezeCaptchaController {
      *
      * @param data    数据
      * @param request 请求
-     * @return {@link ResponseModel}
+     * @return {@link CompletableFuture}<{@link ResponseModel}>
      */
     @PostMapping("/code")
-    public ResponseModel code(@RequestBody CaptchaVO data, HttpServletRequest request) {
+    public CompletableFuture<ResponseModel> code(@RequestBody CaptchaVO data, HttpServletRequest request) {
         assert request.getRemoteHost() != null;
         data.setBrowserInfo(getRemoteId(request));
-        return this.captchaService.get(data);
+        CaptchaRenderExecutor executor = this.renderExecutor.getIfAvailable();
+        if (executor == null) {
+            return CompletableFuture.completedFuture(this.captchaService.get(data));
+        }
+        return executor.submit(() -> this.captchaService.get(data));
     }
 
     @PostMapping("/check")
@@ -123,7 +123,7 @@ public class SysRegisteredClientController {
     @SaCheckPermission("auth:client:delete")
     @BreezeSysLog(description = "客户端信息删除", type = LogType.DELETE)
     public Result<Boolean> delete(@Parameter(description = "客户端IDS") @NotNull(message = "参数不能为空") @RequestBody Long[] ids) {
-        return Result.ok(this.registeredClientService.removeBatchByIds(Arrays.asList(ids)));
+        return Result.ok(this.registeredClientService.removeRegisteredClient(Arrays.asList(ids)));
     }
 
     /**
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.modules.auth.manager;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.breeze.boot.core.utils.BreezeThreadLocal;
+import com.breeze.boot.modules.auth.mapper.SysDeptMapper;
+import com.breeze.boot.modules.auth.model.entity.SysDept;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 部门层级索引
+ * <p>
+ * 每个租户一份内存快照（id -> parent_id 以及 parent_id -> 子部门），一次平铺查询加载，
+ * 查询某部门的全部下级只遍历该子树，不再按节点递归查库。
+ * 本节点的新增、修改、删除增量更新快照，再通过 redis 通知其他节点丢弃该租户的快照，下次查询时重新加载；
+ * 通知丢失时依靠快照过期兜底。未设置租户时的快照缓存在 {@link #NO_TENANT} 下。
+ * 消息格式：节点ID|租户ID。
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeptHierarchyManager implements MessageListener {
+
+    /**
+     * 部门变更通知频道
+     */
+    public static final String TOPIC = "breeze:dept:hierarchy:invalidation";
+
+    /**
+     * 未设置租户时的快照 key
+     */
+    private static final Long NO_TENANT = Long.MIN_VALUE;
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 当前节点标识，忽略自己发出的消息
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final SysDeptMapper sysDeptMapper;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 租户ID -> 部门层级快照
+     */
+    private final Cache<Long, Snapshot> snapshotCache = CacheBuilder.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    /**
+     * 查询部门自身以及全部下级部门ID
+     *
+     * @param deptId 部门ID
+     * @return {@link Set}<{@link Long}> 部门不存在时为空
+     */
+    public Set<Long> listSubDeptId(Long deptId) {
+        if (Objects.isNull(deptId)) {
+            return Collections.emptySet();
+        }
+        return this.getSnapshot().subtree(deptId);
+    }
+
+    /**
+     * 新增部门
+     *
+     * @param sysDept 部门
+     */
+    public void onSave(SysDept sysDept) {
+        this.update(sysDept.getId(), sysDept.getParentId());
+    }
+
+    /**
+     * 修改部门，上级部门未传时保持不变
+     *
+     * @param sysDept 部门
+     */
+    public void onModify(SysDept sysDept) {
+        if (Objects.isNull(sysDept.getParentId())) {
+            return;
+        }
+        this.update(sysDept.getId(), sysDept.getParentId());
+    }
+
+    /**
+     * 删除部门
+     *
+     * @param deptId 部门ID
+     */
+    public void onDelete(Long deptId) {
+        Long tenantId = this.currentTenant();
+        this.snapshotCache.asMap().computeIfPresent(tenantId, (key, snapshot) -> snapshot.remove(deptId));
+        this.publish(tenantId);
+    }
+
+    /**
+     * 清除租户的快照
+     *
+     * @param tenantId 租户ID
+     */
+    public void evict(Long tenantId) {
+        this.snapshotCache.invalidate(tenantId);
+    }
+
+    /**
+     * 其他节点的部门变更
+     *
+     * @param message 消息
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int index = body.indexOf(SEPARATOR);
+        if (index < 0 || this.nodeId.equals(body.substring(0, index))) {
+            return;
+        }
+        try {
+            this.evict(Long.valueOf(body.substring(index + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("[部门层级] 变更通知格式错误： {}", body);
+        }
+    }
+
+    private void update(Long deptId, Long parentId) {
+        if (Objects.isNull(deptId)) {
+            return;
+        }
+        Long tenantId = this.currentTenant();
+        this.snapshotCache.asMap().computeIfPresent(tenantId, (key, snapshot) -> snapshot.put(deptId, parentId));
+        this.publish(tenantId);
+    }
+
+    private void publish(Long tenantId) {
+        try {
+            this.stringRedisTemplate.convertAndSend(TOPIC, this.nodeId + SEPARATOR + tenantId);
+        } catch (Exception e) {
+            // 通知失败时其他节点依靠快照过期兜底
+            log.warn("[部门层级变更通知失败] 租户： {}", tenantId, e);
+        }
+    }
+
+    private Snapshot getSnapshot() {
+        return this.snapshotCache.asMap().computeIfAbsent(this.currentTenant(), key -> this.load());
+    }
+
+    private Long currentTenant() {
+        return Objects.requireNonNullElse(BreezeThreadLocal.get(), NO_TENANT);
+    }
+
+    private Snapshot load() {
+        List<SysDept> deptList = this.sysDeptMapper.selectList(Wrappers.<SysDept>lambdaQuery()
+                .select(SysDept::getId, SysDept::getParentId));
+        Map<Long, Long> parentMap = new HashMap<>(deptList.size() * 2);
+        for (SysDept sysDept : deptList) {
+            parentMap.put(sysDept.getId(), sysDept.getParentId());
+        }
+        log.debug("[部门层级] 加载部门数量： {}", parentMap.size());
+        return new Snapshot(parentMap);
+    }
+
+    /**
+     * 不可变的部门层级快照，修改时复制
+     */
+    private static final class Snapshot {
+
+        private final Map<Long, Long> parentMap;
+
+        private final Map<Long, List<Long>> childrenMap;
+
+        private Snapshot(Map<Long, Long> parentMap) {
+            this.parentMap = parentMap;
+            Map<Long, List<Long>> childrenMap = new HashMap<>(parentMap.size() * 2);
+            parentMap.forEach((id, parentId) -> {
+                if (Objects.nonNull(parentId)) {
+                    childrenMap.computeIfAbsent(parentId, key -> new ArrayList<>()).add(id);
+                }
+            });
+            this.childrenMap = childrenMap;
+        }
+
+        private Set<Long> subtree(Long deptId) {
+            if (!this.parentMap.containsKey(deptId)) {
+                return Collections.emptySet();
+            }
+            Set<Long> result = new LinkedHashSet<>();
+            Deque<Long> stack = new ArrayDeque<>();
+            stack.push(deptId);
+            while (!stack.isEmpty()) {
+                Long id = stack.pop();
+                // 防止脏数据成环
+                if (!result.add(id)) {
+                    continue;
+                }
+                List<Long> children = this.childrenMap.get(id);
+                if (children != null) {
+                    children.forEach(stack::push);
+                }
+            }
+            return result;
+        }
+
+        private Snapshot put(Long deptId, Long parentId) {
+            Map<Long, Long> parentMap = new HashMap<>(this.parentMap);
+            parentMap.put(deptId, parentId);
+            return new Snapshot(parentMap);
+        }
+
+        private Snapshot remove(Long deptId) {
+            Map<Long, Long> parentMap = new HashMap<>(this.parentMap);
+            parentMap.remove(deptId);
+            return new Snapshot(parentMap);
+        }
+
+    }
+
+}
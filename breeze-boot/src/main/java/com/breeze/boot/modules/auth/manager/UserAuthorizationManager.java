@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.modules.auth.manager;
+
+import cn.dev33.satoken.session.SaSession;
+import cn.dev33.satoken.stp.StpUtil;
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import com.breeze.boot.core.base.UserPrincipal;
+import com.breeze.boot.core.enums.DataPermissionType;
+import com.breeze.boot.core.tenant.TenantContextSnapshot;
+import com.breeze.boot.core.utils.BreezeThreadLocal;
+import com.breeze.boot.modules.auth.mapper.SysMenuMapper;
+import com.breeze.boot.modules.auth.mapper.SysRoleMapper;
+import com.breeze.boot.modules.auth.mapper.SysRoleRowPermissionMapper;
+import com.breeze.boot.modules.auth.model.bo.UserAuthorizationSnapshot;
+import com.breeze.boot.modules.auth.model.bo.UserRoleBO;
+import com.breeze.boot.satoken.spt.PermissionVersionManager;
+import com.breeze.boot.satoken.spt.UserPrincipalCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static com.breeze.boot.core.constants.CacheConstants.USER_AUTHORIZATION;
+import static com.breeze.boot.core.constants.CoreConstants.USER_TYPE;
+
+/**
+ * 用户授权快照管理
+ * <p>
+ * 角色、菜单权限、行数据权限按（租户，用户）缓存，登录和每次 @SaCheckPermission / @SaCheckRole 都从快照读取；
+ * 快照记录生成时的全局权限版本号，角色、菜单变更只自增版本号，读取时版本号不一致再重新加载；
+ * 用户角色变更时失效该用户的快照，并把会话中用户主体的权限版本号置空；
+ * 加载时菜单权限与行数据权限都只依赖角色，两条查询并行执行
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserAuthorizationManager {
+
+    private final SysRoleMapper sysRoleMapper;
+
+    private final SysMenuMapper sysMenuMapper;
+
+    private final SysRoleRowPermissionMapper sysRoleRowPermissionMapper;
+
+    private final CacheManager cacheManager;
+
+    private final PermissionVersionManager permissionVersionManager;
+
+    private final UserPrincipalCache userPrincipalCache;
+
+    /**
+     * 按名称注入 {@link com.breeze.boot.config.ThreadPoolConfig} 中的线程池，满时由调用线程执行
+     */
+    private final Executor breezeThreadPoolExecutor;
+
+    /**
+     * 获取用户授权快照，不存在时加载
+     *
+     * @param userId 用户ID
+     * @return {@link UserAuthorizationSnapshot}
+     */
+    public UserAuthorizationSnapshot getSnapshot(Long userId) {
+        long version = this.permissionVersionManager.current();
+        Long tenantId = BreezeThreadLocal.get();
+        if (Objects.isNull(tenantId)) {
+            return this.load(userId, version);
+        }
+        Cache cache = this.getCache();
+        String key = this.getKey(tenantId, userId);
+        UserAuthorizationSnapshot snapshot = cache.get(key, () -> this.load(userId, version));
+        if (Objects.nonNull(snapshot) && Objects.equals(snapshot.getPermissionVersion(), version)) {
+            return snapshot;
+        }
+        snapshot = this.load(userId, version);
+        cache.put(key, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * 用户角色变更，失效当前租户下该用户的快照，在事务提交后执行
+     *
+     * @param userIds 用户ID
+     */
+    public void evict(Collection<Long> userIds) {
+        Long tenantId = BreezeThreadLocal.get();
+        if (Objects.isNull(tenantId)) {
+            this.evictAll();
+            return;
+        }
+        List<Long> evictUserIds = List.copyOf(userIds);
+        this.afterCommit(() -> {
+            Cache cache = this.getCache();
+            evictUserIds.forEach(userId -> {
+                cache.evict(this.getKey(tenantId, userId));
+                this.expireSessionPrincipal(userId);
+            });
+        });
+    }
+
+    /**
+     * 角色、菜单、角色菜单变更，影响的用户无法直接确定，自增权限版本号使全部快照过期
+     * <p>
+     * 在事务提交后自增，否则其他节点读到新版本号后会把未提交前的权限按新版本号回写到会话
+     * </p>
+     */
+    public void evictAll() {
+        this.afterCommit(this.permissionVersionManager::bump);
+    }
+
+    /**
+     * 当前事务提交后执行，没有事务时立即执行
+     * <p>
+     * 提交前失效时，并发的鉴权会读到未提交前的旧数据并重新缓存
+     * </p>
+     *
+     * @param task 失效操作
+     */
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * 置空会话中用户主体的权限版本号，下次鉴权时重新查询；会话版本号随之自增，其他节点的本地缓存同时过期
+     *
+     * @param userId 用户ID
+     */
+    private void expireSessionPrincipal(Long userId) {
+        SaSession session = StpUtil.getSessionByLoginId(userId, false);
+        if (Objects.isNull(session) || !(session.get(USER_TYPE) instanceof UserPrincipal userPrincipal)) {
+            return;
+        }
+        userPrincipal.setPermissionVersion(null);
+        this.userPrincipalCache.update(userId, session, userPrincipal);
+    }
+
+    private UserAuthorizationSnapshot load(Long userId, long version) {
+        List<UserRoleBO> roles = Optional.ofNullable(this.sysRoleMapper.listRoleByUserId(userId)).orElseGet(ArrayList::new);
+        if (CollUtil.isEmpty(roles)) {
+            return new UserAuthorizationSnapshot(roles, new HashSet<>(), new HashSet<>(), version);
+        }
+        // @formatter:off
+        Set<Long> customizeRoleIds = roles.stream()
+                .filter(role -> StrUtil.equals(role.getRowPermissionType(), DataPermissionType.CUSTOMIZES.getType()))
+                .map(UserRoleBO::getRoleId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        // @formatter:on
+        CompletableFuture<Set<String>> rowPermissionFuture = this.listRowPermissionAsync(customizeRoleIds);
+        Set<String> permissions = Optional.ofNullable(this.sysMenuMapper.listUserMenuPermission(roles)).orElseGet(HashSet::new);
+        Set<String> rowPermissionCodes = this.join(rowPermissionFuture);
+        return new UserAuthorizationSnapshot(roles, new HashSet<>(permissions), new HashSet<>(rowPermissionCodes), version);
+    }
+
+    /**
+     * 在线程池中查询行数据权限，带上当前租户
+     * <p>
+     * 处于事务中时在当前线程查询，其他线程看不到本事务未提交的角色变更
+     * </p>
+     *
+     * @param customizeRoleIds 自定义行数据权限的角色ID
+     * @return {@link CompletableFuture}<{@link Set}<{@link String}>>
+     */
+    private CompletableFuture<Set<String>> listRowPermissionAsync(Set<Long> customizeRoleIds) {
+        if (CollUtil.isEmpty(customizeRoleIds)) {
+            return CompletableFuture.completedFuture(new HashSet<>());
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return CompletableFuture.completedFuture(this.listRowPermission(customizeRoleIds));
+        }
+        TenantContextSnapshot snapshot = TenantContextSnapshot.capture();
+        return CompletableFuture.supplyAsync(() -> {
+            try (TenantContextSnapshot.Scope ignored = snapshot.apply()) {
+                return this.listRowPermission(customizeRoleIds);
+            }
+        }, this.breezeThreadPoolExecutor);
+    }
+
+    private Set<String> listRowPermission(Set<Long> customizeRoleIds) {
+        return Optional.ofNullable(this.sysRoleRowPermissionMapper.listRowPermission(customizeRoleIds)).orElseGet(HashSet::new);
+    }
+
+    private Set<String> join(CompletableFuture<Set<String>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String getKey(Long tenantId, Long userId) {
+        return tenantId + ":" + userId;
+    }
+
+    private Cache getCache() {
+        Cache cache = this.cacheManager.getCache(USER_AUTHORIZATION);
+        if (cache == null) {
+            throw new IllegalStateException("Cache is null.");
+        }
+        return cache;
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.modules.auth.model.bo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 用户授权快照
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@Schema(description = "用户授权快照")
+public class UserAuthorizationSnapshot implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户的角色
+     */
+    @Schema(description = "用户的角色")
+    private List<UserRoleBO> roles;
+
+    /**
+     * 菜单权限
+     */
+    @Schema(description = "菜单权限")
+    private Set<String> permissions;
+
+    /**
+     * 行数据权限编码
+     */
+    @Schema(description = "行数据权限编码")
+    private Set<String> rowPermissionCodes;
+
+    /**
+     * 生成快照时的全局权限版本号
+     */
+    @Schema(description = "权限版本号")
+    private Long permissionVersion;
+
+}
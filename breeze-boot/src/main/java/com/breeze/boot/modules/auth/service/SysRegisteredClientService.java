@@ -26,6 +26,8 @@ import com.breeze.boot.modules.auth.model.query.RegisteredClientQuery;
 import com.breeze.boot.modules.auth.model.vo.RegisteredClientVO;
 import com.breeze.boot.satoken.oauth2.IClientService;
 
+import java.util.List;
+
 /**
  * 注册客户服务接口
  *
@@ -85,6 +87,14 @@ public interface SysRegisteredClientService extends IService<SysRegisteredClient
      */
     Boolean resetClientSecret(ResetClientSecretForm resetClientSecretForm);
 
+    /**
+     * 删除
+     *
+     * @param ids ID
+     * @return {@link Boolean}
+     */
+    Boolean removeRegisteredClient(List<Long> ids);
+
     /**
      * 信息
      *
@@ -26,20 +26,19 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.breeze.boot.core.enums.ResultCode;
 import com.breeze.boot.core.exception.BreezeBizException;
 import com.breeze.boot.core.utils.Result;
+import com.breeze.boot.modules.auth.manager.DeptHierarchyManager;
 import com.breeze.boot.modules.auth.mapper.SysDeptMapper;
-import com.breeze.boot.modules.auth.model.bo.SysDeptBO;
 import com.breeze.boot.modules.auth.model.entity.SysDept;
 import com.breeze.boot.modules.auth.model.form.DeptForm;
 import com.breeze.boot.modules.auth.model.mappers.SysDeptMapStruct;
 import com.breeze.boot.modules.auth.model.query.DeptQuery;
 import com.breeze.boot.modules.auth.service.SysDeptService;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.compress.utils.Lists;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -59,6 +58,11 @@ public class SysDeptServiceImpl extends ServiceImpl<SysDeptMapper, SysDept> impl
 
     private final SysDeptMapStruct sysDeptMapStruct;
 
+    /**
+     * 部门层级索引
+     */
+    private final DeptHierarchyManager deptHierarchyManager;
+
     /**
      * 部门列表
      *
@@ -98,14 +102,22 @@ public class SysDeptServiceImpl extends ServiceImpl<SysDeptMapper, SysDept> impl
     @Override
     public Boolean saveDept(DeptForm deptForm) {
         SysDept sysDept = sysDeptMapStruct.form2Entity(deptForm);
-        return this.save(sysDept);
+        boolean save = this.save(sysDept);
+        if (save) {
+            this.deptHierarchyManager.onSave(sysDept);
+        }
+        return save;
     }
 
     @Override
     public Boolean modifyDept(@Valid Long id, DeptForm deptForm) {
         SysDept sysDept = sysDeptMapStruct.form2Entity(deptForm);
         sysDept.setId(id);
-        return this.updateById(sysDept);
+        boolean update = this.updateById(sysDept);
+        if (update) {
+            this.deptHierarchyManager.onModify(sysDept);
+        }
+        return update;
     }
 
     /**
@@ -124,35 +136,13 @@ public class SysDeptServiceImpl extends ServiceImpl<SysDeptMapper, SysDept> impl
         if (!remove) {
             throw new BreezeBizException(ResultCode.FAIL);
         }
+        this.deptHierarchyManager.onDelete(id);
         return Result.ok(Boolean.TRUE, "删除成功");
     }
 
     @Override
     public List<Long> listDeptByParentId(Long deptId) {
-        List<SysDeptBO> deptBOList = this.baseMapper.selectDeptById(deptId);
-        if(CollUtil.isEmpty(deptBOList)){
-            return Lists.newArrayList();
-        }
-        return this.findPropertyInTree(deptBOList.get(0));
-    }
-
-    @Override
-    public List<SysDeptBO> listSubDeptId(Long deptId) {
-        return this.baseMapper.selectDeptById(deptId);
-    }
-
-    public List<Long> findPropertyInTree(SysDeptBO node) {
-        List<Long> result = new ArrayList<>();
-        if (node != null) {
-            result.add(node.getId()); // 将当前节点的属性值添加到结果中
-            if (node.getSubDeptList() != null) {
-                for (SysDeptBO child : node.getSubDeptList()) {
-                    // 递归查询子节点的属性值并添加到结果中
-                    result.addAll(findPropertyInTree(child));
-                }
-            }
-        }
-        return result;
+        return Lists.newArrayList(this.deptHierarchyManager.listSubDeptId(deptId));
     }
 
 }
@@ -26,6 +26,7 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.breeze.boot.core.enums.ResultCode;
 import com.breeze.boot.core.exception.BreezeBizException;
 import com.breeze.boot.core.utils.Result;
+import com.breeze.boot.modules.auth.manager.UserAuthorizationManager;
 import com.breeze.boot.modules.auth.mapper.SysMenuMapper;
 import com.breeze.boot.modules.auth.model.bo.SysMenuBO;
 import com.breeze.boot.modules.auth.model.bo.UserRoleBO;
@@ -65,6 +66,11 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu> impl
      */
     private final SysRoleMenuService sysRoleMenuService;
 
+    /**
+     * 用户授权快照管理
+     */
+    private final UserAuthorizationManager userAuthorizationManager;
+
     /**
      * 用户菜单权限列表
      *
@@ -161,6 +167,7 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu> impl
         }
         // 删除已经关联的角色的菜单
         this.sysRoleMenuService.remove(Wrappers.<SysRoleMenu>lambdaQuery().eq(SysRoleMenu::getMenuId, id));
+        this.userAuthorizationManager.evictAll();
         return Result.ok(Boolean.TRUE, "删除成功");
     }
 
@@ -190,7 +197,11 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu> impl
     public Result<Boolean> modifyMenu(Long id, MenuForm menuForm) {
         SysMenu sysMenu = sysMenuMapStruct.form2Entity(menuForm);
         sysMenu.setId(id);
-        return Result.ok(this.updateById(sysMenu));
+        boolean update = this.updateById(sysMenu);
+        if (update) {
+            this.userAuthorizationManager.evictAll();
+        }
+        return Result.ok(update);
     }
 
     /**
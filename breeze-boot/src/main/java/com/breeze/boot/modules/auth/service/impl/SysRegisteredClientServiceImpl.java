@@ -33,18 +33,17 @@ import com.breeze.boot.modules.auth.model.vo.ClientSettingsVO;
 import com.breeze.boot.modules.auth.model.vo.RegisteredClientVO;
 import com.breeze.boot.modules.auth.model.vo.TokenSettingsVO;
 import com.breeze.boot.modules.auth.service.SysRegisteredClientService;
+import com.breeze.boot.satoken.oauth2.client.RegisteredClientChangeEvent;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
-import java.util.Arrays;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -63,6 +62,7 @@ public class SysRegisteredClientServiceImpl extends ServiceImpl<SysRegisteredCli
 
     private final AesSecretProperties aesSecretProperties;
 
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     /**
      * set 转换 string + [,]
@@ -104,7 +104,9 @@ public class SysRegisteredClientServiceImpl extends ServiceImpl<SysRegisteredCli
         if (Objects.nonNull(byClientId)) {
             return Result.fail(Boolean.FALSE, "已经存在此客户端");
         }
-        return Result.ok(this.save(this.buildClient(registeredClientForm)));
+        boolean save = this.save(this.buildClient(registeredClientForm));
+        this.applicationEventPublisher.publishEvent(new RegisteredClientChangeEvent(List.of(registeredClientForm.getClientId())));
+        return Result.ok(save);
     }
 
     /**
@@ -118,7 +120,11 @@ public class SysRegisteredClientServiceImpl extends ServiceImpl<SysRegisteredCli
     public Boolean modifyRegisteredClient(Long id, RegisteredClientForm client) {
         SysRegisteredClient sysRegisteredClient = this.buildClient(client);
         sysRegisteredClient.setId(id);
-        return this.update(Wrappers.<SysRegisteredClient>lambdaUpdate()
+        // 客户端ID可能被修改，新旧都要刷新
+        Set<String> clientIdSet = new HashSet<>();
+        Optional.ofNullable(this.getById(String.valueOf(id))).ifPresent(old -> clientIdSet.add(old.getClientId()));
+        Optional.ofNullable(sysRegisteredClient.getClientId()).ifPresent(clientIdSet::add);
+        boolean update = this.update(Wrappers.<SysRegisteredClient>lambdaUpdate()
                 .set(SysRegisteredClient::getClientId, sysRegisteredClient.getClientId())
                 .set(SysRegisteredClient::getClientName, sysRegisteredClient.getClientName())
                 .set(SysRegisteredClient::getClientIdIssuedAt, sysRegisteredClient.getClientIdIssuedAt())
@@ -130,6 +136,8 @@ public class SysRegisteredClientServiceImpl extends ServiceImpl<SysRegisteredCli
                 .set(SysRegisteredClient::getJsonClientSettings, sysRegisteredClient.getJsonClientSettings())
                 .set(SysRegisteredClient::getJsonTokenSettings, sysRegisteredClient.getJsonTokenSettings())
                 .eq(SysRegisteredClient::getId, id));
+        this.applicationEventPublisher.publishEvent(new RegisteredClientChangeEvent(clientIdSet));
+        return update;
     }
 
     @SneakyThrows
@@ -196,9 +204,38 @@ public class SysRegisteredClientServiceImpl extends ServiceImpl<SysRegisteredCli
     @Override
     public Boolean resetClientSecret(ResetClientSecretForm resetClientSecretForm) {
         resetClientSecretForm.setClientSecret(BCrypt.hashpw(resetClientSecretForm.getClientSecret(), BCrypt.gensalt()));
-        return this.update(Wrappers.<SysRegisteredClient>lambdaUpdate()
+        boolean update = this.update(Wrappers.<SysRegisteredClient>lambdaUpdate()
                 .set(SysRegisteredClient::getClientSecret, resetClientSecretForm.getClientSecret())
                 .eq(SysRegisteredClient::getId, resetClientSecretForm.getId()));
+        Optional.ofNullable(this.getById(String.valueOf(resetClientSecretForm.getId())))
+                .ifPresent(client -> this.applicationEventPublisher.publishEvent(new RegisteredClientChangeEvent(List.of(client.getClientId()))));
+        return update;
+    }
+
+    /**
+     * 删除
+     *
+     * @param ids ID
+     * @return {@link Boolean}
+     */
+    @Override
+    public Boolean removeRegisteredClient(List<Long> ids) {
+        List<SysRegisteredClient> clientList = this.listByIds(ids);
+        boolean remove = this.removeBatchByIds(ids);
+        this.applicationEventPublisher.publishEvent(new RegisteredClientChangeEvent(clientList.stream()
+                .map(SysRegisteredClient::getClientId)
+                .collect(Collectors.toSet())));
+        return remove;
+    }
+
+    /**
+     * 获取全部客户端信息
+     *
+     * @return {@link List}<{@link SysRegisteredClient}>
+     */
+    @Override
+    public List<SysRegisteredClient> listRegisteredClient() {
+        return this.list();
     }
 
     /**
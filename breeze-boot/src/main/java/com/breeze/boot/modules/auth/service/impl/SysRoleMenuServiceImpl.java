@@ -19,6 +19,7 @@ package com.breeze.boot.modules.auth.service.impl;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.breeze.boot.core.utils.Result;
+import com.breeze.boot.modules.auth.manager.UserAuthorizationManager;
 import com.breeze.boot.modules.auth.model.entity.SysRoleMenu;
 import com.breeze.boot.modules.auth.model.form.MenuPermissionForm;
 import com.breeze.boot.modules.auth.mapper.SysRoleMenuMapper;
@@ -40,6 +41,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SysRoleMenuServiceImpl extends ServiceImpl<SysRoleMenuMapper, SysRoleMenu> implements SysRoleMenuService {
 
+    /**
+     * 用户授权快照管理
+     */
+    private final UserAuthorizationManager userAuthorizationManager;
+
     /**
      * 编辑权限
      *
@@ -57,6 +63,7 @@ public class SysRoleMenuServiceImpl extends ServiceImpl<SysRoleMenuMapper, SysRo
             return sysRoleMenu;
         }).collect(Collectors.toList());
         boolean batch = this.saveBatch(sysRoleMenuList);
+        this.userAuthorizationManager.evictAll();
         return Result.ok(batch);
     }
 
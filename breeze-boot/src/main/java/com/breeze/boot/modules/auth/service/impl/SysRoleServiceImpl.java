@@ -23,6 +23,7 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.breeze.boot.core.enums.ResultCode;
 import com.breeze.boot.core.exception.BreezeBizException;
 import com.breeze.boot.core.utils.Result;
+import com.breeze.boot.modules.auth.manager.UserAuthorizationManager;
 import com.breeze.boot.modules.auth.mapper.SysRoleMapper;
 import com.breeze.boot.modules.auth.model.bo.RoleBO;
 import com.breeze.boot.modules.auth.model.bo.UserRoleBO;
@@ -66,6 +67,11 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole> impl
      */
     private final SysRoleRowPermissionService sysRoleRowPermissionService;
 
+    /**
+     * 用户授权快照管理
+     */
+    private final UserAuthorizationManager userAuthorizationManager;
+
     /**
      * 列表页面
      *
@@ -117,6 +123,7 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole> impl
         boolean update = this.updateById(sysRole);
         if (update) {
             this.saveRoleRowPermission(id, roleForm);
+            this.userAuthorizationManager.evictAll();
         }
         return Result.ok(Boolean.FALSE);
     }
@@ -158,6 +165,7 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole> impl
             this.sysRoleMenuService.remove(Wrappers.<SysRoleMenu>lambdaQuery().in(SysRoleMenu::getRoleId, collect));
             // 删除角色数据权限关系
             this.sysRoleRowPermissionService.remove(Wrappers.<SysRoleRowPermission>lambdaQuery().in(SysRoleRowPermission::getRoleId, collect));
+            this.userAuthorizationManager.evictAll();
         }
         return Result.ok(Boolean.TRUE, "删除成功");
     }
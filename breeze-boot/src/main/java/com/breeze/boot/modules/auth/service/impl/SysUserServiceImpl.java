@@ -16,7 +16,6 @@
 
 package com.breeze.boot.modules.auth.service.impl;
 
-import cn.dev33.satoken.secure.BCrypt;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.extra.spring.SpringUtil;
@@ -31,9 +30,11 @@ import com.breeze.boot.core.jackson.propertise.AesSecretProperties;
 import com.breeze.boot.core.utils.AesUtil;
 import com.breeze.boot.core.utils.EasyExcelExport;
 import com.breeze.boot.core.utils.Result;
+import com.breeze.boot.credential.CredentialVerificationService;
+import com.breeze.boot.modules.auth.manager.UserAuthorizationManager;
 import com.breeze.boot.modules.auth.mapper.SysUserMapper;
 import com.breeze.boot.modules.auth.model.bo.FlowUserBO;
-import com.breeze.boot.modules.auth.model.bo.SysDeptBO;
+import com.breeze.boot.modules.auth.model.bo.UserAuthorizationSnapshot;
 import com.breeze.boot.modules.auth.model.bo.UserBO;
 import com.breeze.boot.modules.auth.model.bo.UserRoleBO;
 import com.breeze.boot.modules.auth.model.entity.*;
@@ -48,6 +49,7 @@ import com.breeze.boot.modules.auth.model.vo.UserVO;
 import com.breeze.boot.modules.auth.service.*;
 import com.breeze.boot.modules.bpm.manager.FlowableManager;
 import com.breeze.boot.modules.system.service.SysFileService;
+import com.breeze.boot.satoken.metrics.LoginMetrics;
 import com.breeze.boot.satoken.model.UserInfoDTO;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -103,14 +105,19 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
     private final SysPostService sysPostService;
 
     /**
-     * 密码编码器
+     * 用户授权快照管理
      */
-    private final SysMenuService sysMenuService;
+    private final UserAuthorizationManager userAuthorizationManager;
 
     /**
-     * 系统角色行数据权限服务
+     * 密码校验服务
      */
-    private final SysRoleRowPermissionService sysRoleRowPermissionService;
+    private final CredentialVerificationService credentialVerificationService;
+
+    /**
+     * 登录耗时指标
+     */
+    private final LoginMetrics loginMetrics;
 
     /**
      * 列表页面
@@ -160,7 +167,7 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         if (Objects.isNull(this.sysDeptService.getById(userForm.getDeptId()))) {
             return Result.fail("部门不存在");
         }
-        userForm.setPassword(BCrypt.hashpw(userForm.getPassword(), BCrypt.gensalt()));
+        userForm.setPassword(this.credentialVerificationService.encode(userForm.getPassword()));
         SysUser sysUser = sysUserMapStruct.form2Entity(userForm);
         boolean save = this.save(sysUser);
         if (save) return Result.ok(this.saveUserRole(userForm, sysUser.getId()));
@@ -181,6 +188,7 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         if (update) {
             this.saveUserRole(userForm, id);
         }
+        this.userAuthorizationManager.evict(Collections.singletonList(id));
         return update;
     }
 
@@ -221,7 +229,7 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
     @Override
     public Boolean reset(UserResetForm userResetForm) {
         AesSecretProperties aesSecretProperties = SpringUtil.getBean(AesSecretProperties.class);
-        userResetForm.setPassword(BCrypt.hashpw(AesUtil.decryptStr(userResetForm.getPassword(), aesSecretProperties.getAesSecret()), BCrypt.gensalt()));
+        userResetForm.setPassword(this.credentialVerificationService.encode(AesUtil.decryptStr(userResetForm.getPassword(), aesSecretProperties.getAesSecret())));
         return this.update(Wrappers.<SysUser>lambdaUpdate().set(SysUser::getPassword, userResetForm.getPassword()).eq(SysUser::getId, userResetForm.getId()));
     }
 
@@ -248,6 +256,7 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         if (remove) {
             // 删除用户角色关系
             this.sysUserRoleService.remove(Wrappers.<SysUserRole>lambdaQuery().in(SysUserRole::getUserId, sysUser.getId()));
+            this.userAuthorizationManager.evict(Collections.singletonList(sysUser.getId()));
         }
     }
 
@@ -266,6 +275,7 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         this.sysUserRoleService.remove(Wrappers.<SysUserRole>lambdaQuery().eq(SysUserRole::getUserId, sysUser.getId()));
         List<SysUserRole> collect = userRolesForm.getRoleIds().stream().map(roleId -> SysUserRole.builder().roleId(roleId).userId(sysUser.getId()).build()).collect(Collectors.toList());
         this.sysUserRoleService.saveBatch(collect);
+        this.userAuthorizationManager.evict(Collections.singletonList(sysUser.getId()));
         return Result.ok(Boolean.TRUE, "分配成功");
     }
 
@@ -378,85 +388,48 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         UserInfoDTO userInfo = sysUserMapStruct.entity2BaseLoginUser(sysUser);
 
         try {
-            // 查询用户的角色
-            List<UserRoleBO> userRoleBOList = Optional.ofNullable(sysRoleService.listRoleByUserId(sysUser.getId())).orElse(Collections.emptyList());
+            // 查询用户的角色、菜单权限、行数据权限
+            UserAuthorizationSnapshot snapshot = this.loginMetrics.record("load_user.authorization", () -> this.userAuthorizationManager.getSnapshot(sysUser.getId()));
+            List<UserRoleBO> userRoleBOList = snapshot.getRoles();
             if (CollUtil.isEmpty(userRoleBOList)) {
                 throw new BreezeBizException(ResultCode.SYSTEM_EXCEPTION);
             }
             // 获取部门名称
-            this.setDeptName(sysUser, userInfo);
+            this.loginMetrics.record("load_user.dept_name", () -> this.setDeptName(sysUser, userInfo));
             // 获取子级部门
-            this.setSubDeptId(sysUser, userInfo);
+            this.loginMetrics.record("load_user.sub_dept", () -> this.setSubDeptId(sysUser, userInfo));
             // 权限
-            this.setAuthorities(userRoleBOList, userInfo);
+            userInfo.setAuthorities(snapshot.getPermissions());
             // 角色CODE
             this.setRoleCode(userRoleBOList, userInfo);
             // 用户的角色ID
             this.setUsersRoleId(userRoleBOList, userInfo);
             // 用户的角色的行数据权限
-            this.setRowPermission(userRoleBOList, userInfo);
+            userInfo.setPermissionType(this.getMaxPermissionScope(userRoleBOList));
+            userInfo.setRowPermissionCode(snapshot.getRowPermissionCodes());
+            userInfo.setPermissionVersion(snapshot.getPermissionVersion());
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
         return userInfo;
     }
 
-    private static void traverseTree(SysDeptBO node, Set<Long> ids) {
-        if (Objects.isNull(node)) {
-            return;
-        }
-        // 添加当前节点的 ID 到列表
-        ids.add(node.getId());
-        // 递归遍历所有子节点
-        for (SysDeptBO child : node.getSubDeptList()) {
-            traverseTree(child, ids);
-        }
-    }
-
-    // 递归遍历树形结构并获取所有节点的 ID
-    public static Set<Long> getAllNodeIds(SysDeptBO root) {
-        Set<Long> ids = Sets.newHashSet();
-        traverseTree(root, ids);
-        return ids;
-    }
-
     private void setSubDeptId(SysUser sysUser, UserInfoDTO userInfo) {
         Long deptId = sysUser.getDeptId();
         if (Objects.isNull(deptId)) {
             return;
         }
-        List<SysDeptBO> sysDeptList = this.sysDeptService.listSubDeptId(deptId);
-        if (CollUtil.isEmpty(sysDeptList)) {
+        List<Long> subDeptIdList = this.sysDeptService.listDeptByParentId(deptId);
+        if (CollUtil.isEmpty(subDeptIdList)) {
             return;
         }
-        userInfo.setSubDeptId(getAllNodeIds(sysDeptList.get(0)));
-    }
-
-    private void setAuthorities(List<UserRoleBO> userRoleBOList, UserInfoDTO userInfo) {
-        userInfo.setAuthorities(this.sysMenuService.listUserMenuPermission(userRoleBOList));
+        userInfo.setSubDeptId(Sets.newHashSet(subDeptIdList));
     }
 
     private void setDeptName(SysUser sysUser, UserInfoDTO userInfo) {
         Optional.ofNullable(this.sysDeptService.getById(sysUser.getDeptId())).ifPresent(sysDept -> userInfo.setDeptName(sysDept.getDeptName()));
     }
 
-    private Set<Long> getHasNormalPermissionRoleId(List<UserRoleBO> userRoleBOList) {
-        // @formatter:off
-        return userRoleBOList.stream()
-                .filter(permission -> StrUtil.equals(permission.getRowPermissionType(), DataPermissionType.CUSTOMIZES.getType()))
-                .map(UserRoleBO::getRoleId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-        // @formatter:on
-    }
-
-    private void setRowPermission(List<UserRoleBO> userRoleBOList, UserInfoDTO userInfo) {
-        userInfo.setPermissionType(this.getMaxPermissionScope(userRoleBOList));
-        Set<Long> roleIdSet = this.getHasNormalPermissionRoleId(userRoleBOList);
-        Set<String> permissionCodeSet = this.sysRoleRowPermissionService.listRowPermission(roleIdSet);
-        userInfo.setRowPermissionCode(permissionCodeSet);
-    }
-
     private void setRoleCode(List<UserRoleBO> userRoleBOList, UserInfoDTO userInfo) {
         userInfo.setUserRoleCodes(userRoleBOList.stream().map(UserRoleBO::getRoleCode).collect(Collectors.toSet()));
     }
@@ -496,12 +469,12 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
     @Override
     public List<String> loadUserPermissionByUserId(String userId) {
         // 查询用户的角色
-        List<UserRoleBO> userRoleBOList = sysRoleService.listRoleByUserId(Long.valueOf(userId));
-        if (CollUtil.isEmpty(userRoleBOList)) {
+        UserAuthorizationSnapshot snapshot = this.userAuthorizationManager.getSnapshot(Long.valueOf(userId));
+        if (CollUtil.isEmpty(snapshot.getRoles())) {
             throw new BreezeBizException(ResultCode.USERS_ROLE_IS_NULL);
         }
         // 权限
-        return this.sysMenuService.listUserMenuPermission(userRoleBOList).stream().toList();
+        return List.copyOf(snapshot.getPermissions());
     }
 
     @Override
@@ -514,6 +487,14 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         return convertResponseUserInfo(userInfoDTO);
     }
 
+    @Override
+    public Long loadUserIdByPhone(String phone) {
+        SysUser sysUser = this.getOne(Wrappers.<SysUser>lambdaQuery().select(SysUser::getId).eq(SysUser::getPhone, phone));
+        if (Objects.isNull(sysUser)) {
+            throw new BreezeBizException(ResultCode.USER_NOT_FOUND);
+        }
+        return sysUser.getId();
+    }
 
     @Override
     public UserPrincipal loadUserByUsername(String username) {
@@ -525,6 +506,21 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         return convertResponseUserInfo(userInfoDTO);
     }
 
+    /**
+     * 重新加密后回写密码，存储的密码已被修改时放弃
+     *
+     * @param userId          用户ID
+     * @param encodedPassword 校验时存储的密码
+     * @param newPassword     重新加密的密码
+     * @return boolean
+     */
+    @Override
+    public boolean upgradePassword(Long userId, String encodedPassword, String newPassword) {
+        return this.update(Wrappers.<SysUser>lambdaUpdate()
+                .set(SysUser::getPassword, newPassword)
+                .eq(SysUser::getId, userId)
+                .eq(SysUser::getPassword, encodedPassword));
+    }
 
     @Override
     public UserPrincipal loadUserByEmail(String email) {
@@ -539,7 +535,7 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
     @Override
     public List<String> loadUserRoleByUserId(String userId) {
         // 查询用户的角色
-        List<UserRoleBO> userRoleBOList = sysRoleService.listRoleByUserId(Long.valueOf(userId));
+        List<UserRoleBO> userRoleBOList = this.userAuthorizationManager.getSnapshot(Long.valueOf(userId)).getRoles();
         if (CollUtil.isEmpty(userRoleBOList)) {
             throw new BreezeBizException(ResultCode.USERS_ROLE_IS_NULL);
         }
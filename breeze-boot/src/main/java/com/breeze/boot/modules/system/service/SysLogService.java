@@ -23,6 +23,8 @@ import com.breeze.boot.modules.system.model.entity.SysLog;
 import com.breeze.boot.modules.system.model.query.LogQuery;
 import com.breeze.boot.modules.system.model.vo.LogVO;
 
+import java.util.List;
+
 /**
  * 系统日志服务
  *
@@ -54,6 +56,13 @@ public interface SysLogService extends IService<SysLog> {
      */
     void saveSysLog(SysLogBO sysLogBO);
 
+    /**
+     * 批量保存系统日志
+     *
+     * @param sysLogBOList 系统日志BO
+     */
+    void saveSysLogBatch(List<SysLogBO> sysLogBOList);
+
     /**
      * 清空
      */
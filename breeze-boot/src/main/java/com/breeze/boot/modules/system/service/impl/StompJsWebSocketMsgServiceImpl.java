@@ -19,6 +19,7 @@ package com.breeze.boot.modules.system.service.impl;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.breeze.boot.core.enums.ResultCode;
 import com.breeze.boot.core.exception.BreezeBizException;
+import com.breeze.boot.core.tenant.TenantContextSnapshot;
 import com.breeze.boot.core.utils.BreezeThreadLocal;
 import com.breeze.boot.core.utils.Result;
 import com.breeze.boot.message.dto.UserMsgDTO;
@@ -110,15 +111,15 @@ public class StompJsWebSocketMsgServiceImpl extends WebSocketMsgService {
      */
     @Override
     public Result<MsgVO> asyncSendBroadcastMsg(MsgParam msgParam) {
-        BreezeThreadLocal.set(msgParam.getTenantId());
-        SysMsg sysMsg = this.sysMsgService.getById(msgParam.getMsgId());
-        if (Objects.isNull(sysMsg)) {
-            log.error("[消息不存在] {}", msgParam.getMsgId());
-            return Result.fail("消息不存在");
+        try (TenantContextSnapshot.Scope ignored = BreezeThreadLocal.with(msgParam.getTenantId())) {
+            SysMsg sysMsg = this.sysMsgService.getById(msgParam.getMsgId());
+            if (Objects.isNull(sysMsg)) {
+                log.error("[消息不存在] {}", msgParam.getMsgId());
+                return Result.fail("消息不存在");
+            }
+            this.sendMsgToUser(this.sysUserService.list(), msgParam.getSender(), sysMsg);
+            return Result.ok(this.buildMsgVO(sysMsg));
         }
-        this.sendMsgToUser(this.sysUserService.list(), msgParam.getSender(), sysMsg);
-        BreezeThreadLocal.remove();
-        return Result.ok(this.buildMsgVO(sysMsg));
     }
 
     /**
@@ -130,17 +131,17 @@ public class StompJsWebSocketMsgServiceImpl extends WebSocketMsgService {
      */
     @Override
     public Result<MsgVO> asyncSendMsgToSingleUser(Principal principal, MsgParam msgParam) {
-        BreezeThreadLocal.set(msgParam.getTenantId());
-        log.debug("[msgId]：{}, [username]： {}", msgParam.getMsgId(), principal.getName());
-        SysMsg sysMsg = this.sysMsgService.getById(msgParam);
-        if (Objects.isNull(sysMsg)) {
-            log.error("[消息不存在]{}", msgParam.getMsgId());
-            throw new BreezeBizException(ResultCode.MSG_NOT_FOUND);
+        try (TenantContextSnapshot.Scope ignored = BreezeThreadLocal.with(msgParam.getTenantId())) {
+            log.debug("[msgId]：{}, [username]： {}", msgParam.getMsgId(), principal.getName());
+            SysMsg sysMsg = this.sysMsgService.getById(msgParam);
+            if (Objects.isNull(sysMsg)) {
+                log.error("[消息不存在]{}", msgParam.getMsgId());
+                throw new BreezeBizException(ResultCode.MSG_NOT_FOUND);
+            }
+            List<SysUser> sysUserList = this.sysUserService.listByIds(msgParam.getUserIds());
+            this.sendMsgToUser(sysUserList, msgParam.getSender(), sysMsg);
+            return Result.ok(this.buildMsgVO(sysMsg));
         }
-        List<SysUser> sysUserList = this.sysUserService.listByIds(msgParam.getUserIds());
-        this.sendMsgToUser(sysUserList, msgParam.getSender(), sysMsg);
-        BreezeThreadLocal.remove();
-        return Result.ok(this.buildMsgVO(sysMsg));
     }
 
     /**
@@ -162,28 +163,30 @@ public class StompJsWebSocketMsgServiceImpl extends WebSocketMsgService {
      */
     @Override
     public void asyncSendMsgToUser(Principal principal, MsgParam msgParam) {
-        BreezeThreadLocal.set(msgParam.getTenantId());
-        log.debug("[msgId]： {}, [username]： {}", msgParam.getMsgId(), principal.getName());
-        SysMsg sysMsg = this.sysMsgService.getById(msgParam.getMsgId());
-        if (Objects.isNull(sysMsg)) {
-            log.error("[消息不存在]{}", msgParam.getMsgId());
-            throw new BreezeBizException(ResultCode.MSG_NOT_FOUND);
+        List<UserMsgDTO.MsgBody> sysUserMsgList;
+        try (TenantContextSnapshot.Scope ignored = BreezeThreadLocal.with(msgParam.getTenantId())) {
+            log.debug("[msgId]： {}, [username]： {}", msgParam.getMsgId(), principal.getName());
+            SysMsg sysMsg = this.sysMsgService.getById(msgParam.getMsgId());
+            if (Objects.isNull(sysMsg)) {
+                log.error("[消息不存在]{}", msgParam.getMsgId());
+                throw new BreezeBizException(ResultCode.MSG_NOT_FOUND);
+            }
+            sysUserMsgList = this.sendAndGetMsgBodyList(msgParam.getUserIds(), msgParam.getSender(), sysMsg);
         }
-        List<UserMsgDTO.MsgBody> sysUserMsgList = this.sendAndGetMsgBodyList(msgParam.getUserIds(), msgParam.getSender(), sysMsg);
-        BreezeThreadLocal.remove();
         this.asyncSendMsg(sysUserMsgList);
     }
 
     @Override
     public void asyncSendMsgToUser(BpmParam bpmParam) {
-        BreezeThreadLocal.set(bpmParam.getTenantId());
-        SysMsg sysMsg = this.sysMsgService.getOne(Wrappers.<SysMsg>lambdaQuery().eq(SysMsg::getCode, bpmParam.getMsgCode()));
-        if (Objects.isNull(sysMsg)) {
-            log.error("[消息不存在]{}", bpmParam.getMsgCode());
-            throw new BreezeBizException(ResultCode.MSG_NOT_FOUND);
+        List<UserMsgDTO.MsgBody> sysUserMsgList;
+        try (TenantContextSnapshot.Scope ignored = BreezeThreadLocal.with(bpmParam.getTenantId())) {
+            SysMsg sysMsg = this.sysMsgService.getOne(Wrappers.<SysMsg>lambdaQuery().eq(SysMsg::getCode, bpmParam.getMsgCode()));
+            if (Objects.isNull(sysMsg)) {
+                log.error("[消息不存在]{}", bpmParam.getMsgCode());
+                throw new BreezeBizException(ResultCode.MSG_NOT_FOUND);
+            }
+            sysUserMsgList = this.sendAndGetMsgBodyList(bpmParam.getUserIds(), bpmParam.getSender(), sysMsg);
         }
-        List<UserMsgDTO.MsgBody> sysUserMsgList = sendAndGetMsgBodyList(bpmParam.getUserIds(), bpmParam.getSender(), sysMsg);
-        BreezeThreadLocal.remove();
         this.asyncSendMsg(sysUserMsgList);
     }
 
@@ -208,16 +211,16 @@ public class StompJsWebSocketMsgServiceImpl extends WebSocketMsgService {
      */
     @Override
     public Result<MsgVO> syncSendMsgDeptUser(Principal principal, MsgParam msgParam) {
-        BreezeThreadLocal.set(msgParam.getTenantId());
-        log.debug("[msgId]：{}, [username]： {}", msgParam, principal.getName());
-        SysMsg sysMsg = this.sysMsgService.getById(msgParam.getMsgId());
-        if (Objects.isNull(sysMsg)) {
-            log.error("[消息不存在]{}", msgParam.getMsgId());
-            throw new BreezeBizException(ResultCode.MSG_NOT_FOUND);
+        try (TenantContextSnapshot.Scope ignored = BreezeThreadLocal.with(msgParam.getTenantId())) {
+            log.debug("[msgId]：{}, [username]： {}", msgParam, principal.getName());
+            SysMsg sysMsg = this.sysMsgService.getById(msgParam.getMsgId());
+            if (Objects.isNull(sysMsg)) {
+                log.error("[消息不存在]{}", msgParam.getMsgId());
+                throw new BreezeBizException(ResultCode.MSG_NOT_FOUND);
+            }
+            this.sendMsgToUser(this.sysUserService.listDeptsUser(msgParam.getDeptId()), msgParam.getSender(), sysMsg);
+            return Result.ok(this.buildMsgVO(sysMsg));
         }
-        this.sendMsgToUser(this.sysUserService.listDeptsUser(msgParam.getDeptId()), msgParam.getSender(), sysMsg);
-        BreezeThreadLocal.remove();
-        return Result.ok(this.buildMsgVO(sysMsg));
     }
 
     /**
@@ -16,9 +16,12 @@
 
 package com.breeze.boot.modules.system.service.impl;
 
+import cn.hutool.core.util.StrUtil;
 import com.baomidou.dynamic.datasource.annotation.DS;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.breeze.boot.core.tenant.TenantContextSnapshot;
+import com.breeze.boot.core.utils.BreezeThreadLocal;
 import com.breeze.boot.log.bo.SysLogBO;
 import com.breeze.boot.modules.system.mapper.SysLogMapper;
 import com.breeze.boot.modules.system.model.entity.SysLog;
@@ -26,9 +29,15 @@ import com.breeze.boot.modules.system.model.mappers.SysLogMapStruct;
 import com.breeze.boot.modules.system.model.query.LogQuery;
 import com.breeze.boot.modules.system.model.vo.LogVO;
 import com.breeze.boot.modules.system.service.SysLogService;
+import com.google.common.collect.Lists;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 /**
  * 系统日志服务impl
  *
@@ -39,6 +48,11 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class SysLogServiceImpl extends ServiceImpl<SysLogMapper, SysLog> implements SysLogService {
 
+    /**
+     * 单条 insert 语句的最大行数
+     */
+    private static final int INSERT_BATCH_SIZE = 500;
+
     private final SysLogMapStruct sysLogMapStruct;
 
     /**
@@ -66,9 +80,41 @@ public class SysLogServiceImpl extends ServiceImpl<SysLogMapper, SysLog> impleme
     @DS("master")
     @Override
     public void saveSysLog(SysLogBO sysLogBO) {
+        this.save(this.toSysLog(sysLogBO));
+    }
+
+    /**
+     * 批量保存系统日志
+     * <p>
+     * 写入线程没有请求的租户上下文和会话，按日志记录的租户分组写入，操作人使用请求线程记录的值
+     * </p>
+     *
+     * @param sysLogBOList 系统日志BO
+     */
+    @DS("master")
+    @Override
+    public void saveSysLogBatch(List<SysLogBO> sysLogBOList) {
+        // @formatter:off
+        Map<Long, List<SysLog>> tenantLogMap = sysLogBOList.stream()
+                .collect(Collectors.groupingBy(
+                        sysLogBO -> sysLogBO.getTenantId() == null ? -1L : sysLogBO.getTenantId(),
+                        LinkedHashMap::new,
+                        Collectors.mapping(this::toSysLog, Collectors.toList())));
+        // @formatter:on
+        tenantLogMap.forEach((tenantId, sysLogList) -> {
+            try (TenantContextSnapshot.Scope ignored = BreezeThreadLocal.with(tenantId == -1L ? null : tenantId)) {
+                Lists.partition(sysLogList, INSERT_BATCH_SIZE).forEach(this.baseMapper::insertAllBatch);
+            }
+        });
+    }
+
+    private SysLog toSysLog(SysLogBO sysLogBO) {
         SysLog sysLog = this.sysLogMapStruct.bo2Entity(sysLogBO);
         sysLog.setSystemModule("权限系统");
-        this.save(sysLog);
+        // 非空时不再调用自动填充，写入线程读取会话会抛出异常
+        sysLog.setCreateBy(StrUtil.nullToEmpty(sysLogBO.getCreateBy()));
+        sysLog.setCreateName(StrUtil.nullToEmpty(sysLogBO.getCreateName()));
+        return sysLog;
     }
 
     /**
@@ -24,7 +24,6 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
-import org.springframework.scheduling.quartz.QuartzJobBean;
 
 import java.lang.reflect.Method;
 
@@ -35,11 +34,11 @@ import java.lang.reflect.Method;
  * @since 2023-03-16
  */
 @Slf4j
-public class AllowConcurrentExecutionJob extends QuartzJobBean {
+public class AllowConcurrentExecutionJob extends TenantQuartzJobBean {
 
     @SneakyThrows
     @Override
-    protected void executeInternal(JobExecutionContext context) {
+    protected void executeJob(JobExecutionContext context) {
         JobDataMap jobDataMap = context.getJobDetail().getJobDataMap();
         SysQuartzJob quartzJob = (SysQuartzJob) jobDataMap.get(QuartzConstants.JOB_DATA_KEY);
         String clazzName = quartzJob.getClazzName();
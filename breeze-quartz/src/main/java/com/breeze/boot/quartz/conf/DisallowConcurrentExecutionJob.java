@@ -25,7 +25,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.quartz.DisallowConcurrentExecution;
 import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
-import org.springframework.scheduling.quartz.QuartzJobBean;
 
 import java.lang.reflect.Method;
 
@@ -37,7 +36,7 @@ import java.lang.reflect.Method;
  */
 @Slf4j
 @DisallowConcurrentExecution
-public class DisallowConcurrentExecutionJob extends QuartzJobBean {
+public class DisallowConcurrentExecutionJob extends TenantQuartzJobBean {
 
     /**
      * 执行内部
@@ -46,7 +45,7 @@ public class DisallowConcurrentExecutionJob extends QuartzJobBean {
      */
     @SneakyThrows
     @Override
-    protected void executeInternal(JobExecutionContext context) {
+    protected void executeJob(JobExecutionContext context) {
         JobDataMap jobDataMap = context.getJobDetail().getJobDataMap();
         SysQuartzJob quartzJob = (SysQuartzJob) jobDataMap.get(QuartzConstants.JOB_DATA_KEY);
         String clazzName = quartzJob.getClazzName();
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023, gaoweixuan (breeze-cloud@foxmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.breeze.boot.quartz.conf;
+
+import com.breeze.boot.core.tenant.TenantContextSnapshot;
+import com.breeze.boot.core.utils.BreezeThreadLocal;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+import static com.breeze.boot.core.constants.QuartzConstants.JOB_TENANT_KEY;
+
+/**
+ * 租户任务
+ * <p>
+ * 在创建任务时的租户下执行，执行结束后恢复 quartz 线程原有的租户
+ * </p>
+ *
+ * @author gaoweixuan
+ * @since 2026-10-17
+ */
+public abstract class TenantQuartzJobBean extends QuartzJobBean {
+
+    @Override
+    protected final void executeInternal(JobExecutionContext context) throws JobExecutionException {
+        Object tenantId = context.getMergedJobDataMap().get(JOB_TENANT_KEY);
+        try (TenantContextSnapshot.Scope ignored = BreezeThreadLocal.with(tenantId instanceof Long id ? id : null)) {
+            this.executeJob(context);
+        }
+    }
+
+    /**
+     * 执行任务
+     *
+     * @param context 上下文
+     */
+    protected abstract void executeJob(JobExecutionContext context) throws JobExecutionException;
+
+}
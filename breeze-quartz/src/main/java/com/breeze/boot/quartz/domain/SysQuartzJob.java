@@ -84,4 +84,10 @@ public class SysQuartzJob extends BaseModel<SysQuartzJob> implements Serializabl
     @Schema(description = "状态 0关闭 1开启")
     private Integer status;
 
+    /**
+     * 租户ID，启动时重新调度任务没有请求的租户上下文
+     */
+    @Schema(description = "租户ID")
+    private Long tenantId;
+
 }
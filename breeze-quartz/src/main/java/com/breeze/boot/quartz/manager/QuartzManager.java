@@ -17,6 +17,7 @@
 package com.breeze.boot.quartz.manager;
 
 import com.breeze.boot.core.constants.QuartzConstants;
+import com.breeze.boot.core.utils.BreezeThreadLocal;
 import com.breeze.boot.quartz.conf.AllowConcurrentExecutionJob;
 import com.breeze.boot.quartz.conf.BreezeQuartzJobListener;
 import com.breeze.boot.quartz.conf.DisallowConcurrentExecutionJob;
@@ -68,10 +69,13 @@ public class QuartzManager {
     public void addOrUpdateJob(SysQuartzJob quartzJob) {
         try {
             Class<? extends QuartzJobBean> jobClass = getClass(quartzJob.getConcurrent());
+            JobKey jobKey = JobKey.jobKey(quartzJob.getId() + ":" + JOB_NAME, quartzJob.getJobGroupName());
             JobDataMap jobDataMap = new JobDataMap();
             jobDataMap.put(JOB_DATA_KEY, quartzJob);
+            // 任务在 quartz 线程执行，记录任务所属租户
+            jobDataMap.put(JOB_TENANT_KEY, this.getTenantId(quartzJob, jobKey));
             JobDetail jobDetail = JobBuilder.newJob(jobClass)
-                    .withIdentity(quartzJob.getId() + ":" + JOB_NAME, quartzJob.getJobGroupName())
+                    .withIdentity(jobKey)
                     .usingJobData(jobDataMap)
                     .build();
             Trigger trigger = TriggerBuilder.newTrigger()
@@ -87,7 +91,6 @@ public class QuartzManager {
             // 设置全局监听
             this.scheduler.getListenerManager().addJobListener(listener);
 
-            JobKey jobKey = JobKey.jobKey(quartzJob.getId() + ":" + JOB_NAME, quartzJob.getJobGroupName());
             if (scheduler.checkExists(jobKey)) {
                 // 删除重复流程
                 scheduler.deleteJob(jobKey);
@@ -108,6 +111,28 @@ public class QuartzManager {
         }
     }
 
+    /**
+     * 任务所属租户：任务记录中的租户，没有时取当前线程的租户，启动时线程没有租户则沿用已调度任务中的租户
+     *
+     * @param quartzJob quartz任务
+     * @param jobKey    任务key
+     * @return {@link Long}
+     */
+    private Long getTenantId(SysQuartzJob quartzJob, JobKey jobKey) throws SchedulerException {
+        if (Objects.nonNull(quartzJob.getTenantId())) {
+            return quartzJob.getTenantId();
+        }
+        Long tenantId = BreezeThreadLocal.get();
+        if (Objects.nonNull(tenantId)) {
+            return tenantId;
+        }
+        JobDetail existing = this.scheduler.getJobDetail(jobKey);
+        if (Objects.nonNull(existing) && existing.getJobDataMap().get(JOB_TENANT_KEY) instanceof Long id) {
+            return id;
+        }
+        return null;
+    }
+
     private CronScheduleBuilder getScheduleBuilder(SysQuartzJob quartzJob) {
         if (Objects.equals(quartzJob.getMisfirePolicy(), DO_NOTHING.getCode())) {
             return CronScheduleBuilder.cronSchedule(quartzJob.getCronExpression()).withMisfireHandlingInstructionDoNothing();
@@ -844,6 +844,8 @@ INSERT INTO `sys_menu` VALUES (1821000447351885826, 1111111111111111111, 1806941
 INSERT INTO `sys_menu` VALUES (1823638956944486401, 1111111111111111111, 1806941904676159490, '用户列表', '', 2, NULL, NULL, NULL, 'bpm:user:list', 0, 0, 0, 1, 'admin', 'admin', '2024-09-01 10:04:48', 'admin', 'admin', '2024-09-01 10:04:48', 0, NULL, 1);
 INSERT INTO `sys_menu` VALUES (1823645296190382081, 1111111111111111111, 1806941904676159490, '用户组列表', '', 2, NULL, NULL, NULL, 'bpm:group:list', 0, 0, 0, 1, 'admin', 'admin', '2024-09-01 10:04:48', 'admin', 'admin', '2024-09-01 10:04:48', 0, NULL, 1);
 INSERT INTO `sys_menu` VALUES (1826078313903144962, 1111111111111111111, 1581966349440581634, 'VTable', 'Vtable', 1, NULL, '/vTable', '/test/vTable/index', NULL, 0, 0, 0, 1, 'admin', 'admin', '2024-09-01 10:04:48', 'admin', 'admin', '2024-09-01 10:04:48', 0, NULL, 1);
+INSERT INTO `sys_menu` VALUES (1826078313903144963, 1111111111111111111, 1578702340666851329, '在线用户', 'Online', 1, 'online', '/online', '/auth/online/index', 'auth:online:list', 0, 0, 0, 11, 'admin', 'admin', '2024-09-01 10:04:48', 'admin', 'admin', '2024-09-01 10:04:48', 0, NULL, 1);
+INSERT INTO `sys_menu` VALUES (1826078313903144964, 1111111111111111111, 1826078313903144963, '踢下线', '', 2, NULL, NULL, NULL, 'auth:online:kickout', 0, 0, 0, 1, 'admin', 'admin', '2024-09-01 10:04:48', 'admin', 'admin', '2024-09-01 10:04:48', 0, NULL, 1);
 INSERT INTO `sys_menu` VALUES (9223372036854775119, 1111111111111111111, 1753664334832967682, '消息公告', 'Msg', 1, 'msg_template', '/msg', '/system/messages/msg/index', 'sys:msg:list', 0, 0, 0, 3, 'admin', 'admin', '2024-09-01 10:04:48', 'admin', 'admin', '2024-09-01 10:04:48', 0, NULL, 1);
 INSERT INTO `sys_menu` VALUES (9223372036854775120, 1111111111111111111, 1753664334832967682, '用户消息', 'UserMsg', 1, 'user_msg', '/msgUser', '/system/messages/msgUser/index', 'sys:msgUser:list', 0, 0, 0, 2, 'admin', 'admin', '2024-09-01 10:04:48', 'admin', 'admin', '2024-09-01 10:04:48', 0, NULL, 1);
 INSERT INTO `sys_menu` VALUES (9223372036854775121, 1111111111111111111, 1580357263003439106, '流程定义', 'Definition', 1, 'bpm_definition', '/definition', '/bpm/def/definition/index', 'bpm:definition:list', 0, 0, 0, 2, 'admin', 'admin', '2024-09-01 10:04:48', 'admin', 'admin', '2024-09-01 10:04:48', 0, NULL, 1);
@@ -1424,6 +1426,8 @@ INSERT INTO `sys_role_menu` VALUES (1827897067720953964, 1820728998888316929, 15
 INSERT INTO `sys_role_menu` VALUES (1827897067720953965, 1826078313903144962, 1565322827518140417, 'admin', 'admin', '2024-08-26 10:33:16');
 INSERT INTO `sys_role_menu` VALUES (1827897067720953966, 1581965904601088001, 1565322827518140417, 'admin', 'admin', '2024-08-26 10:33:16');
 INSERT INTO `sys_role_menu` VALUES (1827897067720953967, 1581965904601088002, 1565322827518140417, 'admin', 'admin', '2024-08-26 10:33:16');
+INSERT INTO `sys_role_menu` VALUES (1827897067720953968, 1826078313903144963, 1565322827518140417, 'admin', 'admin', '2024-08-26 10:33:16');
+INSERT INTO `sys_role_menu` VALUES (1827897067720953969, 1826078313903144964, 1565322827518140417, 'admin', 'admin', '2024-08-26 10:33:16');
 
 -- ----------------------------
 -- Table structure for sys_role_menu_column